@@ -68,10 +68,11 @@ public class ConfigEngine
 
         ARKJsonElement difficulty = new ARKJsonElement(KEY_DIFFICULTY, false, getDefaultForKey(KEY_DIFFICULTY));
         ARKJsonElement nightmare = new ARKJsonElement(KEY_NIGHTMARE, false, getDefaultForKey(KEY_NIGHTMARE));
+        ARKJsonElement swarm = new ARKJsonElement(KEY_SWARM, false, getDefaultForKey(KEY_SWARM));
         ARKJsonElement nameEntry = new ARKJsonElement(KEY_NAME_ENTRY, false, getDefaultForKey(KEY_NAME_ENTRY));
 
         ARKJsonElement persist = new ARKJsonElement(KEY_SUB_PERSISTENCE, false, null, highScores, highScoreNames, totalDeaths);
-        ARKJsonElement config = new ARKJsonElement(KEY_SUB_CONFIG, false, null, difficulty, nightmare, nameEntry);
+        ARKJsonElement config = new ARKJsonElement(KEY_SUB_CONFIG, false, null, difficulty, nightmare, swarm, nameEntry);
 
         // Add final head elements to structural tree
         index.getElementMap().add(persist);
@@ -97,9 +98,12 @@ public class ConfigEngine
             case KEY_NAME_ENTRY:
                 return "true";
             case KEY_NIGHTMARE:
+            case KEY_SWARM:
                 return "false";
             case KEY_RESOLUTION:
                 return SketchMain.Resolution.SYGA.name();
+            case KEY_RENDERER:
+                return SketchMain.Renderer.JAVA2D.name();
             default:
                 return "";
         }
@@ -0,0 +1,252 @@
+package com.michaelRunzler.TPG5.Engine;
+
+import core.CoreUtil.AUNIL.LogEventLevel;
+import core.CoreUtil.AUNIL.XLoggerInterpreter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * Splits each frame into prioritized phases that share a fixed time budget.
+ * Per-frame work is run in order through {@link #run(Priority, Runnable)}, which records the time taken by each phase.
+ * Work which does not need to complete on the frame it is requested on is queued with {@link #defer(Priority, String, Runnable)}
+ * or {@link #deferSliced(Priority, String, Task)}, and run in slices at the end of the frame through {@link #endFrame()}.
+ * Deferred work is run in priority order, and in the order it was queued within each priority. Work queued at
+ * {@link Priority#SIMULATION} or {@link Priority#RENDER} priority is always completed on the frame it is run, while
+ * lower-priority work is only run while the frame has budget left, and is otherwise postponed to a later frame.
+ * At least one slice is run on every frame, so that deferred work always makes progress, even while frames are over budget.
+ * Frames which exceed their budget are counted and periodically reported to the log with a per-phase breakdown.
+ * All methods must be called from the animation thread.
+ */
+public class FrameScheduler
+{
+    public static final int OVERRUN_REPORT_FRAMES = 300; // Minimum number of frames between overrun reports
+
+    /**
+     * Determines the phase of the frame that a piece of work belongs to. Phases are expected to run in declaration order.
+     */
+    public enum Priority{
+        /**
+         * Physics, AI, and input handling. Deferred work at this priority is never postponed.
+         */
+        SIMULATION,
+        /**
+         * Game object and effect rendering. Deferred work at this priority is never postponed.
+         */
+        RENDER,
+        /**
+         * Menus, dialogs, and on-screen displays. Deferred work at this priority is postponed while frames are over budget.
+         */
+        HUD,
+        /**
+         * Work which may be spread across multiple frames, such as config reloads. Postponed while frames are over budget,
+         * and only run once all higher-priority deferred work has completed.
+         */
+        DEFERRED
+    }
+
+    /**
+     * A piece of deferred work which may be split into multiple slices.
+     */
+    public interface Task
+    {
+        /**
+         * Runs the next slice of this task. Each slice should be short compared to the frame budget.
+         * @return {@code true} if this task is complete, {@code false} if it should be called again on a later slice
+         */
+        boolean step();
+    }
+
+    private XLoggerInterpreter log;
+    private long budget; // Frame time budget in nanoseconds
+    private long frameStart; // Start time of the current frame in nanoseconds
+    private long[] phaseTime; // Time spent in each phase on the current frame, in nanoseconds
+    // A queued deferred task and its descriptive name
+    private static class Entry
+    {
+        final String name;
+        final Task task;
+
+        Entry(String name, Task task)
+        {
+            this.name = name;
+            this.task = task;
+        }
+    }
+
+    private ArrayList<ArrayDeque<Entry>> deferred; // Queued deferred tasks, one queue per priority
+    private int postponed; // Number of frames since the last overrun report that ended with deferred work postponed
+    private int frames; // Number of frames since the last overrun report
+    private int overruns; // Number of frames over budget since the last overrun report
+    private long worstFrame; // Longest frame since the last overrun report, in nanoseconds
+    private long[] worstPhaseTime; // Per-phase breakdown of the longest frame since the last overrun report
+
+    /**
+     * Standard constructor.
+     * @param fps the target frame rate, used to determine the time budget for each frame. Must be greater than 0.
+     */
+    public FrameScheduler(float fps)
+    {
+        if(fps <= 0) throw new IllegalArgumentException("Target frame rate must be greater than 0!");
+        log = new XLoggerInterpreter("Frame Scheduler");
+        log.setImplicitEventLevel(LogEventLevel.DEBUG);
+
+        budget = (long)(1000000000.0 / fps);
+        frameStart = System.nanoTime();
+        phaseTime = new long[Priority.values().length];
+        worstPhaseTime = new long[phaseTime.length];
+        deferred = new ArrayList<>();
+        for(int i = 0; i < Priority.values().length; i++) deferred.add(new ArrayDeque<>());
+        postponed = 0;
+        frames = 0;
+        overruns = 0;
+        worstFrame = 0;
+    }
+
+    /**
+     * Marks the start of a new frame. Must be called before any work is run for the frame.
+     */
+    public void beginFrame()
+    {
+        frameStart = System.nanoTime();
+        for(int i = 0; i < phaseTime.length; i++) phaseTime[i] = 0;
+    }
+
+    /**
+     * Runs a piece of per-frame work immediately, counting the time it takes towards the specified phase.
+     * @param priority the phase that the work belongs to
+     * @param work the work to run
+     */
+    public void run(Priority priority, Runnable work)
+    {
+        long start = System.nanoTime();
+        work.run();
+        phaseTime[priority.ordinal()] += System.nanoTime() - start;
+    }
+
+    /**
+     * Queues a piece of work to be run in slices at the end of this or a later frame.
+     * @param priority the priority of the task, which determines the order that deferred work is run in and whether
+     *                 it may be postponed while the frame is over budget
+     * @param name a descriptive name for the task, used for logging
+     * @param task the task to run
+     */
+    public void deferSliced(Priority priority, String name, Task task){
+        deferred.get(priority.ordinal()).add(new Entry(name, task));
+    }
+
+    /**
+     * Queues a piece of work to be run in a single slice at the end of this or a later frame.
+     * @param priority the priority of the work, see {@link #deferSliced(Priority, String, Task)}
+     * @param name a descriptive name for the work, used for logging
+     * @param work the work to run
+     */
+    public void defer(Priority priority, String name, Runnable work)
+    {
+        deferSliced(priority, name, () -> {
+            work.run();
+            return true;
+        });
+    }
+
+    /**
+     * Queues a piece of work to be run in a single slice at {@link Priority#DEFERRED} priority.
+     * @see #defer(Priority, String, Runnable)
+     */
+    public void defer(String name, Runnable work){
+        defer(Priority.DEFERRED, name, work);
+    }
+
+    /**
+     * Gets the number of deferred tasks which have not yet completed.
+     */
+    public int getPendingCount()
+    {
+        int count = 0;
+        for(ArrayDeque<Entry> q : deferred) count += q.size();
+        return count;
+    }
+
+    /**
+     * Gets the time remaining in the current frame's budget in nanoseconds. Negative if the frame is over budget.
+     */
+    public long getRemainingTime(){
+        return budget - (System.nanoTime() - frameStart);
+    }
+
+    /**
+     * Runs deferred work for as long as the current frame has budget left, then records the frame's timing.
+     * Must be called at the end of every frame.
+     */
+    public void endFrame()
+    {
+        // Run deferred work in priority order. Simulation and render work is always completed, while lower-priority
+        // work only runs while there is time left, apart from the first slice of the frame.
+        long start = System.nanoTime();
+        boolean first = true;
+        boolean cutOff = false;
+        Priority[] priorities = Priority.values();
+        for(int p = 0; p < priorities.length && !cutOff; p++)
+        {
+            boolean mandatory = p <= Priority.RENDER.ordinal();
+            ArrayDeque<Entry> q = deferred.get(p);
+            while(!q.isEmpty())
+            {
+                if(!mandatory && !first && getRemainingTime() <= 0) {
+                    cutOff = true;
+                    break;
+                }
+
+                first = false;
+                Entry e = q.peek();
+                boolean done;
+                try {
+                    done = e.task.step();
+                } catch (RuntimeException ex) {
+                    log.logEvent(LogEventLevel.ERROR, "Deferred task '" + e.name + "' failed: " + ex);
+                    done = true;
+                }
+
+                if(done) q.poll();
+            }
+        }
+        if(cutOff) postponed ++;
+        phaseTime[Priority.DEFERRED.ordinal()] += System.nanoTime() - start;
+
+        // Track overruns, and report them periodically instead of on every frame to avoid flooding the log
+        long total = System.nanoTime() - frameStart;
+        frames ++;
+        if(total > budget) {
+            overruns ++;
+            if(total > worstFrame) {
+                worstFrame = total;
+                System.arraycopy(phaseTime, 0, worstPhaseTime, 0, phaseTime.length);
+            }
+        }
+
+        if(frames >= OVERRUN_REPORT_FRAMES) {
+            if(overruns > 0) reportOverruns();
+            frames = 0;
+            overruns = 0;
+            postponed = 0;
+            worstFrame = 0;
+        }
+    }
+
+    // Log the number of overrun frames since the last report, and the phase breakdown of the worst one
+    private void reportOverruns()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(overruns).append(" of the last ").append(frames).append(" frame(s) exceeded the ")
+                .append(budget / 1000000.0f).append("ms budget. Worst frame: ").append(worstFrame / 1000000.0f).append("ms (");
+
+        Priority[] p = Priority.values();
+        for(int i = 0; i < p.length; i++) {
+            sb.append(p[i]).append(' ').append(worstPhaseTime[i] / 1000000.0f).append("ms");
+            if(i < p.length - 1) sb.append(", ");
+        }
+
+        sb.append("). Deferred work was postponed on ").append(postponed).append(" frame(s).");
+        log.logEvent(LogEventLevel.WARNING, sb.toString());
+    }
+}
@@ -0,0 +1,18 @@
+package com.michaelRunzler.TPG5.Engine.Physics;
+
+/**
+ * Interface for calculating the acceleration acting on each object in a {@link BodyStore} at a given set of positions.
+ * Used by {@link Integrator}s that need to sample acceleration at points other than the start of a step.
+ */
+public interface AccelerationField
+{
+    /**
+     * Calculates the acceleration of each object in the store, assuming that the objects are at the provided positions.
+     * @param store the objects to calculate acceleration for, providing masses and other per-object properties
+     * @param px the X-coordinate of each object
+     * @param py the Y-coordinate of each object
+     * @param ax the array to store the X-axis acceleration of each object to
+     * @param ay the array to store the Y-axis acceleration of each object to
+     */
+    void evaluate(BodyStore store, float[] px, float[] py, float[] ax, float[] ay);
+}
@@ -0,0 +1,77 @@
+package com.michaelRunzler.TPG5.Engine.Physics;
+
+/**
+ * Flat primitive-array copy of the integration state of a set of {@link PhysObject}s.
+ * Filled by the physics engine at the start of each integration step and written back once the step is complete,
+ * so that {@link Integrator}s work on contiguous arrays rather than on individual objects.
+ * The start-of-step position of each object is kept separately from its integrated position, so that the distance
+ * that each object would travel during the step is always available.
+ */
+public class BodyStore
+{
+    public int count; // Number of valid entries in each array
+    public float[] x0; // Position of each object at the start of the step
+    public float[] y0;
+    public float[] x; // Position of each object at the end of the step, written by the integrator
+    public float[] y;
+    public float[] vx; // Velocity of each object, overwritten by the integrator with its end-of-step velocity
+    public float[] vy;
+    public float[] mass;
+    public boolean[] fixed; // Whether each object should be left in place by the integrator, such as while it is asleep
+    public float[] step; // Multiplier applied to the step length for each object, for objects that are updated less often than others
+
+    /**
+     * Default constructor. Creates an empty store.
+     */
+    public BodyStore()
+    {
+        count = 0;
+        x0 = new float[0];
+        y0 = new float[0];
+        x = new float[0];
+        y = new float[0];
+        vx = new float[0];
+        vy = new float[0];
+        mass = new float[0];
+        fixed = new boolean[0];
+        step = new float[0];
+    }
+
+    /**
+     * Copies the state of the provided objects into this store, expanding it if necessary.
+     * The integrated position of each object is initialized to its start position, and its step multiplier to 1.
+     * @param bodies the objects to copy
+     * @param count the number of valid objects in the provided array
+     */
+    public void load(PhysObject[] bodies, int count)
+    {
+        if(x0.length < count)
+        {
+            int size = Math.max(count, x0.length * 2);
+            x0 = new float[size];
+            y0 = new float[size];
+            x = new float[size];
+            y = new float[size];
+            vx = new float[size];
+            vy = new float[size];
+            mass = new float[size];
+            fixed = new boolean[size];
+            step = new float[size];
+        }
+
+        this.count = count;
+        for(int i = 0; i < count; i++)
+        {
+            PhysObject p = bodies[i];
+            x0[i] = p.coords.x;
+            y0[i] = p.coords.y;
+            x[i] = p.coords.x;
+            y[i] = p.coords.y;
+            vx[i] = p.velocity.x;
+            vy[i] = p.velocity.y;
+            mass[i] = p.mass;
+            fixed[i] = p.asleep;
+            step[i] = 1.0f;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.michaelRunzler.TPG5.Engine.Physics;
+
+/**
+ * Sort-and-sweep broadphase collision pre-culler.
+ * Takes a set of axis-aligned bounding boxes in flat primitive arrays and produces a list of index pairs
+ * whose boxes overlap. Boxes are sorted along the X-axis, then each box is only compared against the boxes
+ * that start before it ends, which avoids an all-pairs comparison for sparse scenes.
+ * The sort order is retained between calls, so scenes that change little from one call to the next sort
+ * in close to linear time.
+ * Boxes may optionally be assigned collision layers and masks, in which case pairs whose layers and masks do not
+ * match are skipped without being tested.
+ */
+public class Broadphase
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] order; // Indices of all boxes, sorted by their minimum X-coordinate
+    private int orderCount; // Number of valid entries in the order array
+    private int[] pairs; // Overlapping pairs, stored as [a0, b0, a1, b1, ...]
+    private int pairCount; // Number of pairs (not entries) stored in the pair array
+
+    /**
+     * Default constructor.
+     */
+    public Broadphase()
+    {
+        order = new int[INITIAL_CAPACITY];
+        orderCount = 0;
+        pairs = new int[INITIAL_CAPACITY * 2];
+        pairCount = 0;
+    }
+
+    /**
+     * Finds all overlapping pairs in the provided set of bounding boxes. Touching boxes count as overlapping.
+     * The results of the last call may be retrieved with {@link #getPairA(int)} and {@link #getPairB(int)}.
+     * @param minX the minimum X-coordinate of each box
+     * @param minY the minimum Y-coordinate of each box
+     * @param maxX the maximum X-coordinate of each box
+     * @param maxY the maximum Y-coordinate of each box
+     * @param count the number of valid boxes in the provided arrays
+     * @return the number of overlapping pairs that were found
+     */
+    public int sweep(float[] minX, float[] minY, float[] maxX, float[] maxY, int count){
+        return sweep(minX, minY, maxX, maxY, null, null, count);
+    }
+
+    /**
+     * Finds all overlapping pairs in the provided set of bounding boxes, skipping any pair where either box's layer
+     * does not match the other box's mask. Touching boxes count as overlapping.
+     * The results of the last call may be retrieved with {@link #getPairA(int)} and {@link #getPairB(int)}.
+     * @param minX the minimum X-coordinate of each box
+     * @param minY the minimum Y-coordinate of each box
+     * @param maxX the maximum X-coordinate of each box
+     * @param maxY the maximum Y-coordinate of each box
+     * @param layers the layer bits of each box. Set to {@code null} to disable layer filtering.
+     * @param masks the layer bits that each box may interact with. Ignored if {@code layers} is {@code null}.
+     * @param count the number of valid boxes in the provided arrays
+     * @return the number of overlapping pairs that were found
+     */
+    public int sweep(float[] minX, float[] minY, float[] maxX, float[] maxY, int[] layers, int[] masks, int count)
+    {
+        pairCount = 0;
+        if(count < 2) {
+            orderCount = 0;
+            return 0;
+        }
+
+        // Rebuild the order index if the box count has changed since the last call, otherwise keep the last
+        // order to take advantage of the insertion sort's best case.
+        if(count != orderCount)
+        {
+            if(order.length < count) order = new int[Math.max(count, order.length * 2)];
+            for(int i = 0; i < count; i++) order[i] = i;
+            orderCount = count;
+        }
+
+        // Insertion sort by minimum X-coordinate
+        for(int i = 1; i < count; i++)
+        {
+            int key = order[i];
+            float kX = minX[key];
+            int j = i - 1;
+            while(j >= 0 && minX[order[j]] > kX){
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = key;
+        }
+
+        // Sweep along the X-axis. Each box is only compared against the boxes that start before it ends,
+        // after which no further box in the sorted order can overlap it.
+        for(int i = 0; i < count; i++)
+        {
+            int a = order[i];
+            for(int j = i + 1; j < count; j++)
+            {
+                int b = order[j];
+                if(minX[b] > maxX[a]) break;
+
+                // Skip pairs that cannot interact before checking anything else
+                if(layers != null && ((layers[a] & masks[b]) == 0 || (layers[b] & masks[a]) == 0)) continue;
+
+                // Check Y-axis overlap, X-axis overlap is guaranteed by the sweep
+                if(minY[b] <= maxY[a] && minY[a] <= maxY[b]) addPair(a, b);
+            }
+        }
+
+        return pairCount;
+    }
+
+    /**
+     * Gets the number of pairs found during the last call to {@link #sweep(float[], float[], float[], float[], int)}.
+     */
+    public int getPairCount(){
+        return pairCount;
+    }
+
+    /**
+     * Gets the index of the first box in the specified pair.
+     * @param pair the index of the pair, from 0 to {@link #getPairCount()} - 1
+     */
+    public int getPairA(int pair){
+        return pairs[pair * 2];
+    }
+
+    /**
+     * Gets the index of the second box in the specified pair.
+     * @param pair the index of the pair, from 0 to {@link #getPairCount()} - 1
+     */
+    public int getPairB(int pair){
+        return pairs[(pair * 2) + 1];
+    }
+
+    // Store a pair to the pair register, expanding it if required
+    private void addPair(int a, int b)
+    {
+        if((pairCount + 1) * 2 > pairs.length){
+            int[] tmp = new int[pairs.length * 2];
+            System.arraycopy(pairs, 0, tmp, 0, pairs.length);
+            pairs = tmp;
+        }
+
+        pairs[pairCount * 2] = a;
+        pairs[(pairCount * 2) + 1] = b;
+        pairCount ++;
+    }
+}
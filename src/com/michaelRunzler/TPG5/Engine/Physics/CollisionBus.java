@@ -0,0 +1,182 @@
+package com.michaelRunzler.TPG5.Engine.Physics;
+
+import com.michaelRunzler.TPG5.Util.CollisionEvent;
+
+import java.util.Arrays;
+
+/**
+ * Collects collision events raised during a physics tick and dispatches them together once the tick is complete.
+ * Events are stored in flat per-tick buffers of object IDs, so recording an event from inside the solver is cheap and never
+ * calls out to listener code. IDs are resolved back to objects through the owning {@link PhysEngine} on dispatch.
+ * On dispatch, each event is first passed to {@link PhysObject#collision(PhysObject, float)} on the object that raised it,
+ * then to every subscriber whose filters match that object.
+ * Subscriber registers are copied on write. Subscribing or unsubscribing replaces them, so dispatch can read a consistent
+ * set without copying it, even if handlers change the subscriptions.
+ */
+public class CollisionBus
+{
+    public static final int ALL_LAYERS = 0xFFFFFFFF; // Layer mask matching objects on any layer
+    private static final int INITIAL_CAPACITY = 32;
+
+    private PhysEngine engine;
+    private int[] callers; // ID of the object that raised each event
+    private int[] collided; // ID of the object that each caller collided with, or -1 for static bounds
+    private float[] angles; // Angle of each collision in degrees
+    private int count; // Number of valid events in the buffers
+    private int[] dCallers; // Second set of event buffers, holding the events currently being dispatched
+    private int[] dCollided;
+    private float[] dAngles;
+
+    private String[] prefixes; // UID prefix filter for each subscriber, or null to match any UID
+    private int[] masks; // Layer mask filter for each subscriber
+    private CollisionEvent[] subscribers;
+
+    /**
+     * Standard constructor. Creates a bus with no subscribers and no pending events.
+     * @param engine the engine whose object IDs are recorded on this bus
+     */
+    CollisionBus(PhysEngine engine)
+    {
+        this.engine = engine;
+        callers = new int[INITIAL_CAPACITY];
+        collided = new int[INITIAL_CAPACITY];
+        angles = new float[INITIAL_CAPACITY];
+        count = 0;
+        dCallers = new int[INITIAL_CAPACITY];
+        dCollided = new int[INITIAL_CAPACITY];
+        dAngles = new float[INITIAL_CAPACITY];
+        prefixes = new String[0];
+        masks = new int[0];
+        subscribers = new CollisionEvent[0];
+    }
+
+    /**
+     * Adds a subscriber that is called for every dispatched event whose calling object matches both of the provided filters.
+     * @param UIDPrefix only match objects whose UID starts with this string. Set to {@code null} to match any UID.
+     * @param layerMask only match objects whose {@link PhysObject#layer} has at least one bit in common with this mask.
+     *                  Use {@link #ALL_LAYERS} to match objects on any layer.
+     * @param handler the callback to call for matching events
+     */
+    public void subscribe(String UIDPrefix, int layerMask, CollisionEvent handler)
+    {
+        int n = subscribers.length;
+        String[] p = Arrays.copyOf(prefixes, n + 1);
+        int[] m = Arrays.copyOf(masks, n + 1);
+        CollisionEvent[] s = Arrays.copyOf(subscribers, n + 1);
+        p[n] = UIDPrefix;
+        m[n] = layerMask;
+        s[n] = handler;
+        prefixes = p;
+        masks = m;
+        subscribers = s;
+    }
+
+    /**
+     * Removes a subscriber that was previously added with {@link #subscribe(String, int, CollisionEvent)}.
+     * @param handler the callback to remove
+     */
+    public void unsubscribe(CollisionEvent handler)
+    {
+        int i = -1;
+        for(int j = 0; j < subscribers.length && i == -1; j++) if(subscribers[j].equals(handler)) i = j;
+        if(i == -1) return;
+
+        int n = subscribers.length - 1;
+        String[] p = new String[n];
+        int[] m = new int[n];
+        CollisionEvent[] s = new CollisionEvent[n];
+        System.arraycopy(prefixes, 0, p, 0, i);
+        System.arraycopy(prefixes, i + 1, p, i, n - i);
+        System.arraycopy(masks, 0, m, 0, i);
+        System.arraycopy(masks, i + 1, m, i, n - i);
+        System.arraycopy(subscribers, 0, s, 0, i);
+        System.arraycopy(subscribers, i + 1, s, i, n - i);
+        prefixes = p;
+        masks = m;
+        subscribers = s;
+    }
+
+    /**
+     * Records a collision event for later dispatch.
+     * @param caller the ID of the object that experienced the collision
+     * @param other the ID of the object that collided with the caller, or -1 if it collided with a static bound
+     * @param a the angle at which the collision occurred
+     */
+    public void record(int caller, int other, float a)
+    {
+        // Expand the buffers if required
+        if(count == callers.length) {
+            int size = callers.length * 2;
+            int[] tmp = new int[size];
+            System.arraycopy(callers, 0, tmp, 0, count);
+            callers = tmp;
+            tmp = new int[size];
+            System.arraycopy(collided, 0, tmp, 0, count);
+            collided = tmp;
+            float[] fTmp = new float[size];
+            System.arraycopy(angles, 0, fTmp, 0, count);
+            angles = fTmp;
+        }
+
+        callers[count] = caller;
+        collided[count] = other;
+        angles[count] = a;
+        count ++;
+    }
+
+    /**
+     * Gets the number of events waiting to be dispatched.
+     */
+    public int getPendingCount(){
+        return count;
+    }
+
+    /**
+     * Dispatches all recorded events in the order in which they were recorded, then clears the event buffers.
+     * Events recorded by handlers while dispatch is in progress are held until the next call.
+     * Must not be called from a handler.
+     */
+    public void dispatch()
+    {
+        if(count == 0) return;
+
+        // Swap the buffer sets before calling any handlers, so that events recorded during dispatch are not lost or re-dispatched
+        int[] pTmp = callers;
+        callers = dCallers;
+        dCallers = pTmp;
+        pTmp = collided;
+        collided = dCollided;
+        dCollided = pTmp;
+        float[] fTmp = angles;
+        angles = dAngles;
+        dAngles = fTmp;
+        int dCount = count;
+        count = 0;
+
+        // Hold on to the current subscriber registers, since handlers may subscribe or unsubscribe, which replaces them
+        String[] sPrefixes = prefixes;
+        int[] sMasks = masks;
+        CollisionEvent[] sHandlers = subscribers;
+
+        for(int i = 0; i < dCount; i++)
+        {
+            PhysObject caller = engine.getSlot(dCallers[i]);
+            PhysObject other = dCollided[i] == -1 ? null : engine.getSlot(dCollided[i]);
+            if(caller == null) continue;
+            caller.collision(other, dAngles[i]);
+
+            for(int j = 0; j < sHandlers.length; j++) {
+                if((caller.layer & sMasks[j]) == 0) continue;
+                if(sPrefixes[j] != null && !caller.UID.startsWith(sPrefixes[j])) continue;
+                sHandlers[j].action(caller, other);
+            }
+        }
+    }
+
+    /**
+     * Discards all pending events without dispatching them.
+     */
+    public void clear(){
+        count = 0;
+    }
+}
@@ -1,5 +1,6 @@
 package com.michaelRunzler.TPG5.Engine.Physics;
 
+import com.michaelRunzler.TPG5.Engine.Render.LODController;
 import com.michaelRunzler.TPG5.Util.RenderObject;
 import processing.core.PApplet;
 
@@ -16,6 +17,8 @@ import static com.michaelRunzler.TPG5.Util.StaticUtils.toARGB;
  * The rendered appearance of the object takes the form of a shaded square,
  * which leaves behind a 'ghost' trail as it moves, and emits particles when it collides
  * with another object or static bound.
+ * Trail density, particle counts, and inner rectangle rendering are reduced according to the current
+ * {@link LODController} detail level.
  */
 public class GamePhysObject extends PhysObject
 {
@@ -23,7 +26,8 @@ public class GamePhysObject extends PhysObject
     public static final float CENTER_BORDER_FACTOR = 0.80f; // Decimal size differential factor between inner and outer rectangles
     public static final int TRAIL_LIFE_FRAMES = 60; // Number of frames that each trail particle will survive before being deleted,
                                                     // also determines shrink rate of each frame
-    public static final int FRAMESKIP = 6; // How many frames to wait between generating new tail sections
+    public static final int FRAMESKIP = 6; // How many frames to wait between generating new tail sections at full detail
+    public static final int COLLISION_PARTICLES = 10; // Number of particles emitted on collision at full detail
 
     public float size;
     public int color;
@@ -50,6 +54,30 @@ public class GamePhysObject extends PhysObject
         frameCounter = 0;
     }
 
+    /**
+     * Resets this object to the state it would be in if it had just been constructed with the provided arguments.
+     * Its trail, particle effects, collision callbacks, collision layers, and UID are cleared. Used to recycle pooled objects.
+     * @param color the color of the object's main body
+     * @param size the size of the main object in pixels
+     */
+    public void reset(float x, float y, int color, float size)
+    {
+        this.UID = "INV";
+        this.coords.set(x, y);
+        this.velocity.set(0, 0);
+        this.mass = 1.0f;
+        this.handlers.clear();
+        this.asleep = false;
+        this.restTicks = 0;
+        this.layer = 1;
+        this.mask = 0xFFFFFFFF;
+        this.size = size;
+        this.color = color;
+        trail.clear();
+        particles.clear();
+        frameCounter = 0;
+    }
+
     @Override
     public RenderObject[] render()
     {
@@ -60,7 +88,7 @@ public class GamePhysObject extends PhysObject
         int centerColor = fromARGB(ARGB);
 
         RenderObject outer = new RenderObject(true, PApplet.CENTER, color, Integer.MAX_VALUE, super.coords.x, super.coords.y, size, size);
-        RenderObject inner = new RenderObject(true, PApplet.CENTER, centerColor, Integer.MAX_VALUE, super.coords.x, super.coords.y,
+        RenderObject innerRect = new RenderObject(true, PApplet.CENTER, centerColor, Integer.MAX_VALUE, super.coords.x, super.coords.y,
                 size * CENTER_BORDER_FACTOR, size * CENTER_BORDER_FACTOR);
 
         // Trail
@@ -117,8 +145,10 @@ public class GamePhysObject extends PhysObject
             pSize += particleQueue[i].length;
         }
 
-        // Assemble render queue
-        RenderObject[] retV = new RenderObject[((trail.size() + 1) * 2) + pSize];
+        // Assemble render queue, leaving out inner rectangles if detail is reduced
+        boolean inner = LODController.innerDetail();
+        int stride = inner ? 2 : 1;
+        RenderObject[] retV = new RenderObject[((trail.size() + 1) * stride) + pSize];
 
         // Add particle frames to the queue
         int lastIndex = 0;
@@ -129,19 +159,19 @@ public class GamePhysObject extends PhysObject
 
         // Add trail frames to the queue
         Iterator<RenderObject> iter = trail.keySet().iterator();
-        for(int i = lastIndex; i < retV.length - 2; i += 2){
+        for(int i = lastIndex; i < retV.length - stride; i += stride){
             retV[i] = iter.next();
-            retV[i + 1] = trail.get(retV[i]);
+            if(inner) retV[i + 1] = trail.get(retV[i]);
         }
 
         // Add current rendering frame to the end of the queue
-        retV[retV.length - 2] = outer;
-        retV[retV.length - 1] = inner;
+        retV[retV.length - stride] = outer;
+        if(inner) retV[retV.length - 1] = innerRect;
 
         // If the requisite number of frames have been skipped,
         // add the current rendering of this object to the stack
-        if(frameCounter >= FRAMESKIP) {
-            trail.put(outer, inner);
+        if(frameCounter >= LODController.trailFrameskip(FRAMESKIP)) {
+            trail.put(outer, innerRect);
             frameCounter = 0;
         }
 
@@ -164,7 +194,8 @@ public class GamePhysObject extends PhysObject
         super.collision(collided, a);
 
         // Construct and add particle system to particle register
-        particles.add(new ParticleSpray(this.coords.x, this.coords.y, 45.0f, a, this.color, ParticleSpray.STANDARD_DIAMETER, 10, 3.0f, 60));
+        particles.add(new ParticleSpray(this.coords.x, this.coords.y, 45.0f, a, this.color, ParticleSpray.STANDARD_DIAMETER,
+                LODController.particleCount(COLLISION_PARTICLES), 3.0f, 60));
     }
 
     @Override
@@ -0,0 +1,53 @@
+package com.michaelRunzler.TPG5.Engine.Physics;
+
+import java.util.ArrayDeque;
+
+/**
+ * Recycles {@link GamePhysObject} instances to avoid reallocating them (along with their trail and particle registers)
+ * whenever objects are spawned and despawned.
+ * Objects must be removed from any physics simulation before being released back into the pool.
+ */
+public class GamePhysObjectPool
+{
+    private ArrayDeque<GamePhysObject> free; // Released objects available for reuse
+
+    /**
+     * Default constructor. Creates an empty pool.
+     */
+    public GamePhysObjectPool(){
+        free = new ArrayDeque<>();
+    }
+
+    /**
+     * Gets an object from the pool, reset to the provided values, or creates a new one if the pool is empty.
+     * @param x the initial X-coordinate of the object
+     * @param y the initial Y-coordinate of the object
+     * @param color the color of the object's main body
+     * @param size the size of the main object in pixels
+     */
+    public GamePhysObject obtain(float x, float y, int color, float size)
+    {
+        GamePhysObject gp = free.poll();
+        if(gp == null) return new GamePhysObject(x, y, color, size);
+
+        gp.reset(x, y, color, size);
+        return gp;
+    }
+
+    /**
+     * Returns an object to the pool for later reuse. The object must not be used by the caller after this call.
+     * @param gp the object to release
+     */
+    public void release(GamePhysObject gp)
+    {
+        if(gp.handle != PhysEngine.INVALID_HANDLE) throw new IllegalStateException("Object " + gp.UID + " is still simulated!");
+        free.push(gp);
+    }
+
+    /**
+     * Gets the number of objects currently available for reuse.
+     */
+    public int getFreeCount(){
+        return free.size();
+    }
+}
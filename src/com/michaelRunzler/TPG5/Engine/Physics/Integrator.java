@@ -0,0 +1,17 @@
+package com.michaelRunzler.TPG5.Engine.Physics;
+
+/**
+ * Interface for numerical integration schemes used by the physics engine to advance objects through time.
+ */
+public interface Integrator
+{
+    /**
+     * Advances each non-fixed object in the store by one step. Implementations read the start-of-step state from
+     * {@link BodyStore#x0}, {@link BodyStore#y0}, {@link BodyStore#vx}, and {@link BodyStore#vy}, and write the end-of-step
+     * state to {@link BodyStore#x}, {@link BodyStore#y}, {@link BodyStore#vx}, and {@link BodyStore#vy}.
+     * @param store the objects to advance
+     * @param field the acceleration acting on the objects
+     * @param dt the length of the step in ticks, which is multiplied by {@link BodyStore#step} for each object
+     */
+    void integrate(BodyStore store, AccelerationField field, float dt);
+}
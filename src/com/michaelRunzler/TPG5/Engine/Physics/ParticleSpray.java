@@ -2,11 +2,11 @@ package com.michaelRunzler.TPG5.Engine.Physics;
 
 import com.michaelRunzler.TPG5.Util.RenderObject;
 import com.michaelRunzler.TPG5.Util.Renderable;
+import com.michaelRunzler.TPG5.Util.SplitRandom;
+import com.michaelRunzler.TPG5.Util.TrigTable;
 import processing.core.PApplet;
 import processing.core.PVector;
 
-import java.util.Random;
-
 import static com.michaelRunzler.TPG5.Engine.Physics.GamePhysObject.CENTER_BORDER_FACTOR;
 import static com.michaelRunzler.TPG5.Engine.Physics.GamePhysObject.CENTER_COLOR_DIFF;
 import static com.michaelRunzler.TPG5.Util.StaticUtils.fromARGB;
@@ -16,20 +16,25 @@ import static com.michaelRunzler.TPG5.Util.StaticUtils.toARGB;
  * Represents a system of non-interacting particles emitted from a central point in a specified arc.
  * These particles have a set lifetime, during which they gradually fade and lose velocity, before
  * finally becoming invisible and 'dead'.
+ * Each system draws its random values from its own stream, split from a shared root generator when the system is
+ * constructed. Seeding the root generator with {@link #setSeed(long)} makes all subsequently constructed systems reproducible.
+ * Systems should only be constructed from one thread at a time.
  */
 public class ParticleSpray implements Renderable
 {
     public static final float STANDARD_DIAMETER = 4;
 
+    private static final SplitRandom root = new SplitRandom(System.nanoTime()); // Source of the random stream for each new system
+
     private PVector coords;
-    private double spread; // Arc on each side of the centerline in radians
-    private double center; // Centerpoint in radians
+    private float spread; // Arc on each side of the centerline in degrees
+    private float center; // Centerpoint in degrees
     private int color;
     private float diameter; // Outer particle diameter
     private double speed; // Initial maximum velocity in PPF^2
     private int life; // Maximum frame life count
     private int lived; // How many frames this object has been 'alive'
-    private Random rng;
+    private SplitRandom rng;
     private boolean hasFired; // If the initial generation sequence has fired for this particle
 
     private float[][] velocities; // [0] and [1] contain current velocities for each particle, [2] and [3] contain original velocities
@@ -51,31 +56,42 @@ public class ParticleSpray implements Renderable
     public ParticleSpray(float x, float y, float spread, float centerAngle, int color, float diameter, int count, float speed, int life)
     {
         this.coords = new PVector(x, y);
-        this.spread = Math.toRadians(spread);
-        this.center = Math.toRadians(centerAngle);
+        this.spread = spread;
+        this.center = centerAngle;
         this.color = color;
         this.diameter = diameter;
         this.speed = speed;
         this.life = life;
         this.lived = 0;
-        this.rng = new Random(System.currentTimeMillis());
+        this.rng = root.split();
         this.particles = new RenderObject[count][2];
         this.velocities = new float[count][4];
         this.hasFired = false;
     }
 
+    /**
+     * Reseeds the root generator that each new particle system's random stream is split from.
+     * Systems constructed after this call will produce the same effects for the same seed and construction order.
+     * @param seed the new root seed
+     */
+    public static void setSeed(long seed){
+        root.setSeed(seed);
+    }
+
     /**
      * Generates velocities and particle system registers. Must be called before the first call to {@link #render()}.
      * {@link #render()} calls this automatically if it has not already been called.
      */
     public void fireEffect()
     {
-        // Generate velocity bounds for specified angular limits
-        double vXMin = speed * (Math.cos(center - spread) + Math.signum(Math.cos(center)));
-        double vXMax = speed * (Math.cos(center + spread) - Math.signum(Math.cos(center)));
+        // Generate velocity bounds for specified angular limits from the lookup table
+        float cosC = TrigTable.cosDeg(center);
+        float sinC = TrigTable.sinDeg(center);
+        double vXMin = speed * (TrigTable.cosDeg(center - spread) + Math.signum(cosC));
+        double vXMax = speed * (TrigTable.cosDeg(center + spread) - Math.signum(cosC));
 
-        double vYMin = speed * (Math.sin(center - spread) + Math.signum(Math.sin(center)));
-        double vYMax = speed * (Math.sin(center + spread) - Math.signum(Math.sin(center)));
+        double vYMin = speed * (TrigTable.sinDeg(center - spread) + Math.signum(sinC));
+        double vYMax = speed * (TrigTable.sinDeg(center + spread) - Math.signum(sinC));
 
         for(int i = 0; i < particles.length; i++)
         {
@@ -120,7 +136,7 @@ public class ParticleSpray implements Renderable
 
         float dimBy = (255f / (float)life); // Amount to reduce alpha on each particle as it decays
 
-        // Result RO queue
+        // Result RO queue. Off-screen particles are still simulated, and are culled by the render pipeline if enabled.
         RenderObject[] result = new RenderObject[particles.length * particles[0].length];
 
         for(int i = 0; i < particles.length; i++)
@@ -146,7 +162,7 @@ public class ParticleSpray implements Renderable
                 p.coords[1] += v[1];
 
                 // Add updated particle component to render queue
-                result[(i * particles[j].length) + j] = p;
+                result[(i * particles[i].length) + j] = p;
             }
 
             // Reduce velocity of pair
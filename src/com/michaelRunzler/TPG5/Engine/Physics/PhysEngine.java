@@ -14,6 +14,24 @@ import java.util.HashMap;
  * 2D realtime physics engine implementation.
  * Supports dynamic and static collision, per-object Newtonian gravity,
  * static gravity, semi-elastic collisions, and realtime object addition/removal.
+ * The simulated world may be larger than the parent sketch's window. It may also be divided into square chunks, in which
+ * case only the chunks near a focus point (usually the center of the camera) are updated on every tick, and distant chunks
+ * are updated less often with a proportionally longer step.
+ * Contacts between objects are resolved together after detection by an iterative impulse solver, which applies
+ * mass-weighted impulses along each contact normal and pushes overlapping objects apart.
+ * Objects are advanced through time by a configurable {@link Integrator}, working on a flat {@link BodyStore} copy of
+ * the simulation state, under the combined acceleration of static and dynamic gravity.
+ * Objects that move more than half of their own size in a single tick are swept along their path before their
+ * positions are updated, and are stopped at the first point of contact to prevent them from tunnelling through
+ * other objects or the static bounds.
+ * Objects that stay at rest for long enough are put to sleep along with everything that they are touching, and are
+ * skipped by all passes until they are hit by an awake object or have their velocity changed from outside the engine.
+ * Objects are added and removed through {@link #add(PhysObject)} and {@link #remove(long)}, which identify objects
+ * by generation-checked handles. Removals are deferred and applied together at the start of the next tick, so they
+ * are safe to request from collision listeners.
+ * Pairs of objects whose collision layers and masks do not match are never tested against each other.
+ * Collisions are recorded to a {@link CollisionBus} while the tick is running, and dispatched to listeners in one batch
+ * once it is complete.
  */
 public class PhysEngine implements AppletAccessor
 {
@@ -24,18 +42,79 @@ public class PhysEngine implements AppletAccessor
     public static final int TOP = 3;
     public static final int BOTTOM = 4;
 
+    public static final long INVALID_HANDLE = -1L; // Handle value for objects that are not part of any simulation
+
     private PApplet parent;
     private XLoggerInterpreter log;
 
     private ArrayList<PhysObject> simulated;
-    private HashMap<PhysObject, ArrayList<Integer>> sCollisionParity; // Active-collision flag register for static collisions
-    private HashMap<PhysObject, ArrayList<PhysObject>> dCollisionParity; // Active-collision flag register for dynamic collisions
+    private boolean[] frozen; // Whether each ID is in a distant chunk that is not being updated this tick
+    private int tickCount; // Number of ticks run so far, used to schedule distant chunk updates
+    private float focusX; // World coordinates of the center of the fully simulated region
+    private float focusY;
+    private int[] sParity; // Active-collision flag register for static collisions, one bit per static bound, indexed by ID
+    private int[][] dParity; // Active-collision flag register for dynamic collisions, listing the IDs of the objects that each ID is ignoring
+    private int[] dParityCount; // Number of valid entries in each dynamic parity list
+    private int[][] contacts; // IDs of the objects in contact with each ID during the current tick
+    private int[] contactCount; // Number of valid entries in each contact list
+    private HashMap<String, Integer> UIDIndex; // UID of each registered object, mapped to its ID
+    private String[] slotUID; // UID that each slot was registered under in the UID index, null if unregistered
+    private Broadphase broadphase;
+    private PhysObject[] bodies; // Per-tick snapshot of the simulation list
+    private float[] bMinX; // Flat bounds register for broadphase checks, indexed in the same order as the snapshot
+    private float[] bMinY;
+    private float[] bMaxX;
+    private float[] bMaxY;
+    private int[] bLayer; // Flat collision layer and mask register, indexed in the same order as the snapshot
+    private int[] bMask;
+    private Broadphase sweptPhase; // Separate broadphase for swept bounds, so that each keeps its own sort order
+    private float[] sMinX; // Flat swept-bounds register for continuous collision checks, indexed in the same order as the snapshot
+    private float[] sMinY;
+    private float[] sMaxX;
+    private float[] sMaxY;
+    private float[] toi; // Fraction of each object's displacement that it may travel this tick before making contact
+    private int[] islands; // Union-find register linking each object to the objects it is in contact with, indexed in snapshot order
+    private boolean[] islandMoving; // Whether each island has an object still in motion, indexed by the snapshot index of its root
+    private boolean[] islandAwake; // Whether each island has any awake objects, indexed the same way
+    private PhysObject[] slots; // Object currently assigned to each handle slot, or null if the slot is free
+    private int[] generations; // Number of times each handle slot has been freed, used to detect stale handles
+    private int[] freeSlots; // Stack of free handle slots
+    private boolean[] freedSlots; // Slots freed by the flush in progress, only set while a flush is pruning the registers
+    private int freeCount; // Number of valid entries in the free slot stack
+    private int slotCount; // Number of handle slots that have ever been assigned
+    private ArrayList<Integer> pendingRemoval; // Handle slots queued for removal at the start of the next tick
+    private CollisionBus bus; // Collision events recorded during the current tick
+    private BodyStore store; // Integration state of all objects in the snapshot, indexed in snapshot order
+    private int contactBatchCount; // Number of contacts in the solver batch for the current tick
+    private int[] cA; // Snapshot indices of the two objects in each solver contact
+    private int[] cB;
+    private float[] cNX; // Contact normal of each solver contact, pointing from the first object to the second
+    private float[] cNY;
+    private float[] cPen; // Penetration depth of each solver contact along its normal
+    private float[] cTarget; // Target separating velocity of each solver contact along its normal
+    private float[] cImpulse; // Total impulse applied to each solver contact so far this tick
+    private float[] invMass; // Inverse mass of each object, indexed in snapshot order. 0 for objects with infinite mass.
     public PVector gravity; // Static gravity in each axis
     public float staticCollisionPenalty; // Velocity penalty for objects colliding with a static bound
-    public float dynamicCollisionPenalty; // Velocity penalty for objects colliding with each other
-    public float dynamicCollisionTransfer; // Velocity transfer ratio between two objects. 1.0 means that the objects would
-                                           // inherit each others' velocities, while 0 is no transfer at all. 0.5 is standard.
+    public float dynamicCollisionPenalty; // Velocity penalty for objects colliding with each other. The coefficient of restitution is 1.0 minus this value.
+    @Deprecated
+    public float dynamicCollisionTransfer; // No longer used. Velocity transfer is now determined by the relative masses of colliding objects.
+    public float worldWidth; // Width of the simulated world in pixels. Set to 0 to match the width of the parent sketch.
+    public float worldHeight; // Height of the simulated world in pixels. Set to 0 to match the height of the parent sketch.
+    public boolean partitioned; // Whether distant world chunks are updated at a reduced rate
+    public float chunkSize; // Width and height of each world chunk in pixels. 512.0 is standard.
+    public int activeChunkRadius; // Number of chunks around the focus chunk in each direction that are updated on every tick. 1 is standard.
+    public int distantTickInterval; // Number of ticks between updates for chunks outside of the active radius. 4 is standard.
+    public int solverIterations; // Number of passes the impulse solver makes over each tick's contacts. 4 is standard.
+    public float positionCorrection; // Fraction of contact penetration removed on each tick. 0.2 is standard.
     public float dynamicGravityConstant; // Gravitational acceleration constant modifier for dynamic gravity. 5000.0 is standard.
+    public Integrator integrator; // Integration scheme used to advance objects through time. Semi-implicit Euler is standard.
+    public float timestep; // Length of each tick in integration steps. Velocities are measured in pixels per step. 1.0 is standard.
+    public boolean continuousCollision; // Whether fast-moving objects are swept for contacts before their positions are updated
+    public float contactSkin; // Distance in pixels at which objects are considered to be touching. 0.5 is standard.
+    public boolean sleepingEnabled; // Whether objects at rest are put to sleep
+    public float sleepThreshold; // Speed below which an object is considered to be at rest, in PPT. 0.05 is standard.
+    public int sleepTicks; // Number of consecutive ticks that a group of objects must be at rest before sleeping. 60 is standard.
 
     /**
      * Default constructor. Sets up a physics engine with no simulated objects.
@@ -53,13 +132,72 @@ public class PhysEngine implements AppletAccessor
 
         // Initialize instance variables and coefficients
         simulated = new ArrayList<>();
-        sCollisionParity = new HashMap<>();
-        dCollisionParity = new HashMap<>();
+        frozen = new boolean[16];
+        tickCount = 0;
+        focusX = 0.0f;
+        focusY = 0.0f;
+        sParity = new int[16];
+        dParity = new int[16][];
+        dParityCount = new int[16];
+        contacts = new int[16][];
+        contactCount = new int[16];
+        UIDIndex = new HashMap<>();
+        slotUID = new String[16];
+        broadphase = new Broadphase();
+        bodies = new PhysObject[0];
+        bMinX = new float[0];
+        bMinY = new float[0];
+        bMaxX = new float[0];
+        bMaxY = new float[0];
+        bLayer = new int[0];
+        bMask = new int[0];
+        sweptPhase = new Broadphase();
+        sMinX = new float[0];
+        sMinY = new float[0];
+        sMaxX = new float[0];
+        sMaxY = new float[0];
+        toi = new float[0];
+        islands = new int[0];
+        islandMoving = new boolean[0];
+        islandAwake = new boolean[0];
+        slots = new PhysObject[16];
+        generations = new int[16];
+        freeSlots = new int[16];
+        freedSlots = new boolean[16];
+        freeCount = 0;
+        slotCount = 0;
+        pendingRemoval = new ArrayList<>();
+        bus = new CollisionBus(this);
+        store = new BodyStore();
+        contactBatchCount = 0;
+        cA = new int[0];
+        cB = new int[0];
+        cNX = new float[0];
+        cNY = new float[0];
+        cPen = new float[0];
+        cTarget = new float[0];
+        cImpulse = new float[0];
+        invMass = new float[0];
         gravity = new PVector();
         staticCollisionPenalty = 0.0f;
         dynamicCollisionPenalty = 0.0f;
         dynamicCollisionTransfer = 0.05f;
         dynamicGravityConstant = 5000.0f;
+        worldWidth = 0.0f;
+        worldHeight = 0.0f;
+        partitioned = false;
+        chunkSize = 512.0f;
+        activeChunkRadius = 1;
+        distantTickInterval = 4;
+        solverIterations = 4;
+        positionCorrection = 0.2f;
+        integrator = new SemiImplicitEuler();
+        timestep = 1.0f;
+        continuousCollision = true;
+        contactSkin = 0.5f;
+        sleepingEnabled = true;
+        sleepThreshold = 0.05f;
+        sleepTicks = 60;
 
         log.logEvent("Initialization complete in " + (log.getTimeSinceLastEvent() / 1000.0) + "s");
     }
@@ -70,19 +208,252 @@ public class PhysEngine implements AppletAccessor
      */
     public void tick()
     {
+        // Apply any removals requested since the last tick before anything else
+        flush();
+
         // Return immediately if there are no objects to simulate
         if(simulated.size() == 0) return;
 
-        // Add new collision parity entries for objects that have been added to the simulation since the last tick
-        simulated.forEach(p -> sCollisionParity.putIfAbsent(p, new ArrayList<>()));
-        simulated.forEach(p -> dCollisionParity.putIfAbsent(p, new ArrayList<>()));
+        // Register any objects that have been added directly to the simulation list since the last tick
+        for(int i = 0; i < simulated.size(); i++) {
+            PhysObject p = simulated.get(i);
+            if(p.handle == INVALID_HANDLE) add(p);
+        }
+
+        // Wake any sleeping objects whose velocities have been changed since the last tick
+        for(PhysObject p : simulated)
+            if(p.asleep && (p.velocity.x != 0.0f || p.velocity.y != 0.0f)) p.wake();
+
+        // Determine which distant chunks are being skipped this tick
+        updatePartitions();
 
         // Run actual physics subroutines in sequence
         staticCollision();
         dynamicCollision();
-        staticGravity();
-        dynamicGravity();
+        integrate();
+        if(continuousCollision) sweptCollision();
         updatePosition();
+
+        // Dispatch collision events now that the simulation is in a consistent state
+        bus.dispatch();
+    }
+
+    /**
+     * Sets the center of the fully simulated region of the world, which is usually the center of the camera.
+     * Only used if {@link #partitioned} is set.
+     * @param x the X-coordinate of the focus point in world coordinates
+     * @param y the Y-coordinate of the focus point in world coordinates
+     */
+    public void setFocus(float x, float y)
+    {
+        this.focusX = x;
+        this.focusY = y;
+    }
+
+    /**
+     * Gets the effective width of the simulated world, which is the width of the parent sketch unless {@link #worldWidth} is set.
+     */
+    public float getWorldWidth(){
+        return worldWidth > 0.0f ? worldWidth : parent.width;
+    }
+
+    /**
+     * Gets the effective height of the simulated world, which is the height of the parent sketch unless {@link #worldHeight} is set.
+     */
+    public float getWorldHeight(){
+        return worldHeight > 0.0f ? worldHeight : parent.height;
+    }
+
+    /**
+     * Gets the collision event bus for this engine, which may be used to subscribe to collision events.
+     */
+    public CollisionBus getCollisionBus(){
+        return bus;
+    }
+
+    /**
+     * Adds an object to the simulation, starting on the next tick. The object is assigned a dense integer ID,
+     * stored in {@link PhysObject#ID}, and its UID is indexed for lookup; it must not be changed while the object is simulated.
+     * @param p the object to add. Must not already be part of this or any other simulation.
+     * @return the handle of the added object, which may be used to remove it later. Also stored in {@link PhysObject#handle}.
+     */
+    public long add(PhysObject p)
+    {
+        if(p.handle != INVALID_HANDLE) {
+            log.logEvent(LogEventLevel.WARNING, String.format("Object %s is already simulated, ignoring add request.", p.UID));
+            return p.handle;
+        }
+
+        // Objects re-added while their last removal is still pending still hold their old slot, and are already in the simulation list
+        boolean listed = p.ID >= 0 && p.ID < slotCount && slots[p.ID] == p;
+
+        // Reuse a free slot if there is one, otherwise take a new one, expanding the slot registers if necessary
+        int slot;
+        if(freeCount > 0) slot = freeSlots[-- freeCount];
+        else {
+            if(slotCount == slots.length) {
+                PhysObject[] tmp = new PhysObject[slots.length * 2];
+                System.arraycopy(slots, 0, tmp, 0, slots.length);
+                slots = tmp;
+                String[] uTmp = new String[slotUID.length * 2];
+                System.arraycopy(slotUID, 0, uTmp, 0, slotUID.length);
+                slotUID = uTmp;
+                generations = grow(generations);
+                freeSlots = new int[freeSlots.length * 2];
+                freedSlots = new boolean[freedSlots.length * 2];
+                sParity = grow(sParity);
+                boolean[] fTmp = new boolean[frozen.length * 2];
+                System.arraycopy(frozen, 0, fTmp, 0, frozen.length);
+                frozen = fTmp;
+                dParityCount = grow(dParityCount);
+                contactCount = grow(contactCount);
+                int[][] lTmp = new int[dParity.length * 2][];
+                System.arraycopy(dParity, 0, lTmp, 0, dParity.length);
+                dParity = lTmp;
+                lTmp = new int[contacts.length * 2][];
+                System.arraycopy(contacts, 0, lTmp, 0, contacts.length);
+                contacts = lTmp;
+            }
+            slot = slotCount ++;
+        }
+
+        slots[slot] = p;
+        p.handle = ((long)generations[slot] << 32) | slot;
+        p.ID = slot;
+        frozen[slot] = false;
+        p.wake();
+        UIDIndex.put(p.UID, slot);
+        slotUID[slot] = p.UID;
+
+        // Clear the collision registers for this ID, which may still hold data from its last owner
+        sParity[slot] = 0;
+        dParityCount[slot] = 0;
+        contactCount[slot] = 0;
+        if(dParity[slot] == null) dParity[slot] = new int[4];
+        if(contacts[slot] == null) contacts[slot] = new int[4];
+
+        if(!listed) simulated.add(p);
+
+        return p.handle;
+    }
+
+    /**
+     * Queues an object for removal from the simulation. The object stops being accessible through its handle immediately,
+     * but stays in the simulation until the start of the next tick, or until the next call to {@link #flush()}.
+     * @param handle the handle of the object to remove
+     * @return true if the object was queued for removal, false if the handle is stale or was never valid
+     */
+    public boolean remove(long handle)
+    {
+        PhysObject p = get(handle);
+        if(p == null) {
+            log.logEvent(LogEventLevel.WARNING, String.format("Ignoring removal request for stale handle %016X.", handle));
+            return false;
+        }
+
+        p.handle = INVALID_HANDLE;
+        pendingRemoval.add((int)handle);
+        return true;
+    }
+
+    /**
+     * Queues all currently simulated objects for removal. See {@link #remove(long)} for details.
+     */
+    public void clear(){
+        for(PhysObject p : simulated) if(p.handle != INVALID_HANDLE) remove(p.handle);
+    }
+
+    /**
+     * Gets the object with the specified ID.
+     * @param ID the ID to look up
+     * @return the object with the provided ID, or null if no object currently holds that ID
+     */
+    public PhysObject getObjectByID(int ID)
+    {
+        PhysObject p = getSlot(ID);
+        return p != null && p.handle != INVALID_HANDLE ? p : null;
+    }
+
+    /**
+     * Gets the ID of the simulated object with the specified UID.
+     * @param UID the UID to look up
+     * @return the ID of the object with the provided UID, or -1 if there is none
+     */
+    public int getID(String UID)
+    {
+        Integer ID = UIDIndex.get(UID);
+        return ID == null || getObjectByID(ID) == null ? -1 : ID;
+    }
+
+    /**
+     * Gets the object with the specified handle.
+     * @param handle the handle to look up
+     * @return the object with the provided handle, or null if it has been removed or the handle was never valid
+     */
+    public PhysObject get(long handle)
+    {
+        if(handle == INVALID_HANDLE) return null;
+        int slot = (int)handle;
+        if(slot < 0 || slot >= slotCount || generations[slot] != (int)(handle >>> 32)) return null;
+        PhysObject p = slots[slot];
+        return p != null && p.handle == handle ? p : null;
+    }
+
+    /**
+     * Checks whether the specified handle still refers to an object in this simulation.
+     */
+    public boolean isValid(long handle){
+        return get(handle) != null;
+    }
+
+    /**
+     * Applies all pending removals immediately. Removed objects are dropped from the simulation list and all collision
+     * registers, and their handle slots are freed for reuse. Called automatically at the start of each tick.
+     */
+    public void flush()
+    {
+        if(pendingRemoval.isEmpty()) return;
+
+        // Removed objects are marked by clearing their ID, and freed slots are flagged in the freed slot register
+        int removed = 0;
+        for(int slot : pendingRemoval)
+        {
+            // Objects that have been re-added since their removal was requested keep their place in the simulation
+            PhysObject p = slots[slot];
+            if(p.handle == INVALID_HANDLE) {
+                removed ++;
+                p.ID = -1;
+            }
+
+            // Unregister the UID this slot was added under, since the object may have been renamed and re-added since
+            String UID = slotUID[slot];
+            Integer indexed = UIDIndex.get(UID);
+            if(indexed != null && indexed == slot) UIDIndex.remove(UID);
+            slotUID[slot] = null;
+
+            slots[slot] = null;
+            generations[slot] ++;
+            freeSlots[freeCount ++] = slot;
+            freedSlots[slot] = true;
+            sParity[slot] = 0;
+            dParityCount[slot] = 0;
+            contactCount[slot] = 0;
+        }
+
+        // Prune all registers in one pass each
+        simulated.removeIf(p -> p.ID == -1);
+        for(int i = 0; i < slotCount; i++)
+        {
+            int[] list = dParity[i];
+            int n = 0;
+            for(int j = 0; j < dParityCount[i]; j++) if(!freedSlots[list[j]]) list[n ++] = list[j];
+            dParityCount[i] = n;
+        }
+
+        for(int slot : pendingRemoval) freedSlots[slot] = false;
+        pendingRemoval.clear();
+
+        log.logEvent(LogEventLevel.DEBUG, String.format("Removed %d object(s) from the simulation.", removed));
     }
 
     /**
@@ -92,16 +463,17 @@ public class PhysEngine implements AppletAccessor
      */
     public PhysObject getObjectByUIDMutable(String UID)
     {
-        for(PhysObject p : simulated)
-            if(p.UID.equals(UID)) return p;
-
-        return null;
+        int ID = getID(UID);
+        return ID == -1 ? null : slots[ID];
     }
 
     /**
      * Gets a mutable list of all {@link PhysObject}s currently simulated by this
      * engine instance.
+     * @deprecated objects added or removed through this list bypass handle assignment and register cleanup.
+     *             Use {@link #add(PhysObject)} and {@link #remove(long)} instead.
      */
+    @Deprecated
     public ArrayList<PhysObject> getSimObjectsMutable(){
         return this.simulated;
     }
@@ -109,9 +481,13 @@ public class PhysEngine implements AppletAccessor
     /**
      * Resets the collision check registers for all objects.
      */
-    public void reset(){
-        for(PhysObject p : simulated) dCollisionParity.put(p, new ArrayList<>());
-        for(PhysObject p : simulated) sCollisionParity.put(p, new ArrayList<>());
+    public void reset()
+    {
+        for(int i = 0; i < slotCount; i++) {
+            sParity[i] = 0;
+            dParityCount[i] = 0;
+        }
+        for(PhysObject p : simulated) p.wake();
     }
 
     //
@@ -121,30 +497,35 @@ public class PhysEngine implements AppletAccessor
     // Apply collision effects and velocity changes to objects colliding with static bounds
     private void staticCollision()
     {
+        float worldW = getWorldWidth();
+        float worldH = getWorldHeight();
         for(PhysObject p : simulated)
         {
+            // Sleeping and frozen objects keep their collision flags until they are next updated
+            if(p.asleep || frozen[p.ID]) continue;
+
             // Collect object data
             float[] bounds = p.getBounds();
-            ArrayList<Integer> parity = sCollisionParity.get(p);
+            int parity = sParity[p.ID];
             int[] collisionAxis = new int[]{NONE, NONE}; // [0] is X, [1] is Y
 
             // Check left/right screen-edge bound
-            if(bounds[0] <= 0f || bounds[2] >= parent.width) {
-                collisionAxis[0] = bounds[0] <= 0f ? LEFT : RIGHT;
+            if(bounds[0] <= contactSkin || bounds[2] >= worldW - contactSkin) {
+                collisionAxis[0] = bounds[0] <= contactSkin ? LEFT : RIGHT;
                 // Only make changes to velocity if this object is not ignoring collisions for this axis
-                if(!parity.contains(collisionAxis[0])) p.velocity.x = staticCollisionCalc(p.velocity.x, staticCollisionPenalty);
+                if(!hasFlag(parity, collisionAxis[0])) p.velocity.x = staticCollisionCalc(p.velocity.x, staticCollisionPenalty);
             }
 
             // Check top/bottom screen-edge bound
-            if(bounds[1] <= 0f || bounds[3] >= parent.height) {
-                collisionAxis[1] = bounds[1] <= 0f ? TOP : BOTTOM;
+            if(bounds[1] <= contactSkin || bounds[3] >= worldH - contactSkin) {
+                collisionAxis[1] = bounds[1] <= contactSkin ? TOP : BOTTOM;
                 // Only make changes to velocity if this object is not ignoring collisions for this axis
-                if(!parity.contains(collisionAxis[1])) p.velocity.y = staticCollisionCalc(p.velocity.y, staticCollisionPenalty);
+                if(!hasFlag(parity, collisionAxis[1])) p.velocity.y = staticCollisionCalc(p.velocity.y, staticCollisionPenalty);
             }
 
             // Clear collision flags if no collision was detected this frame
             if (collisionAxis[0] == NONE && collisionAxis[1] == NONE) {
-                if(parity.size() != 0) parity.clear();
+                sParity[p.ID] = 0;
                 continue;
             }
 
@@ -165,7 +546,7 @@ public class PhysEngine implements AppletAccessor
                 aY = "RIGHT";
                 angles[0] = 180.0f;
                 // If the object is out of bounds in the +X direction, limit its X value
-                outOfBoundX = bounds[3] > parent.width ? parent.width - ((bounds[2] - bounds[0]) / 2) : outOfBoundX;
+                outOfBoundX = bounds[3] > worldW ? worldW - ((bounds[2] - bounds[0]) / 2) : outOfBoundX;
             }
 
             if (collisionAxis[1] == TOP) {
@@ -177,12 +558,12 @@ public class PhysEngine implements AppletAccessor
                 aY = "BOTTOM";
                 angles[1] = 270.0f;
                 // If the object is out of bounds in the +Y direction, limit its Y value
-                outOfBoundY = bounds[3] > parent.height ? parent.height - ((bounds[3] - bounds[1]) / 2) : outOfBoundY;
+                outOfBoundY = bounds[3] > worldH ? worldH - ((bounds[3] - bounds[1]) / 2) : outOfBoundY;
             }
 
             // Call listener if collision is valid
             boolean ignored = true;
-            if((collisionAxis[0] != NONE && !parity.contains(collisionAxis[0])) || (collisionAxis[1] != NONE && !parity.contains(collisionAxis[1])))
+            if((collisionAxis[0] != NONE && !hasFlag(parity, collisionAxis[0])) || (collisionAxis[1] != NONE && !hasFlag(parity, collisionAxis[1])))
             {
                 // Calculate collision angle from collided bounds
                 float a;
@@ -190,8 +571,8 @@ public class PhysEngine implements AppletAccessor
                     a = ((angles[0] + angles[1]) / 2) % 180;
                 else a = angles[0] + angles[1];
 
-                // Pass angle to collision handler
-                p.collision(null, a);
+                // Record the collision for dispatch at the end of the tick
+                bus.record(p.ID, -1, a);
                 ignored = false;
             }else{
                 // If a collision was detected, but ignored due to parity, ensure that the objects remain within the simulation area
@@ -211,170 +592,330 @@ public class PhysEngine implements AppletAccessor
                                                             ignored ? "ignored collision with static bound(s)" : "collided with static bound(s)",
                                                             aX, aY));
 
-            // Clear flag list, it will be repopulated with still-valid flags
-            parity.clear();
-
-            // Re-add any still-active collisions to the index
-            if(collisionAxis[0] != NONE) parity.add(collisionAxis[0]);
-            if(collisionAxis[1] != NONE) parity.add(collisionAxis[1]);
+            // Replace the flag set with the still-active collisions
+            parity = 0;
+            if(collisionAxis[0] != NONE) parity |= 1 << collisionAxis[0];
+            if(collisionAxis[1] != NONE) parity |= 1 << collisionAxis[1];
+            sParity[p.ID] = parity;
         }
     }
 
     // Apply collision effects and velocity changes to objects that are colliding with each other
     private void dynamicCollision()
     {
-        // Run a rough collision check and pre-cull list to filter out ineligible candidates:
-
-        // Get the width of the largest simulated object and collect X-coordinates of all objects
-        float maxW = 0;
-        float[] xCoords = new float[simulated.size()];
-        for(int i = 0; i < simulated.size(); i++)
+        // Run a rough collision check with the broadphase to filter out ineligible candidates:
+        // collect the bounds of all objects into the flat bounds register, then sweep it for overlapping pairs.
+        // Bounds are padded by half of the contact skin on each side, so that touching objects are still reported.
+        int count = simulated.size();
+        float pad = contactSkin / 2.0f;
+        ensureBoundsCapacity(count);
+        simulated.toArray(bodies);
+        for(int i = 0; i < count; i++)
         {
-            PhysObject p = simulated.get(i);
-            float[] b = p.getBounds();
-            float w = b[2] - b[0];
-
-            if (w > maxW) maxW = w;
-            xCoords[i] = b[0];
+            float[] b = bodies[i].getBounds();
+            bMinX[i] = b[0] - pad;
+            bMinY[i] = b[1] - pad;
+            bMaxX[i] = b[2] + pad;
+            bMaxY[i] = b[3] + pad;
+            bLayer[i] = bodies[i].layer;
+            bMask[i] = bodies[i].mask;
         }
 
-        // Do a rough check of all objects against each other. If two objects are close enough to theoretically
-        // collide in the X-axis, add them to the pre-culled collision check list.
-        ArrayList<PhysObject> prox = new ArrayList<>();
-        for(int i = 0; i < xCoords.length; i++)
+        int pairs = broadphase.sweep(bMinX, bMinY, bMaxX, bMaxY, bLayer, bMask, count);
+
+        // Check detailed collision on culled candidate pairs
+        contactBatchCount = 0;
+        for(int i = 0; i < count; i++) contactCount[bodies[i].ID] = 0;
+        for(int i = 0; i < count; i++) islands[i] = i;
+        for(int i = 0; i < pairs; i++)
         {
-            float minX = xCoords[i];
-            for (int j = 0; j < xCoords.length; j++) {
-                if(j == i) continue; // Skip comparing to itself
-                float minXComp = xCoords[j];
-                if (Math.abs(minX - minXComp) <= maxW){
-                    if(!prox.contains(simulated.get(i))) prox.add(simulated.get(i));
-                    if(!prox.contains(simulated.get(j))) prox.add(simulated.get(j));
-                }
+            int ia = broadphase.getPairA(i);
+            int ib = broadphase.getPairB(i);
+            PhysObject p = bodies[ia];
+            PhysObject c = bodies[ib];
+
+            // Pairs of sleeping or frozen objects are assumed to still be in contact, and are only linked into the same island
+            if(inactive(p) && inactive(c)) {
+                addContact(p.ID, c.ID);
+                joinIslands(ia, ib);
+                continue;
             }
-        }
 
-        // Check detailed collision on culled candidates. Each entry is checked against all others in the array,
-        // skipping itself and any other entries that have already had their collision maps checked (to prevent
-        // double-checking).
-        boolean[] checked = new boolean[prox.size()];
-        for (int i = 0; i < prox.size(); i++)
-        {
-            PhysObject p = prox.get(i);
-            float[] b = p.getBounds();
+            // Check bounds collision on X and Y axes, collision is occurring if both are overlapping
+            boolean collision = colliding(p.coords.x, c.coords.x, bMaxX[ia] - bMinX[ia] - contactSkin, bMaxX[ib] - bMinX[ib] - contactSkin)
+                    && colliding(p.coords.y, c.coords.y, bMaxY[ia] - bMinY[ia] - contactSkin, bMaxY[ib] - bMinY[ib] - contactSkin);
 
-            // Check this object against all other objects in the culled array
-            for (int j = 0; j < prox.size(); j++)
-            {
-                if(checked[j]) continue; // Skip already-checked objects
+            // Skip to next pair if these objects are not colliding, their parity flags will be cleared below
+            if(!collision) continue;
 
-                PhysObject c = prox.get(j);
-                float[] bc = c.getBounds();
+            // Record the contact so that its parity flags survive the pruning pass, and link both objects into the same island
+            addContact(p.ID, c.ID);
+            joinIslands(ia, ib);
 
-                if(c == p) continue; // Skip checking itself
+            // Add the contact to the solver batch. Every touching pair is solved on every tick, since the solver only acts on
+            // objects that are moving towards each other or overlapping, and leaves resting contacts alone.
+            addSolverContact(ia, ib);
 
-                // Check bounds collision on X and Y axes, collision is occurring if both are overlapping
-                boolean collision = colliding(p.coords.x, c.coords.x, b[2] - b[0], bc[2] - bc[0])
-                        && colliding(p.coords.y, c.coords.y, b[3] - b[1], bc[3] - bc[1]);
+            // Calculate angle of collision and vector path from the coordinates of both objects
+            PVector tri = PVector.sub(c.coords, p.coords);
+            tri.normalize();
+            float a = (float)Math.toDegrees(Math.atan2(tri.y, tri.x));
 
-                // Get parity registers for both objects
-                ArrayList<PhysObject> parityS = dCollisionParity.get(p);
-                ArrayList<PhysObject> parityC = dCollisionParity.get(c);
+            // Set ignore flag if either object is present in the other's parity check array
+            boolean ignored = listContains(dParity[p.ID], dParityCount[p.ID], c.ID) || listContains(dParity[c.ID], dParityCount[c.ID], p.ID);
 
-                // Skip to next object and clear flag for this object if it is not colliding
-                if(!collision){
-                    parityS.remove(c);
-                    parityC.remove(p);
-                    continue;
-                }
+            // Log collision event
+            log.logEvent(LogEventLevel.DEBUG, String.format("%s between objects: %s (%1.3f, %1.3f) and %s (%1.3f, %1.3f); angle %.3f.",
+                                                            ignored ? "Ignored collision" : "Collision", p.UID, bMinX[ia], bMinY[ia], c.UID, bMinX[ib], bMinY[ib], a));
 
-                // Calculate angle of collision and vector path from the coordinates of both objects
-                PVector tri = PVector.sub(c.coords, p.coords);
-                tri.normalize();
-                float a = (float)Math.toDegrees(Math.atan2(tri.y, tri.x));
+            // Continue to next object if parity flags are already set for this object, so that ongoing contacts only raise one event
+            if(ignored) continue;
 
-                // Calculate velocity change in both axes
-                float[] vX = dynamicCollisionCalc(p.velocity.x, c.velocity.x, tri.x);
-                float[] vY = dynamicCollisionCalc(p.velocity.y, c.velocity.y, tri.y);
+            // Since we now know the collision is valid (no parity flags were set), set the flags before continuing
+            dParity[p.ID] = listAdd(dParity[p.ID], dParityCount[p.ID] ++, c.ID);
+            dParity[c.ID] = listAdd(dParity[c.ID], dParityCount[c.ID] ++, p.ID);
 
-                // Set ignore flag if either object is present in the other's parity check array
-                boolean ignored = (parityS.contains(c) || parityC.contains(p));
+            // Record the collision for both objects, reversing the angle of the collision for the second object
+            bus.record(p.ID, c.ID, a);
+            bus.record(c.ID, p.ID, 360.0f - a);
+        }
 
-                // Log collision event
-                log.logEvent(LogEventLevel.DEBUG, String.format("%s between objects: %s (%1.3f, %1.3f) and %s (%1.3f, %1.3f); angle %.3f.",
-                                                                ignored ? "Ignored collision" : "Collision", p.UID, b[0], b[1], c.UID, bc[0], bc[1], a));
+        solveContacts();
+        if(sleepingEnabled) updateIslands(count);
+
+        // Clear parity flags for any pairs that are no longer in contact
+        for(int i = 0; i < count; i++) {
+            int ID = bodies[i].ID;
+            int[] parity = dParity[ID];
+            int n = 0;
+            for(int j = 0; j < dParityCount[ID]; j++) if(listContains(contacts[ID], contactCount[ID], parity[j])) parity[n ++] = parity[j];
+            dParityCount[ID] = n;
+            bodies[i] = null;
+        }
+    }
 
-                // Continue to next object if parity flags are already set for this object
-                if(ignored) continue;
+    // Resolve all contacts in the solver batch with sequential impulses, then push overlapping objects apart
+    private void solveContacts()
+    {
+        if(contactBatchCount == 0) return;
+
+        // Objects hit by a moving object bounce off it with the specified restitution,
+        // while objects that are already separating are left alone
+        float restitution = Math.max(0.0f, 1.0f - dynamicCollisionPenalty);
+        for(int k = 0; k < contactBatchCount; k++) {
+            float rv = relativeNormalVelocity(k);
+            cTarget[k] = rv < 0.0f ? -restitution * rv : 0.0f;
+            cImpulse[k] = 0.0f;
+        }
 
-                // Since we now know the collision is valid (no parity flags were set), set the flags before continuing
-                parityS.add(c);
-                parityC.add(p);
+        // Repeatedly apply the impulse needed to reach each contact's target velocity, so that contacts sharing an object
+        // converge on a solution that satisfies all of them. The total impulse on each contact may only ever push apart.
+        for(int n = 0; n < solverIterations; n++)
+        {
+            for(int k = 0; k < contactBatchCount; k++)
+            {
+                int a = cA[k];
+                int b = cB[k];
+                float mSum = invMass[a] + invMass[b];
+                if(mSum == 0.0f) continue;
+
+                float j = (cTarget[k] - relativeNormalVelocity(k)) / mSum;
+                float total = Math.max(0.0f, cImpulse[k] + j);
+                j = total - cImpulse[k];
+                cImpulse[k] = total;
+
+                PhysObject pa = bodies[a];
+                PhysObject pb = bodies[b];
+                pa.velocity.x -= j * invMass[a] * cNX[k];
+                pa.velocity.y -= j * invMass[a] * cNY[k];
+                pb.velocity.x += j * invMass[b] * cNX[k];
+                pb.velocity.y += j * invMass[b] * cNY[k];
+            }
+        }
 
-                // Pass modified velocity back to objects
-                p.velocity.x = vX[0];
-                c.velocity.x = vX[1];
+        // Remove a fraction of any penetration beyond the contact skin by moving both objects apart in inverse proportion to their masses
+        for(int k = 0; k < contactBatchCount; k++)
+        {
+            int a = cA[k];
+            int b = cB[k];
+            float mSum = invMass[a] + invMass[b];
+            float depth = cPen[k] - contactSkin;
+            if(mSum == 0.0f || depth <= 0.0f) continue;
+
+            float correction = (depth * positionCorrection) / mSum;
+            bodies[a].coords.x -= correction * invMass[a] * cNX[k];
+            bodies[a].coords.y -= correction * invMass[a] * cNY[k];
+            bodies[b].coords.x += correction * invMass[b] * cNX[k];
+            bodies[b].coords.y += correction * invMass[b] * cNY[k];
+        }
+    }
 
-                p.velocity.y = vY[0];
-                c.velocity.y = vY[1];
+    // Wake any island containing an awake object, then put islands to sleep if all of their objects have been at rest for long enough
+    private void updateIslands(int count)
+    {
+        // Update rest counters, then flag each island that has any awake objects, and each that has an object still in motion.
+        // Flags are stored at the index of each island's root object.
+        boolean[] moving = islandMoving;
+        boolean[] awake = islandAwake;
+        for(int i = 0; i < count; i++) {
+            moving[i] = false;
+            awake[i] = false;
+        }
+
+        float threshold = sleepThreshold * sleepThreshold;
+        for(int i = 0; i < count; i++)
+        {
+            PhysObject p = bodies[i];
+            if(p.asleep) continue;
 
-                // Call collision listeners on both objects, reversing the angle of the collision for the second object
-                p.collision(c, a);
-                c.collision(p, 360.0f - a);
+            // Frozen objects keep their rest counters until they are next updated
+            if(!frozen[p.ID]) {
+                if((p.velocity.x * p.velocity.x) + (p.velocity.y * p.velocity.y) < threshold) p.restTicks ++;
+                else p.restTicks = 0;
             }
 
-            // This object has been checked against all other objects in the array, flag it as such
-            checked[i] = true;
+            int root = findIsland(i);
+            awake[root] = true;
+            if(p.restTicks < sleepTicks) moving[root] = true;
+        }
+
+        for(int i = 0; i < count; i++)
+        {
+            PhysObject p = bodies[i];
+            int root = findIsland(i);
+            if(!awake[root]) continue;
+
+            if(moving[root]) {
+                // Wake sleeping objects that are touching an object in motion
+                if(p.asleep) {
+                    p.wake();
+                    log.logEvent(LogEventLevel.DEBUG, String.format("Object %s woken by contact.", p.UID));
+                }
+            } else if(!p.asleep) {
+                // Put objects to sleep once their entire island has settled
+                p.asleep = true;
+                p.velocity.set(0.0f, 0.0f);
+                log.logEvent(LogEventLevel.DEBUG, String.format("Object %s put to sleep.", p.UID));
+            }
         }
     }
 
-    // Update each object's velocity based on static gravity, if there is any
-    private void staticGravity()
+    // Snapshot the simulation list and advance the integration state of each object, without writing it back yet
+    private void integrate()
     {
-        // Simple increment operation on each object's velocity
-        for(PhysObject p : simulated)
-        {
-            p.velocity.x += gravity.x;
-            p.velocity.y += gravity.y;
+        int count = simulated.size();
+        ensureBoundsCapacity(count);
+        simulated.toArray(bodies);
+        store.load(bodies, count);
+
+        // Leave frozen objects in place, and advance distant objects that are being updated this tick by all of the ticks they skipped
+        if(partitioned) {
+            for(int i = 0; i < count; i++) {
+                int ID = bodies[i].ID;
+                if(frozen[ID]) store.fixed[i] = true;
+                else if(distantTickInterval > 1 && !nearFocus(bodies[i])) store.step[i] = distantTickInterval;
+            }
         }
+
+        integrator.integrate(store, this::accelerate, timestep);
     }
 
-    // Apply all objects' gravity to each other based on their masses and distances from each other
-    private void dynamicGravity()
+    // Calculate the acceleration of each object from static gravity, and from all other objects' gravity based on their
+    // masses and distances from each other, assuming that all objects are at the provided positions
+    private void accelerate(BodyStore store, float[] px, float[] py, float[] ax, float[] ay)
     {
-        // Run through each simulated object, comparing to every other object. Not a bidirectional comparison,
-        // compared (or target) object is not modified during comparison to avoid double-modification.
-        for(PhysObject p : simulated)
+        for(int i = 0; i < store.count; i++)
+        {
+            ax[i] = gravity.x;
+            ay[i] = gravity.y;
+        }
+
+        // Skip the pairwise pass entirely if dynamic gravity is disabled
+        if(dynamicGravityConstant == 0.0f) return;
+
+        // Run through each object, comparing to every other object. Sleeping objects still attract others,
+        // but their own acceleration is ignored by the integrator.
+        for(int i = 0; i < store.count; i++)
         {
-            for(PhysObject c : simulated)
+            if(store.fixed[i]) continue;
+
+            for(int j = 0; j < store.count; j++)
             {
-                // Skip comparing to itself
-                if(p == c) continue;
-
-                // Calculate distance and gravitational force between the two objects
-                float dist = p.coords.dist(c.coords);
-                float force = (dynamicGravityConstant * p.mass * c.mass)/(float)Math.pow(dist, 2);
-
-                // Normalize vector, calculate force distribution
-                PVector fVector = PVector.sub(c.coords, p.coords);
-                fVector.normalize();
-                float fX = force * fVector.x;
-                float fY = force * fVector.y;
-
-                // Apply force delta to target object
-                p.velocity.x += fX;
-                p.velocity.y += fY;
+                // Skip comparing to itself, or to objects at the same position, whose direction is undefined
+                if(i == j) continue;
+                float dx = px[j] - px[i];
+                float dy = py[j] - py[i];
+                float distSq = (dx * dx) + (dy * dy);
+                if(distSq == 0.0f) continue;
+
+                // Calculate gravitational force between the two objects, then distribute it along the normalized vector between them
+                float force = (dynamicGravityConstant * store.mass[i] * store.mass[j]) / distSq;
+                float dist = (float)Math.sqrt(distSq);
+                ax[i] += force * (dx / dist);
+                ay[i] += force * (dy / dist);
             }
         }
     }
 
-    // Update each object's position based on velocity
+    // Find the earliest point of contact along the path of each fast-moving object, and limit the distance that it
+    // and anything it would hit may travel this tick to that point. Slow-moving objects are left to the discrete checks.
+    private void sweptCollision()
+    {
+        // Collect the bounds of all objects, expanded to cover the full distance that they would travel this tick.
+        // Uses the snapshot taken by the integration pass.
+        int count = store.count;
+        for(int i = 0; i < count; i++)
+        {
+            PhysObject p = bodies[i];
+            float[] b = p.getBounds();
+            float dx = displacementX(i);
+            float dy = displacementY(i);
+            bMinX[i] = b[0];
+            bMinY[i] = b[1];
+            bMaxX[i] = b[2];
+            bMaxY[i] = b[3];
+            sMinX[i] = b[0] + Math.min(0.0f, dx);
+            sMinY[i] = b[1] + Math.min(0.0f, dy);
+            sMaxX[i] = b[2] + Math.max(0.0f, dx);
+            sMaxY[i] = b[3] + Math.max(0.0f, dy);
+            bLayer[i] = p.layer;
+            bMask[i] = p.mask;
+            toi[i] = fastMoving(i) ? staticTimeOfImpact(i) : 1.0f;
+        }
+
+        // Sweep the expanded bounds for candidate pairs, then find the exact time of impact for any pair involving a fast mover
+        int pairs = sweptPhase.sweep(sMinX, sMinY, sMaxX, sMaxY, bLayer, bMask, count);
+        for(int i = 0; i < pairs; i++)
+        {
+            int ia = sweptPhase.getPairA(i);
+            int ib = sweptPhase.getPairB(i);
+            if(!fastMoving(ia) && !fastMoving(ib)) continue;
+
+            float t = dynamicTimeOfImpact(ia, ib);
+            if(t >= 1.0f) continue;
+
+            // Stop both objects at the point of contact, so that the contact is picked up by the discrete checks next tick
+            toi[ia] = Math.min(toi[ia], t);
+            toi[ib] = Math.min(toi[ib], t);
+            log.logEvent(LogEventLevel.DEBUG, String.format("Swept contact between objects: %s and %s at t=%.3f.", bodies[ia].UID, bodies[ib].UID, t));
+        }
+    }
+
+    // Write the integrated position and velocity of each object back to it, limiting the distance travelled
+    // to any contacts found by the swept collision pass
     private void updatePosition()
     {
-        for(PhysObject p : simulated)
+        for(int i = 0; i < store.count; i++)
         {
-            p.coords.y += p.velocity.y;
-            p.coords.x += p.velocity.x;
+            PhysObject p = bodies[i];
+            bodies[i] = null;
+            if(p.asleep) continue;
+
+            float t = continuousCollision ? toi[i] : 1.0f;
+            p.coords.x = store.x0[i] + (displacementX(i) * t);
+            p.coords.y = store.y0[i] + (displacementY(i) * t);
+            p.velocity.x = store.vx[i];
+            p.velocity.y = store.vy[i];
         }
     }
 
@@ -382,6 +923,192 @@ public class PhysEngine implements AppletAccessor
     // UTILITY METHODS
     //
 
+    // Expand the snapshot and bounds registers if they are too small to hold the specified number of objects
+    private void ensureBoundsCapacity(int count)
+    {
+        if(bodies.length >= count) return;
+        int size = Math.max(count, bodies.length * 2);
+        bodies = new PhysObject[size];
+        bMinX = new float[size];
+        bMinY = new float[size];
+        bMaxX = new float[size];
+        bMaxY = new float[size];
+        bLayer = new int[size];
+        bMask = new int[size];
+        sMinX = new float[size];
+        sMinY = new float[size];
+        sMaxX = new float[size];
+        sMaxY = new float[size];
+        toi = new float[size];
+        islands = new int[size];
+        islandMoving = new boolean[size];
+        islandAwake = new boolean[size];
+        invMass = new float[size];
+    }
+
+    // Flag objects in distant chunks as frozen unless their chunk is scheduled for an update this tick.
+    // Chunk updates are staggered across ticks, so that the cost of distant chunks is spread out evenly.
+    private void updatePartitions()
+    {
+        tickCount ++;
+        for(PhysObject p : simulated)
+        {
+            if(!partitioned || distantTickInterval <= 1 || nearFocus(p)) {
+                frozen[p.ID] = false;
+                continue;
+            }
+
+            int cx = (int)Math.floor(p.coords.x / chunkSize);
+            int cy = (int)Math.floor(p.coords.y / chunkSize);
+            frozen[p.ID] = Math.floorMod(tickCount + (cx * 7) + (cy * 13), distantTickInterval) != 0;
+        }
+    }
+
+    // Check if the specified object is within the active chunk radius of the focus point
+    private boolean nearFocus(PhysObject p)
+    {
+        int dx = (int)Math.floor(p.coords.x / chunkSize) - (int)Math.floor(focusX / chunkSize);
+        int dy = (int)Math.floor(p.coords.y / chunkSize) - (int)Math.floor(focusY / chunkSize);
+        return Math.abs(dx) <= activeChunkRadius && Math.abs(dy) <= activeChunkRadius;
+    }
+
+    // Check if the specified object is excluded from simulation this tick, either because it is asleep or frozen
+    private boolean inactive(PhysObject p){
+        return p.asleep || frozen[p.ID];
+    }
+
+    // Get the object holding the specified ID, including objects whose removal is still pending
+    PhysObject getSlot(int ID){
+        return ID < 0 || ID >= slotCount ? null : slots[ID];
+    }
+
+    // Record a contact between two objects in both objects' contact lists
+    private void addContact(int a, int b)
+    {
+        contacts[a] = listAdd(contacts[a], contactCount[a] ++, b);
+        contacts[b] = listAdd(contacts[b], contactCount[b] ++, a);
+    }
+
+    // Check if the specified static collision flag set contains the specified static bound
+    private static boolean hasFlag(int flags, int bound){
+        return (flags & (1 << bound)) != 0;
+    }
+
+    // Check if the first entries of the specified ID list contain the specified ID
+    private static boolean listContains(int[] list, int count, int ID)
+    {
+        for(int i = 0; i < count; i++) if(list[i] == ID) return true;
+        return false;
+    }
+
+    // Store an ID at the specified index of an ID list, returning the list, or an expanded copy of it if it was too small
+    private static int[] listAdd(int[] list, int index, int ID)
+    {
+        if(index >= list.length) list = grow(list);
+        list[index] = ID;
+        return list;
+    }
+
+    // Get a copy of the specified array with twice the length
+    private static int[] grow(int[] array)
+    {
+        int[] tmp = new int[Math.max(4, array.length * 2)];
+        System.arraycopy(array, 0, tmp, 0, array.length);
+        return tmp;
+    }
+
+    private static float[] grow(float[] array)
+    {
+        float[] tmp = new float[Math.max(4, array.length * 2)];
+        System.arraycopy(array, 0, tmp, 0, array.length);
+        return tmp;
+    }
+
+    // Find the root of the island containing the object at the specified snapshot index, flattening the path to it
+    private int findIsland(int i)
+    {
+        while(islands[i] != i) {
+            islands[i] = islands[islands[i]];
+            i = islands[i];
+        }
+        return i;
+    }
+
+    // Merge the islands containing the objects at the specified snapshot indices
+    private void joinIslands(int a, int b)
+    {
+        int ra = findIsland(a);
+        int rb = findIsland(b);
+        if(ra != rb) islands[rb] = ra;
+    }
+
+    // Get the distance that the object at the specified snapshot index would travel along each axis this tick if unobstructed
+    private float displacementX(int i){
+        return store.x[i] - store.x0[i];
+    }
+
+    private float displacementY(int i){
+        return store.y[i] - store.y0[i];
+    }
+
+    // Check if the object at the specified snapshot index will move more than half of its own size in either axis this tick
+    private boolean fastMoving(int i)
+    {
+        return Math.abs(displacementX(i)) > (bMaxX[i] - bMinX[i]) / 2.0f
+                || Math.abs(displacementY(i)) > (bMaxY[i] - bMinY[i]) / 2.0f;
+    }
+
+    // Calculate the fraction of its displacement that the object at the specified snapshot index may travel before
+    // touching one of the static bounds. Returns 1 if it will not reach any bound this tick, or is already past one.
+    private float staticTimeOfImpact(int i)
+    {
+        float dx = displacementX(i);
+        float dy = displacementY(i);
+        float t = 1.0f;
+
+        if(dx < 0.0f && bMinX[i] > 0.0f) t = Math.min(t, -bMinX[i] / dx);
+        else if(dx > 0.0f && bMaxX[i] < getWorldWidth()) t = Math.min(t, (getWorldWidth() - bMaxX[i]) / dx);
+
+        if(dy < 0.0f && bMinY[i] > 0.0f) t = Math.min(t, -bMinY[i] / dy);
+        else if(dy > 0.0f && bMaxY[i] < getWorldHeight()) t = Math.min(t, (getWorldHeight() - bMaxY[i]) / dy);
+
+        return t;
+    }
+
+    // Calculate the fraction of their displacements that the objects at the specified snapshot indices may travel before
+    // touching each other, using a swept AABB test on their relative motion. Returns 1 if they will not touch this tick,
+    // or if they are already overlapping, in which case the discrete checks are responsible for them.
+    private float dynamicTimeOfImpact(int ia, int ib)
+    {
+        // Treat the second object as stationary, and move the first by the difference in their displacements
+        float dx = displacementX(ia) - displacementX(ib);
+        float dy = displacementY(ia) - displacementY(ib);
+
+        float[] x = axisTimeOfImpact(bMinX[ia], bMaxX[ia], bMinX[ib], bMaxX[ib], dx);
+        float[] y = axisTimeOfImpact(bMinY[ia], bMaxY[ia], bMinY[ib], bMaxY[ib], dy);
+        if(x == null || y == null) return 1.0f;
+
+        // The objects touch once they have entered each other's range in both axes, provided they have not left either first
+        float entry = Math.max(x[0], y[0]);
+        float exit = Math.min(x[1], y[1]);
+        if(entry > exit || entry < 0.0f || entry >= 1.0f) return 1.0f;
+
+        return entry;
+    }
+
+    // Calculate the times at which a moving range enters and leaves a stationary range along one axis, in the order [entry, exit].
+    // Returns null if the ranges never overlap, and an infinite interval if there is no movement but they already overlap.
+    private float[] axisTimeOfImpact(float min1, float max1, float min2, float max2, float d)
+    {
+        if(d == 0.0f) {
+            if(max1 < min2 || min1 > max2) return null;
+            return new float[]{Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY};
+        }
+
+        if(d > 0.0f) return new float[]{(min2 - max1) / d, (max2 - min1) / d};
+        else return new float[]{(max2 - min1) / d, (min2 - max1) / d};
+    }
+
     // Calculate velocity reversal, zero-velocity clipping, and collision penalties
     private float staticCollisionCalc(float velocity, float penalty)
     {
@@ -396,43 +1123,62 @@ public class PhysEngine implements AppletAccessor
         return v;
     }
 
-    // Calculate velocity reversal, zero-velocity clipping, and collision penalties,
-    // along with velocity transfer
-    private float[] dynamicCollisionCalc(float v1, float v2, float ratio)
+    // Add the contact between the objects at the specified snapshot indices to the solver batch. The contact normal is taken
+    // along the axis of least penetration, which keeps boxes resting on each other from sliding sideways.
+    private void addSolverContact(int a, int b)
     {
-        float[] velocities = new float[2];
-        float r = Math.abs(ratio); // Ensure ratio is positive
-
-        // Store velocities to array for modification
-        velocities[0] = v1;
-        velocities[1] = v2;
-
-        // Calculate bidirectional transfers
-        float t12 = v1 * (r * dynamicCollisionTransfer ); // energy transfer from v1 to v2
-        float t21 = v2 * (r * dynamicCollisionTransfer ); // inverse
-
-        // Add delta velocities to target objects
-        velocities[0] += t21;
-        velocities[1] += t12;
+        if(contactBatchCount == cA.length)
+        {
+            cA = grow(cA);
+            cB = grow(cB);
+            cNX = grow(cNX);
+            cNY = grow(cNY);
+            cPen = grow(cPen);
+            cTarget = grow(cTarget);
+            cImpulse = grow(cImpulse);
+        }
 
-        // Maintain conservation of energy; remove added velocities from their source objects
-        velocities[0] -= t12;
-        velocities[1] -= t21;
+        PhysObject pa = bodies[a];
+        PhysObject pb = bodies[b];
+        float dx = pb.coords.x - pa.coords.x;
+        float dy = pb.coords.y - pa.coords.y;
+        float overlapX = ((bMaxX[a] - bMinX[a] + bMaxX[b] - bMinX[b]) / 2.0f) - contactSkin - Math.abs(dx);
+        float overlapY = ((bMaxY[a] - bMinY[a] + bMaxY[b] - bMinY[b]) / 2.0f) - contactSkin - Math.abs(dy);
+
+        int k = contactBatchCount ++;
+        cA[k] = a;
+        cB[k] = b;
+        if(overlapX < overlapY) {
+            cNX[k] = dx < 0.0f ? -1.0f : 1.0f;
+            cNY[k] = 0.0f;
+            cPen[k] = overlapX;
+        } else {
+            cNX[k] = 0.0f;
+            cNY[k] = dy < 0.0f ? -1.0f : 1.0f;
+            cPen[k] = overlapY;
+        }
 
-        // Deduct penalty from collision
-        velocities[0] -= (velocities[0] * dynamicCollisionPenalty);
-        velocities[1] -= (velocities[1] * dynamicCollisionPenalty);
+        invMass[a] = pa.mass > 0.0f ? 1.0f / pa.mass : 0.0f;
+        invMass[b] = pb.mass > 0.0f ? 1.0f / pb.mass : 0.0f;
+    }
 
-        return velocities;
+    // Get the velocity of the second object in the specified solver contact relative to the first, along the contact normal.
+    // Negative values mean that the objects are moving towards each other.
+    private float relativeNormalVelocity(int k)
+    {
+        PhysObject pa = bodies[cA[k]];
+        PhysObject pb = bodies[cB[k]];
+        return ((pb.velocity.x - pa.velocity.x) * cNX[k]) + ((pb.velocity.y - pa.velocity.y) * cNY[k]);
     }
 
     // Checks collision between two objects with the provided center coordinates and bounds.
     private boolean colliding(float c1, float c2, float w1, float w2)
     {
         // Check distance between the center of both objects. If the distance is less than the combined width
-        // of both objects (divided by 2), they are colliding in that axis.
+        // of both objects (divided by 2), they are colliding in that axis. Objects within the contact skin distance
+        // are counted as touching, so that objects stopped at a swept contact are picked up on the next tick.
         float dist = Math.abs(c1 - c2);
-        float size = (w1 / 2.0f) + (w2 / 2.0f);
+        float size = (w1 / 2.0f) + (w2 / 2.0f) + contactSkin;
 
         return dist <= size;
     }
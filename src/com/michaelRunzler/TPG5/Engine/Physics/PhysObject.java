@@ -18,6 +18,12 @@ public abstract class PhysObject implements Renderable
     public PVector velocity;
     public float mass;
     public ArrayList<CollisionEvent> handlers;
+    public boolean asleep; // Set by the physics engine while this object is at rest and excluded from simulation
+    public int restTicks; // Number of consecutive ticks that this object has been moving slower than the engine's sleep threshold
+    public int layer; // Collision layer bits of this object, used to filter collisions and collision events. Defaults to layer 1.
+    public int mask; // Layer bits that this object collides with. Defaults to all layers.
+    public int ID; // Dense integer ID assigned by the physics engine that this object was added to, or -1 if none
+    public long handle; // Handle assigned by the physics engine that this object was added to, or PhysEngine.INVALID_HANDLE if none
 
     /**
      * Default constructor. Sets all values to their defaults.
@@ -29,6 +35,12 @@ public abstract class PhysObject implements Renderable
         velocity = new PVector();
         mass = 1.0f;
         handlers = new ArrayList<>();
+        asleep = false;
+        restTicks = 0;
+        layer = 1;
+        mask = 0xFFFFFFFF;
+        ID = -1;
+        handle = PhysEngine.INVALID_HANDLE;
     }
 
     /**
@@ -40,6 +52,15 @@ public abstract class PhysObject implements Renderable
         return (velocity.x + velocity.y) * mass;
     }
 
+    /**
+     * Wakes this object if it is asleep, returning it to full simulation on the next tick.
+     * Objects are also woken automatically if their velocity is changed while they are asleep.
+     */
+    public void wake(){
+        asleep = false;
+        restTicks = 0;
+    }
+
     /**
      * Gets the vertex coordinates of the rectangle that would enclose the bounds of this object.
      * By default, returns this object's coordinates for both vertices, making a zero-width/height rectangle.
@@ -61,6 +82,7 @@ public abstract class PhysObject implements Renderable
 
     /**
      * Called whenever this object has collided with another physics object or static surface.
+     * Collisions are dispatched after the end of the physics tick in which they occurred, so it is safe to modify the simulation from here.
      * May be used to add {@link RenderObject}s to the render pipeline for the next call to {@link #render()},
      * or to change properties of the object itself, such as mass.
      * By default, calls any collision callbacks, if there are any.
@@ -0,0 +1,81 @@
+package com.michaelRunzler.TPG5.Engine.Physics;
+
+/**
+ * Classical fourth-order Runge-Kutta integrator. Samples the derivatives of position and velocity at four points
+ * across the step and combines them in a weighted average. The most accurate available integrator for a given
+ * step length, at the cost of four acceleration evaluations per step.
+ */
+public class RK4 implements Integrator
+{
+    private float[] px; // Sample position scratch registers
+    private float[] py;
+    private float[][] kx; // Velocity samples (derivative of position) for each of the four stages
+    private float[][] ky;
+    private float[][] kvx; // Acceleration samples (derivative of velocity) for each of the four stages
+    private float[][] kvy;
+
+    /**
+     * Default constructor.
+     */
+    public RK4()
+    {
+        px = new float[0];
+        py = new float[0];
+        kx = new float[4][0];
+        ky = new float[4][0];
+        kvx = new float[4][0];
+        kvy = new float[4][0];
+    }
+
+    @Override
+    public void integrate(BodyStore store, AccelerationField field, float dt)
+    {
+        int n = store.count;
+        if(px.length < n) {
+            px = new float[n];
+            py = new float[n];
+            kx = new float[4][n];
+            ky = new float[4][n];
+            kvx = new float[4][n];
+            kvy = new float[4][n];
+        }
+
+        // First stage samples the start of the step
+        for(int i = 0; i < n; i++) {
+            kx[0][i] = store.vx[i];
+            ky[0][i] = store.vy[i];
+        }
+        field.evaluate(store, store.x0, store.y0, kvx[0], kvy[0]);
+
+        // Remaining stages sample the midpoint twice, then the end of the step, each using the previous stage's derivatives
+        for(int k = 1; k < 4; k++)
+        {
+            float fraction = k == 3 ? 1.0f : 0.5f;
+            for(int i = 0; i < n; i++)
+            {
+                if(store.fixed[i]) {
+                    px[i] = store.x0[i];
+                    py[i] = store.y0[i];
+                    continue;
+                }
+                float h = dt * store.step[i] * fraction;
+                px[i] = store.x0[i] + (kx[k - 1][i] * h);
+                py[i] = store.y0[i] + (ky[k - 1][i] * h);
+                kx[k][i] = store.vx[i] + (kvx[k - 1][i] * h);
+                ky[k][i] = store.vy[i] + (kvy[k - 1][i] * h);
+            }
+            field.evaluate(store, px, py, kvx[k], kvy[k]);
+        }
+
+        // Combine the stages with weights of 1, 2, 2, 1
+        for(int i = 0; i < n; i++)
+        {
+            if(store.fixed[i]) continue;
+            float w = (dt * store.step[i]) / 6.0f;
+            store.x[i] = store.x0[i] + w * (kx[0][i] + (2 * kx[1][i]) + (2 * kx[2][i]) + kx[3][i]);
+            store.y[i] = store.y0[i] + w * (ky[0][i] + (2 * ky[1][i]) + (2 * ky[2][i]) + ky[3][i]);
+            store.vx[i] += w * (kvx[0][i] + (2 * kvx[1][i]) + (2 * kvx[2][i]) + kvx[3][i]);
+            store.vy[i] += w * (kvy[0][i] + (2 * kvy[1][i]) + (2 * kvy[2][i]) + kvy[3][i]);
+        }
+    }
+}
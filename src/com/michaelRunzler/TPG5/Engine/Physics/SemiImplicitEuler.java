@@ -0,0 +1,42 @@
+package com.michaelRunzler.TPG5.Engine.Physics;
+
+/**
+ * Semi-implicit (symplectic) Euler integrator. Velocity is updated from the start-of-step acceleration first,
+ * then position is updated from the new velocity. Cheapest available integrator, requiring one acceleration
+ * evaluation per step. This is the engine's default, and matches its original behavior.
+ */
+public class SemiImplicitEuler implements Integrator
+{
+    private float[] ax; // Acceleration scratch registers
+    private float[] ay;
+
+    /**
+     * Default constructor.
+     */
+    public SemiImplicitEuler()
+    {
+        ax = new float[0];
+        ay = new float[0];
+    }
+
+    @Override
+    public void integrate(BodyStore store, AccelerationField field, float dt)
+    {
+        if(ax.length < store.count) {
+            ax = new float[store.count];
+            ay = new float[store.count];
+        }
+
+        field.evaluate(store, store.x0, store.y0, ax, ay);
+
+        for(int i = 0; i < store.count; i++)
+        {
+            if(store.fixed[i]) continue;
+            float h = dt * store.step[i];
+            store.vx[i] += ax[i] * h;
+            store.vy[i] += ay[i] * h;
+            store.x[i] = store.x0[i] + (store.vx[i] * h);
+            store.y[i] = store.y0[i] + (store.vy[i] * h);
+        }
+    }
+}
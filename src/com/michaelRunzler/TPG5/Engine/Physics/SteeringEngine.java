@@ -0,0 +1,223 @@
+package com.michaelRunzler.TPG5.Engine.Physics;
+
+import java.util.Random;
+
+/**
+ * Data-oriented steering system for AI-controlled {@link PhysObject}s.
+ * Agent positions and velocities are copied into flat primitive arrays once per call to {@link #steer(PhysObject, float)},
+ * processed in sequential passes, and written back to the agents afterwards. No per-agent objects are allocated during steering.
+ * Separation between agents is calculated from the overlapping pairs found by a {@link Broadphase} sweep over each agent's
+ * separation radius, so only nearby agents are compared against each other.
+ */
+public class SteeringEngine
+{
+    private static final int INITIAL_CAPACITY = 8;
+
+    private PhysObject[] agents; // Managed agent objects
+    private int count; // Number of valid entries in the agent register
+    private float[] px; // Agent positions and velocities, indexed in the same order as the agent register
+    private float[] py;
+    private float[] vx;
+    private float[] vy;
+    private float[] minX; // Separation bounds for each agent, passed to the broadphase
+    private float[] minY;
+    private float[] maxX;
+    private float[] maxY;
+    private Broadphase broadphase;
+    private Random boostGenerator; // RNG used for boost interval calculation
+    private int framesSinceBoost; // How many ticks have elapsed since an agent last boosted
+
+    public float acceleration; // How fast (PPF^2) agents will accelerate towards their target
+    public float speedCap; // How fast (PPF^2) agents may go (total velocity) before they are speed-capped
+    public float separationFactor; // Fraction of the tracking acceleration used to steer agents away from each other
+    public float separationRadius; // Distance from an agent's center within which other agents will repel it
+    public int boostInterval; // How many ticks (max) agents will wait between tracking boosts
+    public int boostMagnitude; // Maximum divisor for boost interval. Upshifted by 1.
+
+    /**
+     * Default constructor. Sets up a steering system with no agents.
+     */
+    public SteeringEngine()
+    {
+        agents = new PhysObject[0];
+        count = 0;
+        px = new float[0];
+        py = new float[0];
+        vx = new float[0];
+        vy = new float[0];
+        minX = new float[0];
+        minY = new float[0];
+        maxX = new float[0];
+        maxY = new float[0];
+        ensureCapacity(INITIAL_CAPACITY);
+        broadphase = new Broadphase();
+        boostGenerator = new Random(System.currentTimeMillis());
+        framesSinceBoost = 0;
+
+        acceleration = 0.0f;
+        speedCap = Float.MAX_VALUE;
+        separationFactor = 0.25f;
+        separationRadius = 0.0f;
+        boostInterval = Integer.MAX_VALUE;
+        boostMagnitude = 1;
+    }
+
+    /**
+     * Adds an agent to the steering system.
+     * @param p the object to steer
+     */
+    public void addAgent(PhysObject p)
+    {
+        ensureCapacity(count + 1);
+        agents[count] = p;
+        count ++;
+    }
+
+    /**
+     * Removes all agents from the steering system.
+     */
+    public void clearAgents()
+    {
+        for(int i = 0; i < count; i++) agents[i] = null;
+        count = 0;
+    }
+
+    /**
+     * Gets the number of agents currently managed by the steering system.
+     */
+    public int getAgentCount(){
+        return count;
+    }
+
+    /**
+     * Resets the boost timer of the steering system.
+     */
+    public void reset(){
+        framesSinceBoost = 0;
+    }
+
+    /**
+     * Steers all agents towards the target object and away from each other, limits their speed, and occasionally
+     * issues a boost towards the target to a single agent.
+     * @param target the object which all agents should track towards
+     * @param multiplier difficulty multiplier applied to both the acceleration and speed cap of all agents
+     */
+    public void steer(PhysObject target, float multiplier)
+    {
+        framesSinceBoost ++;
+        if(count == 0) return;
+
+        float accel = acceleration * multiplier;
+        float cap = speedCap * multiplier;
+        float tX = target.coords.x;
+        float tY = target.coords.y;
+
+        // Gather agent data into the flat registers
+        for(int i = 0; i < count; i++)
+        {
+            PhysObject p = agents[i];
+            px[i] = p.coords.x;
+            py[i] = p.coords.y;
+            vx[i] = p.velocity.x;
+            vy[i] = p.velocity.y;
+        }
+
+        // Track towards target and apply speed cap
+        for(int i = 0; i < count; i++)
+        {
+            if(agents[i] == target) continue;
+            track(i, tX, tY, accel);
+
+            if(Math.abs(vx[i] + vy[i]) > cap)
+            {
+                // Limit the combined velocity of the two axes to below the threshold
+                float len = (float)Math.sqrt((vx[i] * vx[i]) + (vy[i] * vy[i]));
+                vx[i] = cap * (vx[i] / len);
+                vy[i] = cap * (vy[i] / len);
+            }
+        }
+
+        // Track away from other nearby agents. Build separation bounds for each agent and let the broadphase
+        // find the pairs that may be close enough to affect each other. Each agent's bounds extend half of the
+        // separation radius, so that two boxes overlap when their agents are within the radius on both axes.
+        if(separationRadius > 0 && separationFactor != 0)
+        {
+            float half = separationRadius / 2.0f;
+            for(int i = 0; i < count; i++)
+            {
+                minX[i] = px[i] - half;
+                minY[i] = py[i] - half;
+                maxX[i] = px[i] + half;
+                maxY[i] = py[i] + half;
+            }
+
+            float sep = -(accel * separationFactor);
+            float r2 = separationRadius * separationRadius;
+            int pairs = broadphase.sweep(minX, minY, maxX, maxY, count);
+            for(int i = 0; i < pairs; i++)
+            {
+                int a = broadphase.getPairA(i);
+                int b = broadphase.getPairB(i);
+
+                // Overlapping boxes may still be further apart than the radius along the diagonal
+                float dX = px[b] - px[a];
+                float dY = py[b] - py[a];
+                if((dX * dX) + (dY * dY) > r2) continue;
+
+                track(a, px[b], py[b], sep);
+                track(b, px[a], py[a], sep);
+            }
+        }
+
+        // Randomly boost one agent towards the target once in a while
+        for(int i = 0; i < count; i++)
+        {
+            if(framesSinceBoost >= boostInterval / (boostGenerator.nextInt(boostMagnitude) + 1)) {
+                track(i, tX, tY, accel);
+                framesSinceBoost = 0;
+            }
+        }
+
+        // Write results back to the managed agents
+        for(int i = 0; i < count; i++)
+        {
+            PhysObject p = agents[i];
+            p.velocity.x = vx[i];
+            p.velocity.y = vy[i];
+        }
+    }
+
+    // Veer the specified agent towards the specified point with the specified acceleration
+    private void track(int i, float x, float y, float force)
+    {
+        float dX = x - px[i];
+        float dY = y - py[i];
+        float len = (float)Math.sqrt((dX * dX) + (dY * dY));
+
+        // Normalizing a zero-length vector produces a zero-length vector, so no force is applied
+        if(len == 0) return;
+
+        vx[i] += force * (dX / len);
+        vy[i] += force * (dY / len);
+    }
+
+    // Expand the agent and data registers if they are too small to hold the specified number of agents
+    private void ensureCapacity(int size)
+    {
+        if(agents.length >= size) return;
+        int ns = Math.max(size, agents.length * 2);
+
+        PhysObject[] tmp = new PhysObject[ns];
+        System.arraycopy(agents, 0, tmp, 0, count);
+        agents = tmp;
+
+        px = new float[ns];
+        py = new float[ns];
+        vx = new float[ns];
+        vy = new float[ns];
+        minX = new float[ns];
+        minY = new float[ns];
+        maxX = new float[ns];
+        maxY = new float[ns];
+    }
+}
@@ -0,0 +1,57 @@
+package com.michaelRunzler.TPG5.Engine.Physics;
+
+/**
+ * Velocity Verlet integrator. Position is updated from the start-of-step velocity and acceleration, then velocity is
+ * updated from the average of the start-of-step and end-of-step accelerations. Second-order accurate and time-reversible,
+ * so orbits and other conservative systems keep their energy over long runs. Requires two acceleration evaluations per step.
+ */
+public class VelocityVerlet implements Integrator
+{
+    private float[] ax; // Start-of-step acceleration scratch registers
+    private float[] ay;
+    private float[] nax; // End-of-step acceleration scratch registers
+    private float[] nay;
+
+    /**
+     * Default constructor.
+     */
+    public VelocityVerlet()
+    {
+        ax = new float[0];
+        ay = new float[0];
+        nax = new float[0];
+        nay = new float[0];
+    }
+
+    @Override
+    public void integrate(BodyStore store, AccelerationField field, float dt)
+    {
+        int n = store.count;
+        if(ax.length < n) {
+            ax = new float[n];
+            ay = new float[n];
+            nax = new float[n];
+            nay = new float[n];
+        }
+
+        // Advance position using the start-of-step state
+        field.evaluate(store, store.x0, store.y0, ax, ay);
+        for(int i = 0; i < n; i++)
+        {
+            if(store.fixed[i]) continue;
+            float h = dt * store.step[i];
+            store.x[i] = store.x0[i] + (store.vx[i] * h) + (0.5f * ax[i] * h * h);
+            store.y[i] = store.y0[i] + (store.vy[i] * h) + (0.5f * ay[i] * h * h);
+        }
+
+        // Advance velocity using the average of the accelerations at either end of the step
+        field.evaluate(store, store.x, store.y, nax, nay);
+        for(int i = 0; i < n; i++)
+        {
+            if(store.fixed[i]) continue;
+            float h = dt * store.step[i];
+            store.vx[i] += 0.5f * (ax[i] + nax[i]) * h;
+            store.vy[i] += 0.5f * (ay[i] + nay[i]) * h;
+        }
+    }
+}
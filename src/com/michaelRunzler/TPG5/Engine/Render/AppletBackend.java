@@ -0,0 +1,165 @@
+package com.michaelRunzler.TPG5.Engine.Render;
+
+import processing.core.PApplet;
+import processing.core.PImage;
+
+/**
+ * A {@link RenderBackend} which draws through the render pipeline of a {@link PApplet}, including any attached recorder.
+ */
+public class AppletBackend implements RenderBackend
+{
+    private static AppletBackend cached; // Most recently requested shared backend, only accessed by the animation thread
+
+    private PApplet parent;
+
+    /**
+     * Standard constructor.
+     * @param parent the {@link PApplet} to draw through
+     */
+    public AppletBackend(PApplet parent){
+        this.parent = parent;
+    }
+
+    /**
+     * Gets a shared backend for the specified {@link PApplet}, creating it if required.
+     * Must only be called from the animation thread.
+     * @param parent the {@link PApplet} to draw through
+     */
+    public static AppletBackend of(PApplet parent)
+    {
+        if(cached == null || cached.parent != parent) cached = new AppletBackend(parent);
+        return cached;
+    }
+
+    /**
+     * Gets the {@link PApplet} that this backend draws through.
+     */
+    public PApplet getParent(){
+        return parent;
+    }
+
+    @Override
+    public void stroke(int color){
+        parent.stroke(color);
+    }
+
+    @Override
+    public void noStroke(){
+        parent.noStroke();
+    }
+
+    @Override
+    public void fill(int color){
+        parent.fill(color);
+    }
+
+    @Override
+    public void rectMode(int mode){
+        parent.rectMode(mode);
+    }
+
+    @Override
+    public void ellipseMode(int mode){
+        parent.ellipseMode(mode);
+    }
+
+    @Override
+    public void textAlign(int alignX, int alignY){
+        parent.textAlign(alignX, alignY);
+    }
+
+    @Override
+    public void textSize(float size){
+        parent.textSize(size);
+    }
+
+    @Override
+    public float getTextSize(){
+        return parent.recorder == null ? parent.g.textSize : parent.recorder.textSize;
+    }
+
+    @Override
+    public void point(float x, float y){
+        parent.point(x, y);
+    }
+
+    @Override
+    public void line(float x1, float y1, float x2, float y2){
+        parent.line(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void rect(float a, float b, float c, float d){
+        parent.rect(a, b, c, d);
+    }
+
+    @Override
+    public void rect(float a, float b, float c, float d, float r){
+        parent.rect(a, b, c, d, r);
+    }
+
+    @Override
+    public void ellipse(float a, float b, float c, float d){
+        parent.ellipse(a, b, c, d);
+    }
+
+    @Override
+    public void triangle(float x1, float y1, float x2, float y2, float x3, float y3){
+        parent.triangle(x1, y1, x2, y2, x3, y3);
+    }
+
+    @Override
+    public void quad(float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4){
+        parent.quad(x1, y1, x2, y2, x3, y3, x4, y4);
+    }
+
+    @Override
+    public void image(PImage img, float x, float y){
+        parent.image(img, x, y);
+    }
+
+    @Override
+    public void image(PImage img, float x, float y, float w, float h){
+        parent.image(img, x, y, w, h);
+    }
+
+    @Override
+    public void text(String text, float x, float y){
+        parent.text(text, x, y);
+    }
+
+    @Override
+    public void text(String text, float x1, float y1, float x2, float y2){
+        parent.text(text, x1, y1, x2, y2);
+    }
+
+    @Override
+    public void beginShape(int kind){
+        parent.beginShape(kind);
+    }
+
+    @Override
+    public void vertex(float x, float y){
+        parent.vertex(x, y);
+    }
+
+    @Override
+    public void endShape(){
+        parent.endShape();
+    }
+
+    @Override
+    public void pushMatrix(){
+        parent.pushMatrix();
+    }
+
+    @Override
+    public void popMatrix(){
+        parent.popMatrix();
+    }
+
+    @Override
+    public void translate(float x, float y){
+        parent.translate(x, y);
+    }
+}
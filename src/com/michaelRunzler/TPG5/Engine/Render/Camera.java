@@ -0,0 +1,81 @@
+package com.michaelRunzler.TPG5.Engine.Render;
+
+/**
+ * A 2D camera mapping a viewport-sized window onto a larger world coordinate space.
+ * The camera does not transform any output itself. Its position is passed to {@link RenderPipeline#prepare(java.util.List, float, float)}
+ * along with the frame prepared for it, so that each frame is drawn with the view it was prepared for.
+ */
+public class Camera
+{
+    public float x; // World coordinates of the top-left corner of the view
+    public float y;
+    public float viewWidth; // Size of the view in pixels, usually the size of the window
+    public float viewHeight;
+
+    /**
+     * Standard constructor. Creates a camera looking at the top-left corner of the world.
+     * @param viewWidth the width of the view in pixels
+     * @param viewHeight the height of the view in pixels
+     */
+    public Camera(float viewWidth, float viewHeight)
+    {
+        this.x = 0.0f;
+        this.y = 0.0f;
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+    }
+
+    /**
+     * Changes the size of the view, such as when the window has been resized. Takes effect on the next call to
+     * {@link #follow(float, float, float, float)}.
+     * @param viewWidth the new width of the view in pixels
+     * @param viewHeight the new height of the view in pixels
+     */
+    public void resize(float viewWidth, float viewHeight)
+    {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+    }
+
+    /**
+     * Centers the view on the specified point, keeping it within the bounds of the world.
+     * If the world is smaller than the view along an axis, the view is aligned with the world's origin on that axis.
+     * @param tx the X-coordinate to center on, in world coordinates
+     * @param ty the Y-coordinate to center on, in world coordinates
+     * @param worldWidth the width of the world
+     * @param worldHeight the height of the world
+     */
+    public void follow(float tx, float ty, float worldWidth, float worldHeight)
+    {
+        x = Math.max(0.0f, Math.min(tx - (viewWidth / 2.0f), worldWidth - viewWidth));
+        y = Math.max(0.0f, Math.min(ty - (viewHeight / 2.0f), worldHeight - viewHeight));
+    }
+
+    /**
+     * Gets the X-coordinate of the center of the view in world coordinates.
+     */
+    public float getCenterX(){
+        return x + (viewWidth / 2.0f);
+    }
+
+    /**
+     * Gets the Y-coordinate of the center of the view in world coordinates.
+     */
+    public float getCenterY(){
+        return y + (viewHeight / 2.0f);
+    }
+
+    /**
+     * Converts an X-coordinate in screen space to world space.
+     */
+    public float toWorldX(float sx){
+        return sx + x;
+    }
+
+    /**
+     * Converts a Y-coordinate in screen space to world space.
+     */
+    public float toWorldY(float sy){
+        return sy + y;
+    }
+}
@@ -0,0 +1,167 @@
+package com.michaelRunzler.TPG5.Engine.Render;
+
+import com.michaelRunzler.TPG5.Util.RenderObject;
+
+/**
+ * A flat list of draw commands making up one frame of render output.
+ * Commands are stored as private copies of the {@link RenderObject}s produced by each {@link com.michaelRunzler.TPG5.Util.Renderable},
+ * so later changes to the source objects do not affect a packet once it has been filled. The packet is split into a fixed
+ * number of segments, each of which is filled by a single worker thread and submitted in order.
+ * Copies are pooled and reused between frames, so a packet does not allocate once it has grown to its working size.
+ * Commands are stored in world coordinates, along with the world coordinates of the view origin that the packet was
+ * filled for, which is translated to the top-left corner of the output on submission. The frame is therefore always drawn
+ * with the view it was culled against, even if the view has moved since.
+ */
+public class FramePacket
+{
+    private static final int INITIAL_CAPACITY = 64;
+
+    private RenderObject[][] segments; // Pooled command copies for each segment
+    private int[] counts; // Number of valid commands in each segment
+    private float originX; // World coordinates of the view origin that this packet was filled for
+    private float originY;
+
+    /**
+     * Standard constructor.
+     * @param segmentCount the number of independently filled segments in this packet
+     */
+    public FramePacket(int segmentCount)
+    {
+        segments = new RenderObject[segmentCount][INITIAL_CAPACITY];
+        counts = new int[segmentCount];
+    }
+
+    /**
+     * Gets the number of segments in this packet.
+     */
+    public int getSegmentCount(){
+        return segments.length;
+    }
+
+    /**
+     * Sets the world coordinates of the view origin that this packet is being filled for.
+     * Must not be called while the packet is being submitted.
+     */
+    public void setOrigin(float x, float y)
+    {
+        originX = x;
+        originY = y;
+    }
+
+    /**
+     * Gets the X-coordinate of the view origin that this packet was filled for, in world coordinates.
+     */
+    public float getOriginX(){
+        return originX;
+    }
+
+    /**
+     * Gets the Y-coordinate of the view origin that this packet was filled for, in world coordinates.
+     */
+    public float getOriginY(){
+        return originY;
+    }
+
+    /**
+     * Gets the total number of draw commands in this packet.
+     */
+    public int size()
+    {
+        int size = 0;
+        for(int c : counts) size += c;
+        return size;
+    }
+
+    /**
+     * Removes all commands from this packet. Pooled copies are kept for reuse.
+     */
+    public void clear(){
+        for(int i = 0; i < counts.length; i++) counts[i] = 0;
+    }
+
+    /**
+     * Removes all commands from the specified segment. Pooled copies are kept for reuse.
+     * May be called from any thread, as long as no other thread is accessing the same segment.
+     */
+    public void clear(int segment){
+        counts[segment] = 0;
+    }
+
+    /**
+     * Appends copies of the specified commands to the end of the specified segment.
+     * May be called from any thread, as long as no other thread is accessing the same segment.
+     * @param segment the segment to add the commands to
+     * @param commands the commands to copy into the segment
+     */
+    public void add(int segment, RenderObject[] commands){
+        add(segment, commands, false);
+    }
+
+    /**
+     * Appends copies of the specified commands to the end of the specified segment, optionally skipping any commands
+     * which are entirely outside of the {@link RenderCuller} view rectangle.
+     * May be called from any thread, as long as no other thread is accessing the same segment.
+     * @param segment the segment to add the commands to
+     * @param commands the commands to copy into the segment
+     * @param cull {@code true} to skip commands which are not visible, {@code false} to add all commands
+     */
+    public void add(int segment, RenderObject[] commands, boolean cull)
+    {
+        RenderObject[] pool = segments[segment];
+        int count = counts[segment];
+
+        // Expand the segment's pool if required
+        if(count + commands.length > pool.length) {
+            RenderObject[] tmp = new RenderObject[Math.max(count + commands.length, pool.length * 2)];
+            System.arraycopy(pool, 0, tmp, 0, pool.length);
+            pool = tmp;
+            segments[segment] = pool;
+        }
+
+        // Copy into pooled objects where possible, only creating new copies for unused slots
+        for(RenderObject ro : commands) {
+            if(cull && !RenderCuller.isVisible(ro)) continue;
+            if(pool[count] == null) pool[count] = new RenderObject(ro);
+            else pool[count].copyFrom(ro);
+            count ++;
+        }
+
+        counts[segment] = count;
+    }
+
+    /**
+     * Renders all commands in this packet through the provided {@link RenderBackend}, in segment order, translated so that
+     * this packet's view origin is drawn at the backend's current origin.
+     * @param parent the {@link RenderBackend} to use for rendering
+     */
+    public void submit(RenderBackend parent)
+    {
+        parent.pushMatrix();
+        parent.translate(-originX, -originY);
+        for(int s = 0; s < segments.length; s++) {
+            RenderObject[] pool = segments[s];
+            for(int i = 0; i < counts[s]; i++) pool[i].render(parent);
+        }
+        parent.popMatrix();
+    }
+
+    /**
+     * Renders all commands in this packet through the provided {@link ShapeBatch}, in segment order.
+     * Runs of batchable shapes are combined into a single draw call, including across segment boundaries.
+     * Output is translated as in {@link #submit(RenderBackend)}.
+     * @param parent the {@link RenderBackend} to use for rendering
+     * @param batch the batch to collect shapes into
+     */
+    public void submit(RenderBackend parent, ShapeBatch batch)
+    {
+        parent.pushMatrix();
+        parent.translate(-originX, -originY);
+        batch.begin(parent);
+        for(int s = 0; s < segments.length; s++) {
+            RenderObject[] pool = segments[s];
+            for(int i = 0; i < counts[s]; i++) batch.render(pool[i]);
+        }
+        batch.end();
+        parent.popMatrix();
+    }
+}
@@ -0,0 +1,145 @@
+package com.michaelRunzler.TPG5.Engine.Render;
+
+import core.CoreUtil.AUNIL.LogEventLevel;
+import core.CoreUtil.AUNIL.XLoggerInterpreter;
+
+/**
+ * Adaptive level-of-detail control for render effects, driven by measured frame time.
+ * The time spent on each frame is smoothed with an exponential moving average and compared against the frame budget
+ * for the target frame rate. If the average stays over budget for {@link #DEGRADE_FRAMES} frames, the detail level is
+ * lowered by one step; if it stays well under budget for {@link #RESTORE_FRAMES} frames, it is raised by one step.
+ * The gap between the two thresholds and the longer restore period keep the level from oscillating.
+ * Effects query the current level through the scaling methods in this class. The level is shared by all threads, and
+ * must only be updated while no frame is being prepared by a {@link RenderPipeline}.
+ */
+public class LODController
+{
+    public static final int DEFAULT_FRAME_RATE = 60;
+    public static final int MAX_LEVEL = 3; // Lowest detail level, 0 is full detail
+    public static final float SMOOTHING = 0.1f; // Weight of each new sample in the frame time average
+    public static final float DEGRADE_RATIO = 0.9f; // Fraction of the frame budget above which detail is lowered
+    public static final float RESTORE_RATIO = 0.6f; // Fraction of the frame budget below which detail is raised
+    public static final int DEGRADE_FRAMES = 30; // Number of consecutive frames over budget before detail is lowered
+    public static final int RESTORE_FRAMES = 120; // Number of consecutive frames with headroom before detail is raised
+
+    // Per-level scaling tables, indexed by detail level
+    private static final float[] PARTICLE_SCALE = {1.0f, 0.7f, 0.5f, 0.25f};
+    private static final int[] TRAIL_SCALE = {1, 1, 2, 3};
+    private static final boolean[] INNER_DETAIL = {true, true, false, false};
+
+    private static XLoggerInterpreter log = new XLoggerInterpreter("LOD Controller");
+    private static boolean enabled = true;
+    private static float budget = 1000.0f / DEFAULT_FRAME_RATE; // Frame time budget in milliseconds
+    private static float average = 0.0f; // Smoothed frame time in milliseconds
+    private static int level = 0;
+    private static int overFrames = 0; // Number of consecutive frames that the average has been over budget
+    private static int underFrames = 0; // Number of consecutive frames that the average has been under the restore threshold
+
+    static {
+        log.setImplicitEventLevel(LogEventLevel.DEBUG);
+    }
+
+    private LODController(){}
+
+    /**
+     * Sets the frame rate that detail is adjusted to maintain.
+     * @param fps the target frame rate. Must be greater than 0.
+     */
+    public static void setTargetFrameRate(float fps)
+    {
+        if(fps <= 0) throw new IllegalArgumentException("Target frame rate must be greater than 0!");
+        budget = 1000.0f / fps;
+        reset();
+    }
+
+    /**
+     * Enables or disables adaptive detail. Disabling it restores full detail immediately.
+     */
+    public static void setEnabled(boolean enabled)
+    {
+        LODController.enabled = enabled;
+        reset();
+    }
+
+    /**
+     * Gets whether adaptive detail is enabled.
+     */
+    public static boolean isEnabled(){
+        return enabled;
+    }
+
+    /**
+     * Restores full detail and discards all frame time history.
+     */
+    public static void reset()
+    {
+        average = 0.0f;
+        level = 0;
+        overFrames = 0;
+        underFrames = 0;
+    }
+
+    /**
+     * Records the time taken by the last frame, and adjusts the detail level if required.
+     * @param frameMillis the time spent working on the last frame in milliseconds, excluding any time spent idle
+     *                    waiting for the next frame
+     */
+    public static void update(float frameMillis)
+    {
+        if(!enabled) return;
+
+        // Seed the average with the first sample so that it does not have to ramp up from zero
+        average = average == 0.0f ? frameMillis : average + ((frameMillis - average) * SMOOTHING);
+
+        overFrames = average > budget * DEGRADE_RATIO ? overFrames + 1 : 0;
+        underFrames = average < budget * RESTORE_RATIO ? underFrames + 1 : 0;
+
+        if(overFrames >= DEGRADE_FRAMES && level < MAX_LEVEL) {
+            level ++;
+            overFrames = 0;
+            log.logEvent("Frame time " + average + "ms over budget, lowered detail to level " + level + ".");
+        } else if(underFrames >= RESTORE_FRAMES && level > 0) {
+            level --;
+            underFrames = 0;
+            log.logEvent("Frame time " + average + "ms under budget, raised detail to level " + level + ".");
+        }
+    }
+
+    /**
+     * Gets the current detail level, from 0 (full detail) to {@link #MAX_LEVEL}.
+     */
+    public static int getLevel(){
+        return level;
+    }
+
+    /**
+     * Gets the smoothed frame time in milliseconds.
+     */
+    public static float getAverageFrameTime(){
+        return average;
+    }
+
+    /**
+     * Scales a particle count for the current detail level.
+     * @param count the particle count at full detail
+     * @return the particle count to use, at least 1 if the original count was positive
+     */
+    public static int particleCount(int count){
+        return count <= 0 ? count : Math.max(1, Math.round(count * PARTICLE_SCALE[level]));
+    }
+
+    /**
+     * Scales the number of frames between trail sections for the current detail level.
+     * @param frameskip the number of frames between trail sections at full detail
+     */
+    public static int trailFrameskip(int frameskip){
+        return frameskip * TRAIL_SCALE[level];
+    }
+
+    /**
+     * Gets whether secondary detail geometry, such as the inner rectangles of game objects, should be rendered.
+     */
+    public static boolean innerDetail(){
+        return INNER_DETAIL[level];
+    }
+}
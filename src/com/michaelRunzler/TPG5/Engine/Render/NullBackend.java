@@ -0,0 +1,142 @@
+package com.michaelRunzler.TPG5.Engine.Render;
+
+import processing.core.PImage;
+
+/**
+ * A {@link RenderBackend} which discards all output, for benchmarking render preparation and submission without a window.
+ * Only the text size is tracked, so that objects which save and restore it behave as they would on a real backend.
+ * Draw calls are counted, with each completed shape counting as one call.
+ */
+public class NullBackend implements RenderBackend
+{
+    public static final float DEFAULT_TEXT_SIZE = 12.0f; // Initial text size, matching the Processing default
+
+    private float textSize;
+    private long drawCalls;
+
+    /**
+     * Default constructor.
+     */
+    public NullBackend()
+    {
+        textSize = DEFAULT_TEXT_SIZE;
+        drawCalls = 0;
+    }
+
+    /**
+     * Gets the number of draw calls made to this backend since it was created or last reset.
+     */
+    public long getDrawCallCount(){
+        return drawCalls;
+    }
+
+    /**
+     * Resets the draw call counter to zero.
+     */
+    public void reset(){
+        drawCalls = 0;
+    }
+
+    @Override
+    public void stroke(int color){}
+
+    @Override
+    public void noStroke(){}
+
+    @Override
+    public void fill(int color){}
+
+    @Override
+    public void rectMode(int mode){}
+
+    @Override
+    public void ellipseMode(int mode){}
+
+    @Override
+    public void textAlign(int alignX, int alignY){}
+
+    @Override
+    public void textSize(float size){
+        textSize = size;
+    }
+
+    @Override
+    public float getTextSize(){
+        return textSize;
+    }
+
+    @Override
+    public void point(float x, float y){
+        drawCalls ++;
+    }
+
+    @Override
+    public void line(float x1, float y1, float x2, float y2){
+        drawCalls ++;
+    }
+
+    @Override
+    public void rect(float a, float b, float c, float d){
+        drawCalls ++;
+    }
+
+    @Override
+    public void rect(float a, float b, float c, float d, float r){
+        drawCalls ++;
+    }
+
+    @Override
+    public void ellipse(float a, float b, float c, float d){
+        drawCalls ++;
+    }
+
+    @Override
+    public void triangle(float x1, float y1, float x2, float y2, float x3, float y3){
+        drawCalls ++;
+    }
+
+    @Override
+    public void quad(float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4){
+        drawCalls ++;
+    }
+
+    @Override
+    public void image(PImage img, float x, float y){
+        drawCalls ++;
+    }
+
+    @Override
+    public void image(PImage img, float x, float y, float w, float h){
+        drawCalls ++;
+    }
+
+    @Override
+    public void text(String text, float x, float y){
+        drawCalls ++;
+    }
+
+    @Override
+    public void text(String text, float x1, float y1, float x2, float y2){
+        drawCalls ++;
+    }
+
+    @Override
+    public void beginShape(int kind){}
+
+    @Override
+    public void vertex(float x, float y){}
+
+    @Override
+    public void endShape(){
+        drawCalls ++;
+    }
+
+    @Override
+    public void pushMatrix(){}
+
+    @Override
+    public void popMatrix(){}
+
+    @Override
+    public void translate(float x, float y){}
+}
@@ -0,0 +1,209 @@
+package com.michaelRunzler.TPG5.Engine.Render;
+
+import processing.core.PImage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link RenderBackend} which records every call made to it as a line of text instead of drawing anything,
+ * so that render output and draw call counts can be checked without a window.
+ * Each entry consists of the method name followed by its arguments, separated by spaces; text arguments are quoted,
+ * and images are recorded by position only. Completed shapes (draw calls) are also counted separately from state changes.
+ */
+public class RecordingBackend implements RenderBackend
+{
+    private ArrayList<String> commands;
+    private float textSize;
+    private int drawCalls;
+
+    /**
+     * Default constructor.
+     */
+    public RecordingBackend()
+    {
+        commands = new ArrayList<>();
+        textSize = NullBackend.DEFAULT_TEXT_SIZE;
+        drawCalls = 0;
+    }
+
+    /**
+     * Gets all calls recorded since this backend was created or last cleared, in call order.
+     */
+    public List<String> getCommands(){
+        return Collections.unmodifiableList(commands);
+    }
+
+    /**
+     * Gets the number of draw calls recorded since this backend was created or last cleared.
+     */
+    public int getDrawCallCount(){
+        return drawCalls;
+    }
+
+    /**
+     * Gets the number of recorded calls to the specified method.
+     * @param name the name of the method, as in {@link RenderBackend}
+     */
+    public int getCount(String name)
+    {
+        int count = 0;
+        String prefix = name + " ";
+        for(String c : commands) if(c.equals(name) || c.startsWith(prefix)) count ++;
+        return count;
+    }
+
+    /**
+     * Discards all recorded calls and resets the draw call counter. The current text size is kept.
+     */
+    public void clear()
+    {
+        commands.clear();
+        drawCalls = 0;
+    }
+
+    @Override
+    public void stroke(int color){
+        recordState("stroke", color);
+    }
+
+    @Override
+    public void noStroke(){
+        record("noStroke", false, null);
+    }
+
+    @Override
+    public void fill(int color){
+        recordState("fill", color);
+    }
+
+    @Override
+    public void rectMode(int mode){
+        recordState("rectMode", mode);
+    }
+
+    @Override
+    public void ellipseMode(int mode){
+        recordState("ellipseMode", mode);
+    }
+
+    @Override
+    public void textAlign(int alignX, int alignY){
+        recordState("textAlign", alignX, alignY);
+    }
+
+    @Override
+    public void textSize(float size){
+        textSize = size;
+        record("textSize", false, null, size);
+    }
+
+    @Override
+    public float getTextSize(){
+        return textSize;
+    }
+
+    @Override
+    public void point(float x, float y){
+        record("point", true, null, x, y);
+    }
+
+    @Override
+    public void line(float x1, float y1, float x2, float y2){
+        record("line", true, null, x1, y1, x2, y2);
+    }
+
+    @Override
+    public void rect(float a, float b, float c, float d){
+        record("rect", true, null, a, b, c, d);
+    }
+
+    @Override
+    public void rect(float a, float b, float c, float d, float r){
+        record("rect", true, null, a, b, c, d, r);
+    }
+
+    @Override
+    public void ellipse(float a, float b, float c, float d){
+        record("ellipse", true, null, a, b, c, d);
+    }
+
+    @Override
+    public void triangle(float x1, float y1, float x2, float y2, float x3, float y3){
+        record("triangle", true, null, x1, y1, x2, y2, x3, y3);
+    }
+
+    @Override
+    public void quad(float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4){
+        record("quad", true, null, x1, y1, x2, y2, x3, y3, x4, y4);
+    }
+
+    @Override
+    public void image(PImage img, float x, float y){
+        record("image", true, null, x, y);
+    }
+
+    @Override
+    public void image(PImage img, float x, float y, float w, float h){
+        record("image", true, null, x, y, w, h);
+    }
+
+    @Override
+    public void text(String text, float x, float y){
+        record("text", true, text, x, y);
+    }
+
+    @Override
+    public void text(String text, float x1, float y1, float x2, float y2){
+        record("text", true, text, x1, y1, x2, y2);
+    }
+
+    @Override
+    public void beginShape(int kind){
+        recordState("beginShape", kind);
+    }
+
+    @Override
+    public void vertex(float x, float y){
+        record("vertex", false, null, x, y);
+    }
+
+    @Override
+    public void endShape(){
+        record("endShape", true, null);
+    }
+
+    @Override
+    public void pushMatrix(){
+        record("pushMatrix", false, null);
+    }
+
+    @Override
+    public void popMatrix(){
+        record("popMatrix", false, null);
+    }
+
+    @Override
+    public void translate(float x, float y){
+        record("translate", false, null, x, y);
+    }
+
+    // Record a state change with the specified name and integer arguments, such as colors or mode constants
+    private void recordState(String name, int... args)
+    {
+        StringBuilder sb = new StringBuilder(name);
+        for(int i : args) sb.append(' ').append(i);
+        commands.add(sb.toString());
+    }
+
+    // Record a call with the specified name and arguments
+    private void record(String name, boolean draw, String text, float... args)
+    {
+        StringBuilder sb = new StringBuilder(name);
+        if(text != null) sb.append(" \"").append(text).append('"');
+        for(float f : args) sb.append(' ').append(f);
+        commands.add(sb.toString());
+        if(draw) drawCalls ++;
+    }
+}
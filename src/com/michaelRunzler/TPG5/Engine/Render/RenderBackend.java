@@ -0,0 +1,141 @@
+package com.michaelRunzler.TPG5.Engine.Render;
+
+import processing.core.PApplet;
+import processing.core.PImage;
+
+/**
+ * A target for draw commands issued by {@link com.michaelRunzler.TPG5.Util.RenderObject}s and the render pipeline.
+ * Methods mirror their equivalents in {@link PApplet}, and take the same arguments and constants, so that render output
+ * may be directed to a window, an offscreen buffer, or no output at all without any change to the objects being rendered.
+ * @see AppletBackend
+ * @see GraphicsBackend
+ * @see NullBackend
+ * @see RecordingBackend
+ */
+public interface RenderBackend
+{
+    /**
+     * @see PApplet#stroke(int)
+     */
+    void stroke(int color);
+
+    /**
+     * @see PApplet#noStroke()
+     */
+    void noStroke();
+
+    /**
+     * @see PApplet#fill(int)
+     */
+    void fill(int color);
+
+    /**
+     * @see PApplet#rectMode(int)
+     */
+    void rectMode(int mode);
+
+    /**
+     * @see PApplet#ellipseMode(int)
+     */
+    void ellipseMode(int mode);
+
+    /**
+     * @see PApplet#textAlign(int, int)
+     */
+    void textAlign(int alignX, int alignY);
+
+    /**
+     * @see PApplet#textSize(float)
+     */
+    void textSize(float size);
+
+    /**
+     * Gets the currently set text size.
+     */
+    float getTextSize();
+
+    /**
+     * @see PApplet#point(float, float)
+     */
+    void point(float x, float y);
+
+    /**
+     * @see PApplet#line(float, float, float, float)
+     */
+    void line(float x1, float y1, float x2, float y2);
+
+    /**
+     * @see PApplet#rect(float, float, float, float)
+     */
+    void rect(float a, float b, float c, float d);
+
+    /**
+     * @see PApplet#rect(float, float, float, float, float)
+     */
+    void rect(float a, float b, float c, float d, float r);
+
+    /**
+     * @see PApplet#ellipse(float, float, float, float)
+     */
+    void ellipse(float a, float b, float c, float d);
+
+    /**
+     * @see PApplet#triangle(float, float, float, float, float, float)
+     */
+    void triangle(float x1, float y1, float x2, float y2, float x3, float y3);
+
+    /**
+     * @see PApplet#quad(float, float, float, float, float, float, float, float)
+     */
+    void quad(float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4);
+
+    /**
+     * @see PApplet#image(PImage, float, float)
+     */
+    void image(PImage img, float x, float y);
+
+    /**
+     * @see PApplet#image(PImage, float, float, float, float)
+     */
+    void image(PImage img, float x, float y, float w, float h);
+
+    /**
+     * @see PApplet#text(String, float, float)
+     */
+    void text(String text, float x, float y);
+
+    /**
+     * @see PApplet#text(String, float, float, float, float)
+     */
+    void text(String text, float x1, float y1, float x2, float y2);
+
+    /**
+     * @see PApplet#beginShape(int)
+     */
+    void beginShape(int kind);
+
+    /**
+     * @see PApplet#vertex(float, float)
+     */
+    void vertex(float x, float y);
+
+    /**
+     * @see PApplet#endShape()
+     */
+    void endShape();
+
+    /**
+     * @see PApplet#pushMatrix()
+     */
+    void pushMatrix();
+
+    /**
+     * @see PApplet#popMatrix()
+     */
+    void popMatrix();
+
+    /**
+     * @see PApplet#translate(float, float)
+     */
+    void translate(float x, float y);
+}
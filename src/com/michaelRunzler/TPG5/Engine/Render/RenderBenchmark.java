@@ -0,0 +1,217 @@
+package com.michaelRunzler.TPG5.Engine.Render;
+
+import com.michaelRunzler.TPG5.Util.RenderObject;
+import com.michaelRunzler.TPG5.Util.Renderable;
+import core.CoreUtil.AUNIL.LogEventLevel;
+import core.CoreUtil.AUNIL.XLoggerInterpreter;
+import processing.awt.PGraphicsJava2D;
+import processing.core.PApplet;
+import processing.core.PFont;
+import processing.core.PGraphics;
+
+import java.awt.Font;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Headless benchmark for the render pipeline, which does not require a window or an OpenGL context.
+ * Builds a fixed pseudo-random scene, checks the output of {@link FramePacket} and {@link ShapeBatch} submission
+ * against a {@link RecordingBackend}, then times preparation and submission for each combination of culling and
+ * batching, first through a {@link NullBackend} and then rasterized into an offscreen buffer through a {@link GraphicsBackend}.
+ * Exits with a non-zero status code if any of the output checks fail.
+ * Usage: {@code RenderBenchmark [frames] [objects]}
+ */
+public class RenderBenchmark
+{
+    public static final int DEFAULT_FRAMES = 600; // Number of timed frames per configuration
+    public static final int DEFAULT_OBJECTS = 2000; // Number of objects in the scene
+    public static final int VIEW_WIDTH = 1280; // Size of the simulated view in pixels
+    public static final int VIEW_HEIGHT = 720;
+    public static final int WORLD_SCALE = 3; // Size of the world relative to the view along each axis
+
+    private static final long SEED = 0x54504735L; // Fixed seed so that runs are comparable
+    private static final int WARMUP_FRAMES = 60; // Untimed frames run before each configuration
+    private static final int LABEL_SIZE = 12; // Text size of object labels
+
+    private static XLoggerInterpreter log;
+
+    /**
+     * A scene object which renders as a filled body, a stroked heading line, and optionally a text label,
+     * similar to the output of the physics and HUD objects in the sketch.
+     */
+    private static class Blob implements Renderable
+    {
+        private float x;
+        private float y;
+        private float size;
+        private int color;
+        private boolean round;
+        private String label;
+
+        Blob(float x, float y, float size, int color, boolean round, String label)
+        {
+            this.x = x;
+            this.y = y;
+            this.size = size;
+            this.color = color;
+            this.round = round;
+            this.label = label;
+        }
+
+        @Override
+        public RenderObject[] render()
+        {
+            RenderObject body = new RenderObject(!round, PApplet.CENTER, color, RenderObject.INVALID_VALUE, x, y, size, size);
+            RenderObject heading = new RenderObject(0xFFFFFFFF, x, y, x + size, y);
+            if(label == null) return new RenderObject[]{body, heading};
+
+            RenderObject text = new RenderObject(label, PApplet.CORNER, LABEL_SIZE, PApplet.CENTER, PApplet.CENTER, 0xFFFFFFFF, x, y + size, -1, -1);
+            return new RenderObject[]{body, heading, text};
+        }
+
+        @Override
+        public float[] getVisibleBounds()
+        {
+            float r = size / 2.0f;
+            if(label == null) return new float[]{x - r, y - r, x + size, y + r};
+
+            // The label is centered below the body. No glyph is wider than the text size, so its width is bounded by
+            // the number of characters times the text size.
+            float halfLabel = (label.length() * LABEL_SIZE) / 2.0f;
+            return new float[]{x - Math.max(r, halfLabel), y - r, x + Math.max(size, halfLabel), y + size + LABEL_SIZE};
+        }
+    }
+
+    // Run the output checks, then time each configuration
+    public static void main(String[] args)
+    {
+        log = new XLoggerInterpreter("Render Benchmark");
+        log.setImplicitEventLevel(LogEventLevel.INFO);
+
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_FRAMES;
+        int objects = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_OBJECTS;
+        ArrayList<Renderable> scene = buildScene(objects);
+
+        // View the center of the world, so that culling has work to do on every side
+        float viewX = VIEW_WIDTH * ((WORLD_SCALE - 1) / 2.0f);
+        float viewY = VIEW_HEIGHT * ((WORLD_SCALE - 1) / 2.0f);
+        RenderCuller.setViewport(viewX, viewY, VIEW_WIDTH, VIEW_HEIGHT);
+
+        if(!checkOutput(scene)) {
+            log.logEvent(LogEventLevel.ERROR, "Output checks failed, skipping timing runs.");
+            System.exit(1);
+        }
+
+        log.logEvent("Timing " + frames + " frame(s) of " + objects + " object(s) through the null backend.");
+        NullBackend nb = new NullBackend();
+        for(int c = 0; c < 4; c++) time(scene, nb, nb, frames, (c & 1) != 0, (c & 2) != 0);
+
+        // Rasterize only the view, as the sketch would; fewer frames are run since software rendering is much slower
+        PGraphics buffer = new PGraphicsJava2D();
+        buffer.setPrimary(false);
+        buffer.setSize(VIEW_WIDTH, VIEW_HEIGHT);
+        buffer.beginDraw();
+        buffer.textFont(new PFont(new Font(Font.SANS_SERIF, Font.PLAIN, 12), true));
+        buffer.translate(-viewX, -viewY);
+        GraphicsBackend gb = new GraphicsBackend(buffer);
+        int rasterFrames = Math.max(1, frames / 10);
+        log.logEvent("Timing " + rasterFrames + " frame(s) of " + objects + " object(s) through an offscreen Java2D buffer.");
+        for(int c = 0; c < 4; c++) time(scene, gb, null, rasterFrames, (c & 1) != 0, (c & 2) != 0);
+        buffer.endDraw();
+
+        RenderCuller.clearViewport();
+    }
+
+    // Build a deterministic scene spread evenly across the world, with a label on every eighth object
+    private static ArrayList<Renderable> buildScene(int count)
+    {
+        Random rng = new Random(SEED);
+        ArrayList<Renderable> scene = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            float x = rng.nextFloat() * VIEW_WIDTH * WORLD_SCALE;
+            float y = rng.nextFloat() * VIEW_HEIGHT * WORLD_SCALE;
+            float size = 4.0f + (rng.nextFloat() * 28.0f);
+            int color = 0xFF000000 | rng.nextInt(0x1000000);
+            scene.add(new Blob(x, y, size, color, rng.nextBoolean(), i % 8 == 0 ? "#" + i : null));
+        }
+        return scene;
+    }
+
+    // Check that plain and batched submission make the expected number of draw calls, with and without culling
+    private static boolean checkOutput(ArrayList<Renderable> scene)
+    {
+        int expected = 0;
+        for(Renderable r : scene) expected += r.render().length;
+
+        boolean pass = true;
+        RecordingBackend rb = new RecordingBackend();
+        ShapeBatch batch = new ShapeBatch();
+        FramePacket packet = new FramePacket(1);
+        for(int c = 0; c < 2; c++)
+        {
+            boolean cull = c == 1;
+            packet.clear();
+            for(Renderable r : scene) {
+                if(!cull) packet.add(0, r.render());
+                else if(RenderCuller.isVisible(r.getVisibleBounds())) packet.add(0, r.render(), true);
+            }
+
+            int size = packet.size();
+            if(!cull && size != expected) pass = fail("Packet holds " + size + " command(s), expected " + expected + ".");
+            if(cull && (size == 0 || size >= expected)) pass = fail("Culling kept " + size + " of " + expected + " command(s).");
+
+            rb.clear();
+            packet.submit(rb);
+            if(rb.getDrawCallCount() != size) pass = fail("Plain submission made " + rb.getDrawCallCount() + " draw call(s) for " + size + " command(s).");
+
+            // Each batch replaces all of the shapes in it with a single draw call
+            rb.clear();
+            packet.submit(rb, batch);
+            int batchedCalls = (size - batch.getBatchedCount()) + batch.getBatchCount();
+            if(rb.getDrawCallCount() != batchedCalls) pass = fail("Batched submission made " + rb.getDrawCallCount() + " draw call(s), expected " + batchedCalls + ".");
+            if(rb.getCount("beginShape") != batch.getBatchCount() || rb.getCount("endShape") != batch.getBatchCount()) pass = fail("Batched submission left a batch open.");
+
+            log.logEvent("Checked " + (cull ? "culled" : "unculled") + " output: " + size + " command(s), " + batch.getBatchedCount()
+                    + " batched into " + batch.getBatchCount() + " batch(es).");
+        }
+
+        return pass;
+    }
+
+    // Log a failed check and return false
+    private static boolean fail(String message)
+    {
+        log.logEvent(LogEventLevel.ERROR, message);
+        return false;
+    }
+
+    // Time preparation and submission of the scene through a pipeline with the specified settings
+    private static void time(ArrayList<Renderable> scene, RenderBackend backend, NullBackend counter, int frames, boolean culling, boolean batching)
+    {
+        RenderPipeline pipeline = new RenderPipeline();
+        pipeline.setCulling(culling);
+        pipeline.setBatching(batching);
+
+        for(int i = 0; i < WARMUP_FRAMES; i++) frame(pipeline, scene, backend);
+
+        if(counter != null) counter.reset();
+        long start = System.nanoTime();
+        for(int i = 0; i < frames; i++) frame(pipeline, scene, backend);
+        long elapsed = System.nanoTime() - start;
+        pipeline.shutdown();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Culling ").append(culling ? "on" : "off").append(", batching ").append(batching ? "on" : "off")
+                .append(": ").append((elapsed / frames) / 1000000.0f).append("ms per frame");
+        if(counter != null) sb.append(", ").append(counter.getDrawCallCount() / frames).append(" draw call(s) per frame");
+        log.logEvent(sb.append('.').toString());
+    }
+
+    // Run a single frame in the same order as the sketch: finish the last preparation, start the next, then submit
+    private static void frame(RenderPipeline pipeline, ArrayList<Renderable> scene, RenderBackend backend)
+    {
+        pipeline.await();
+        pipeline.prepare(scene);
+        pipeline.submit(backend);
+    }
+}
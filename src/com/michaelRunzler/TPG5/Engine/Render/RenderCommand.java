@@ -0,0 +1,343 @@
+package com.michaelRunzler.TPG5.Engine.Render;
+
+import com.michaelRunzler.TPG5.Util.RenderObject;
+import processing.core.PApplet;
+import processing.core.PImage;
+
+/**
+ * Compact, immutable draw command. Each subclass stores exactly the primitive fields needed for one type of draw call,
+ * without the shared color, alignment, and coordinate arrays of a {@link RenderObject}, which makes commands roughly
+ * a third of the size of an equivalent {@link RenderObject} and safe to share between threads without copying.
+ * Commands may be converted from existing {@link RenderObject}s with {@link #of(RenderObject)}.
+ * Colors follow the same conventions as {@link RenderObject}: a stroke color of {@link RenderObject#INVALID_VALUE}
+ * disables the stroke, and a fill color of {@link RenderObject#INVALID_VALUE} fills with black.
+ */
+public abstract class RenderCommand
+{
+    public final int stroke;
+    public final int fill;
+
+    protected RenderCommand(int stroke, int fill)
+    {
+        this.stroke = stroke;
+        this.fill = fill;
+    }
+
+    /**
+     * Renders this command through the provided {@link RenderBackend}.
+     * @param parent the {@link RenderBackend} to use for rendering
+     */
+    public void render(RenderBackend parent)
+    {
+        if(stroke != RenderObject.INVALID_VALUE) parent.stroke(stroke);
+        else parent.noStroke();
+        if(fill != RenderObject.INVALID_VALUE) parent.fill(fill);
+        else parent.fill(0);
+
+        draw(parent);
+    }
+
+    /**
+     * Issues the type-specific draw call for this command. Colors have already been set.
+     */
+    protected abstract void draw(RenderBackend parent);
+
+    /**
+     * Converts a {@link RenderObject} into the equivalent command. Later changes to the source object do not affect
+     * the result. Missing coordinates are treated as zero, as they would be when rendering the source object.
+     * @param ro the object to convert
+     */
+    public static RenderCommand of(RenderObject ro)
+    {
+        float[] c = ro.coords;
+        int stroke = ro.color[0];
+        int fill = ro.color[1];
+        switch (ro.t)
+        {
+            case POINT:
+                return new Point(stroke, arg(c, 0), arg(c, 1));
+            case LINE:
+                return new Line(stroke, arg(c, 0), arg(c, 1), arg(c, 2), arg(c, 3));
+            case RECT:
+                return new Rect(ro.mode, fill, stroke, arg(c, 0), arg(c, 1), arg(c, 2), arg(c, 3), arg(c, 4));
+            case ELLIPSE:
+                return new Ellipse(ro.mode, fill, stroke, arg(c, 0), arg(c, 1), arg(c, 2), arg(c, 3));
+            case TRI:
+                return new Triangle(fill, stroke, arg(c, 0), arg(c, 1), arg(c, 2), arg(c, 3), arg(c, 4), arg(c, 5));
+            case QUAD:
+                return new Quad(fill, stroke, arg(c, 0), arg(c, 1), arg(c, 2), arg(c, 3), arg(c, 4), arg(c, 5), arg(c, 6), arg(c, 7));
+            case IMAGE:
+                return new Image(ro.img, arg(c, 0), arg(c, 1), arg(c, 2), arg(c, 3));
+            case TEXT:
+                return new Text(ro.text, ro.mode, ro.textSize, ro.align[0], ro.align[1], fill, stroke, arg(c, 0), arg(c, 1), arg(c, 2), arg(c, 3));
+            default:
+                throw new IllegalArgumentException("Unsupported render type: " + ro.t);
+        }
+    }
+
+    /**
+     * Converts an array of {@link RenderObject}s into the equivalent commands.
+     * @see #of(RenderObject)
+     */
+    public static RenderCommand[] of(RenderObject[] ros)
+    {
+        RenderCommand[] result = new RenderCommand[ros.length];
+        for(int i = 0; i < ros.length; i++) result[i] = of(ros[i]);
+        return result;
+    }
+
+    // Get a coordinate from a coordinate array, treating missing entries as zero
+    private static float arg(float[] c, int i){
+        return i < c.length ? c[i] : 0;
+    }
+
+    /**
+     * @see PApplet#point(float, float)
+     */
+    public static final class Point extends RenderCommand
+    {
+        public final float x;
+        public final float y;
+
+        public Point(int pColor, float x, float y)
+        {
+            super(pColor, RenderObject.INVALID_VALUE);
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        protected void draw(RenderBackend parent){
+            parent.point(x, y);
+        }
+    }
+
+    /**
+     * @see PApplet#line(float, float, float, float)
+     */
+    public static final class Line extends RenderCommand
+    {
+        public final float x1;
+        public final float y1;
+        public final float x2;
+        public final float y2;
+
+        public Line(int pColor, float x1, float y1, float x2, float y2)
+        {
+            super(pColor, RenderObject.INVALID_VALUE);
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+        }
+
+        @Override
+        protected void draw(RenderBackend parent){
+            parent.line(x1, y1, x2, y2);
+        }
+    }
+
+    /**
+     * @see PApplet#rect(float, float, float, float, float)
+     */
+    public static final class Rect extends RenderCommand
+    {
+        public final int mode; // Rect mode constant from PApplet, or -1 to use the current mode
+        public final float x;
+        public final float y;
+        public final float w;
+        public final float h;
+        public final float r; // Corner rounding radius, 0 or less for square corners
+
+        public Rect(int mode, int fColor, int pColor, float x, float y, float w, float h, float r)
+        {
+            super(pColor, fColor);
+            this.mode = mode;
+            this.x = x;
+            this.y = y;
+            this.w = w;
+            this.h = h;
+            this.r = r;
+        }
+
+        @Override
+        protected void draw(RenderBackend parent)
+        {
+            if(mode != -1) parent.rectMode(mode);
+            if(r > 0) parent.rect(x, y, w, h, r);
+            else parent.rect(x, y, w, h);
+        }
+    }
+
+    /**
+     * @see PApplet#ellipse(float, float, float, float)
+     */
+    public static final class Ellipse extends RenderCommand
+    {
+        public final int mode; // Ellipse mode constant from PApplet, or -1 to use the current mode
+        public final float x;
+        public final float y;
+        public final float w;
+        public final float h;
+
+        public Ellipse(int mode, int fColor, int pColor, float x, float y, float w, float h)
+        {
+            super(pColor, fColor);
+            this.mode = mode;
+            this.x = x;
+            this.y = y;
+            this.w = w;
+            this.h = h;
+        }
+
+        @Override
+        protected void draw(RenderBackend parent)
+        {
+            if(mode != -1) parent.ellipseMode(mode);
+            parent.ellipse(x, y, w, h);
+        }
+    }
+
+    /**
+     * @see PApplet#triangle(float, float, float, float, float, float)
+     */
+    public static final class Triangle extends RenderCommand
+    {
+        public final float x1;
+        public final float y1;
+        public final float x2;
+        public final float y2;
+        public final float x3;
+        public final float y3;
+
+        public Triangle(int fColor, int pColor, float x1, float y1, float x2, float y2, float x3, float y3)
+        {
+            super(pColor, fColor);
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+            this.x3 = x3;
+            this.y3 = y3;
+        }
+
+        @Override
+        protected void draw(RenderBackend parent){
+            parent.triangle(x1, y1, x2, y2, x3, y3);
+        }
+    }
+
+    /**
+     * @see PApplet#quad(float, float, float, float, float, float, float, float)
+     */
+    public static final class Quad extends RenderCommand
+    {
+        public final float x1;
+        public final float y1;
+        public final float x2;
+        public final float y2;
+        public final float x3;
+        public final float y3;
+        public final float x4;
+        public final float y4;
+
+        public Quad(int fColor, int pColor, float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4)
+        {
+            super(pColor, fColor);
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+            this.x3 = x3;
+            this.y3 = y3;
+            this.x4 = x4;
+            this.y4 = y4;
+        }
+
+        @Override
+        protected void draw(RenderBackend parent){
+            parent.quad(x1, y1, x2, y2, x3, y3, x4, y4);
+        }
+    }
+
+    /**
+     * @see PApplet#image(PImage, float, float, float, float)
+     */
+    public static final class Image extends RenderCommand
+    {
+        public final PImage img;
+        public final float x;
+        public final float y;
+        public final float w; // Size to resize the image to, 0 or less in both axes to skip resizing
+        public final float h;
+
+        public Image(PImage img, float x, float y, float w, float h)
+        {
+            super(RenderObject.INVALID_VALUE, RenderObject.INVALID_VALUE);
+            this.img = img;
+            this.x = x;
+            this.y = y;
+            this.w = w;
+            this.h = h;
+        }
+
+        @Override
+        protected void draw(RenderBackend parent)
+        {
+            if(w > 0 || h > 0) parent.image(img, x, y, w, h);
+            else parent.image(img, x, y);
+        }
+    }
+
+    /**
+     * @see PApplet#text(String, float, float, float, float)
+     */
+    public static final class Text extends RenderCommand
+    {
+        public final String text;
+        public final int mode; // Rect mode constant from PApplet for the text box, or -1 to use the current mode
+        public final int size; // Text size, 0 or less to use the current size
+        public final int alignX; // Alignment constants from PApplet, -1 for the default in each axis
+        public final int alignY;
+        public final float x;
+        public final float y;
+        public final float w; // Size of the text box, -1 in either axis to draw unconfined text
+        public final float h;
+
+        public Text(String text, int mode, int size, int alignX, int alignY, int fColor, int pColor, float x, float y, float w, float h)
+        {
+            super(pColor, fColor);
+            this.text = text;
+            this.mode = mode;
+            this.size = size;
+            this.alignX = alignX;
+            this.alignY = alignY;
+            this.x = x;
+            this.y = y;
+            this.w = w;
+            this.h = h;
+        }
+
+        /**
+         * Creates a copy of this command which draws different text with the same position, size, and colors.
+         * @param text the text to draw
+         */
+        public Text withText(String text){
+            return new Text(text, mode, size, alignX, alignY, fill, stroke, x, y, w, h);
+        }
+
+        @Override
+        protected void draw(RenderBackend parent)
+        {
+            if(mode != -1) parent.rectMode(mode);
+            parent.textAlign(alignX == -1 ? PApplet.LEFT : alignX, alignY == -1 ? PApplet.TOP : alignY);
+
+            float prevSize = parent.getTextSize();
+            if(size > 0) parent.textSize(size);
+
+            if(w != -1 && h != -1) parent.text(text, x, y, w, h);
+            else parent.text(text, x, y);
+            parent.textSize(prevSize);
+        }
+    }
+}
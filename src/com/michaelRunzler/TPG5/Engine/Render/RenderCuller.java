@@ -0,0 +1,143 @@
+package com.michaelRunzler.TPG5.Engine.Render;
+
+import com.michaelRunzler.TPG5.Util.RenderObject;
+import com.michaelRunzler.TPG5.Util.Renderable;
+import processing.core.PApplet;
+
+/**
+ * Visibility tests against the current view rectangle.
+ * Draw commands are tested using cheap axis-aligned bounds derived from their coordinates and {@link RenderObject.RenderType},
+ * and whole {@link Renderable}s may be tested using the bounds they report through {@link Renderable#getVisibleBounds()}.
+ * The view rectangle is shared by all threads, and must only be changed while no frame is being prepared by a
+ * {@link RenderPipeline}. Bounds are padded by {@link #MARGIN} to account for stroke width and for the view moving
+ * by a small amount between preparation and submission of a frame.
+ */
+public class RenderCuller
+{
+    public static final float MARGIN = 16.0f; // Padding around the view rectangle in pixels
+
+    private static float viewMinX = -Float.MAX_VALUE;
+    private static float viewMinY = -Float.MAX_VALUE;
+    private static float viewMaxX = Float.MAX_VALUE;
+    private static float viewMaxY = Float.MAX_VALUE;
+
+    private RenderCuller(){}
+
+    /**
+     * Sets the view rectangle that visibility is tested against.
+     * @param x the left X-coordinate of the view
+     * @param y the upper Y-coordinate of the view
+     * @param w the width of the view
+     * @param h the height of the view
+     */
+    public static void setViewport(float x, float y, float w, float h)
+    {
+        viewMinX = x - MARGIN;
+        viewMinY = y - MARGIN;
+        viewMaxX = x + w + MARGIN;
+        viewMaxY = y + h + MARGIN;
+    }
+
+    /**
+     * Removes the view rectangle, so that everything is considered visible.
+     */
+    public static void clearViewport()
+    {
+        viewMinX = -Float.MAX_VALUE;
+        viewMinY = -Float.MAX_VALUE;
+        viewMaxX = Float.MAX_VALUE;
+        viewMaxY = Float.MAX_VALUE;
+    }
+
+    /**
+     * Checks if the specified bounds overlap the view rectangle.
+     * @param bounds the bounds to check in the order [minX, minY, maxX, maxY]. {@code null} bounds are always visible.
+     */
+    public static boolean isVisible(float[] bounds){
+        return bounds == null || isVisible(bounds[0], bounds[1], bounds[2], bounds[3]);
+    }
+
+    /**
+     * Checks if the specified bounds overlap the view rectangle.
+     */
+    public static boolean isVisible(float minX, float minY, float maxX, float maxY){
+        return maxX >= viewMinX && minX <= viewMaxX && maxY >= viewMinY && minY <= viewMaxY;
+    }
+
+    /**
+     * Checks if the specified point is within the view rectangle.
+     */
+    public static boolean isVisible(float x, float y){
+        return x >= viewMinX && x <= viewMaxX && y >= viewMinY && y <= viewMaxY;
+    }
+
+    /**
+     * Checks if the specified draw command may produce any visible output.
+     * Commands whose bounds cannot be cheaply determined (such as unconfined text) are always considered visible.
+     * @param ro the command to check
+     */
+    public static boolean isVisible(RenderObject ro)
+    {
+        // Missing coordinates are read as zero, matching how the command would be rendered
+        switch (ro.t)
+        {
+            case POINT:
+                return isVisible(ro.arg(0), ro.arg(1));
+            case LINE:
+                return isVisible(Math.min(ro.arg(0), ro.arg(2)), Math.min(ro.arg(1), ro.arg(3)),
+                                 Math.max(ro.arg(0), ro.arg(2)), Math.max(ro.arg(1), ro.arg(3)));
+            case RECT:
+            case ELLIPSE:
+                // Rects and ellipses default to CORNER and CENTER modes respectively if no mode is set
+                int mode = ro.mode != -1 ? ro.mode : (ro.t == RenderObject.RenderType.RECT ? PApplet.CORNER : PApplet.CENTER);
+                return isShapeVisible(mode, ro.arg(0), ro.arg(1), ro.arg(2), ro.arg(3));
+            case TRI:
+                return isVisible(min(ro, 3, 0), min(ro, 3, 1), max(ro, 3, 0), max(ro, 3, 1));
+            case QUAD:
+                return isVisible(min(ro, 4, 0), min(ro, 4, 1), max(ro, 4, 0), max(ro, 4, 1));
+            case IMAGE:
+                if(ro.img == null) return true;
+                float w = ro.arg(2) > 0 ? ro.arg(2) : ro.img.width;
+                float h = ro.arg(3) > 0 ? ro.arg(3) : ro.img.height;
+                return isVisible(ro.arg(0), ro.arg(1), ro.arg(0) + w, ro.arg(1) + h);
+            case TEXT:
+                // Only confined text has known bounds
+                if(ro.coords.length < 4 || ro.arg(2) == -1 || ro.arg(3) == -1) return true;
+                return isShapeVisible(ro.mode != -1 ? ro.mode : PApplet.CORNER, ro.arg(0), ro.arg(1), ro.arg(2), ro.arg(3));
+            default:
+                return true;
+        }
+    }
+
+    // Check the bounds of a rect-like shape, interpreting its coordinates according to the provided PApplet shape mode
+    private static boolean isShapeVisible(int mode, float a, float b, float c, float d)
+    {
+        switch (mode)
+        {
+            case PApplet.CORNERS:
+                return isVisible(Math.min(a, c), Math.min(b, d), Math.max(a, c), Math.max(b, d));
+            case PApplet.CENTER:
+                return isVisible(a - Math.abs(c / 2.0f), b - Math.abs(d / 2.0f), a + Math.abs(c / 2.0f), b + Math.abs(d / 2.0f));
+            case PApplet.RADIUS:
+                return isVisible(a - Math.abs(c), b - Math.abs(d), a + Math.abs(c), b + Math.abs(d));
+            default:
+                return isVisible(Math.min(a, a + c), Math.min(b, b + d), Math.max(a, a + c), Math.max(b, b + d));
+        }
+    }
+
+    // Get the minimum value of one axis over the first few points stored as X,Y pairs
+    private static float min(RenderObject ro, int count, int axis)
+    {
+        float v = Float.MAX_VALUE;
+        for(int i = 0; i < count; i++) v = Math.min(v, ro.arg((i * 2) + axis));
+        return v;
+    }
+
+    // Get the maximum value of one axis over the first few points stored as X,Y pairs
+    private static float max(RenderObject ro, int count, int axis)
+    {
+        float v = -Float.MAX_VALUE;
+        for(int i = 0; i < count; i++) v = Math.max(v, ro.arg((i * 2) + axis));
+        return v;
+    }
+}
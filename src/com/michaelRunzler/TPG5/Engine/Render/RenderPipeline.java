@@ -0,0 +1,227 @@
+package com.michaelRunzler.TPG5.Engine.Render;
+
+import com.michaelRunzler.TPG5.Util.Renderable;
+import core.CoreUtil.AUNIL.LogEventLevel;
+import core.CoreUtil.AUNIL.XLoggerInterpreter;
+import processing.core.PApplet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Multi-threaded render preparation pipeline.
+ * Worker threads call {@link Renderable#render()} on a list of objects and copy the results into a back-buffer
+ * {@link FramePacket}, while the animation thread submits the previously prepared front-buffer packet. Once preparation
+ * is complete, the buffers are swapped. Since each buffer is only ever accessed by one side at a time, no locking is
+ * required on the packets themselves.
+ * Objects passed to {@link #prepare(List, float, float)} must not be modified by any other thread until the next call to {@link #await()}
+ * has returned, and their {@link Renderable#render()} methods must not access the parent applet.
+ * If culling is enabled, objects and draw commands which are entirely outside of the {@link RenderCuller} view rectangle
+ * are dropped during preparation, and objects reporting invisible bounds are not rendered at all.
+ * Each frame records the view origin it was prepared for, and is translated by that origin when it is submitted, so that
+ * a frame is never drawn with a view that has moved since it was prepared.
+ */
+public class RenderPipeline
+{
+    private XLoggerInterpreter log;
+    private ExecutorService workers;
+    private int workerCount;
+    private FramePacket front; // Packet currently available for submission, only accessed by the animation thread
+    private FramePacket back; // Packet currently being prepared, only accessed by worker threads while preparation is in progress
+    private ArrayList<Future<?>> pending; // Preparation tasks for the back buffer
+    private Renderable[] queued; // Snapshot of the objects being prepared
+    private boolean preparing; // Whether the back buffer holds a frame that has not yet been swapped to the front
+    private boolean culling; // Whether to drop objects and commands outside of the view rectangle during preparation
+    private ShapeBatch batch; // Batches simple shapes on submission if set, only accessed by the animation thread
+
+    /**
+     * Default constructor. Uses one worker thread per available processor core, minus one for the animation thread.
+     */
+    public RenderPipeline(){
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * Standard constructor.
+     * @param workerCount the number of worker threads to prepare frames with. Must be at least 1.
+     */
+    public RenderPipeline(int workerCount)
+    {
+        if(workerCount < 1) throw new IllegalArgumentException("Worker count must be at least 1!");
+        log = new XLoggerInterpreter("Render Pipeline");
+        log.setImplicitEventLevel(LogEventLevel.DEBUG);
+
+        this.workerCount = workerCount;
+        workers = Executors.newFixedThreadPool(workerCount, r -> {
+            // Worker threads should never keep the sketch alive on their own
+            Thread t = new Thread(r, "Render Worker");
+            t.setDaemon(true);
+            return t;
+        });
+        front = new FramePacket(workerCount);
+        back = new FramePacket(workerCount);
+        pending = new ArrayList<>();
+        queued = new Renderable[0];
+        preparing = false;
+        culling = true;
+        batch = null;
+
+        log.logEvent("Started with " + workerCount + " worker thread(s).");
+    }
+
+    /**
+     * Starts preparing a new frame from the specified objects on the worker threads, with the view origin at the
+     * world origin. Waits for any preparation already in progress to complete first.
+     * @param renderables the objects to render, in back-to-front order
+     */
+    public void prepare(List<? extends Renderable> renderables){
+        prepare(renderables, 0.0f, 0.0f);
+    }
+
+    /**
+     * Starts preparing a new frame from the specified objects on the worker threads.
+     * Waits for any preparation already in progress to complete first.
+     * @param renderables the objects to render, in back-to-front order
+     * @param originX the world coordinates of the top-left corner of the view that the frame is prepared for,
+     *                which is drawn at the current origin of the output when the frame is submitted
+     * @param originY see {@code originX}
+     */
+    public void prepare(List<? extends Renderable> renderables, float originX, float originY)
+    {
+        await();
+        back.setOrigin(originX, originY);
+        queued = renderables.toArray(queued);
+        int count = renderables.size();
+        final boolean cull = culling;
+        preparing = true;
+
+        // Split the objects into contiguous ranges, one per worker, so that segment order matches object order
+        int chunk = (count + workerCount - 1) / workerCount;
+        for(int s = 0; s < workerCount; s++)
+        {
+            final int segment = s;
+            final int start = s * chunk;
+            final int end = Math.min(count, start + chunk);
+            back.clear(segment);
+            if(start >= end) continue;
+
+            pending.add(workers.submit(() -> {
+                for(int i = start; i < end; i++)
+                {
+                    Renderable r = queued[i];
+                    if(!cull) back.add(segment, r.render());
+                    else if(RenderCuller.isVisible(r.getVisibleBounds())) back.add(segment, r.render(), true);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Waits for any preparation in progress to complete, then swaps the front and back buffers so that the newly
+     * prepared frame is submitted by the next call to {@link #submit(PApplet)}. Does nothing if no preparation is in progress.
+     * Must be called before modifying any object passed to the last call to {@link #prepare(List, float, float)}.
+     */
+    public void await()
+    {
+        if(!preparing) return;
+
+        for(Future<?> f : pending)
+        {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                log.logEvent(LogEventLevel.ERROR, "Frame preparation failed: " + e.getCause());
+            }
+        }
+
+        pending.clear();
+        for(int i = 0; i < queued.length; i++) queued[i] = null;
+
+        FramePacket tmp = front;
+        front = back;
+        back = tmp;
+        preparing = false;
+    }
+
+    /**
+     * Renders the most recently prepared frame through the render pipeline of the provided {@link PApplet}.
+     * Must be called from the animation thread.
+     * @param parent the {@link PApplet} to use for rendering
+     */
+    public void submit(PApplet parent){
+        submit(AppletBackend.of(parent));
+    }
+
+    /**
+     * Renders the most recently prepared frame through the provided {@link RenderBackend}.
+     * Must be called from the animation thread.
+     * @param parent the {@link RenderBackend} to use for rendering
+     */
+    public void submit(RenderBackend parent)
+    {
+        if(batch != null) front.submit(parent, batch);
+        else front.submit(parent);
+    }
+
+    /**
+     * Gets the X-coordinate of the view origin that the frame available for submission was prepared for, in world coordinates.
+     * Only changes when a prepared frame is swapped in by {@link #await()}.
+     */
+    public float getOriginX(){
+        return front.getOriginX();
+    }
+
+    /**
+     * Gets the Y-coordinate of the view origin that the frame available for submission was prepared for, in world coordinates.
+     * @see #getOriginX()
+     */
+    public float getOriginY(){
+        return front.getOriginY();
+    }
+
+    /**
+     * Sets whether simple shapes are combined into triangle batches on submission. Batching reduces the number of draw
+     * calls made to OpenGL-backed renderers, but is slower than drawing shapes individually on the default renderer.
+     * Disabled by default.
+     * @see ShapeBatch
+     */
+    public void setBatching(boolean batching){
+        batch = batching ? (batch == null ? new ShapeBatch() : batch) : null;
+    }
+
+    /**
+     * Gets whether shape batching is enabled for this pipeline.
+     */
+    public boolean isBatching(){
+        return batch != null;
+    }
+
+    /**
+     * Sets whether objects and draw commands outside of the {@link RenderCuller} view rectangle are dropped during preparation.
+     * Takes effect on the next call to {@link #prepare(List, float, float)}. Enabled by default.
+     */
+    public void setCulling(boolean culling){
+        this.culling = culling;
+    }
+
+    /**
+     * Gets whether culling is enabled for this pipeline.
+     */
+    public boolean isCulling(){
+        return culling;
+    }
+
+    /**
+     * Stops all worker threads. Preparation may not be started again after this call.
+     */
+    public void shutdown(){
+        await();
+        workers.shutdown();
+    }
+}
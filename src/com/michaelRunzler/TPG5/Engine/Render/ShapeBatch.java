@@ -0,0 +1,171 @@
+package com.michaelRunzler.TPG5.Engine.Render;
+
+import com.michaelRunzler.TPG5.Util.RenderObject;
+import processing.core.PApplet;
+
+/**
+ * Collects runs of simple filled shapes into a single triangle batch, so that OpenGL-backed renderers (such as P2D)
+ * can upload them in one draw call instead of one call per shape.
+ * Unstroked rects and ellipses with an explicit shape mode are converted to triangles with per-vertex fill colors,
+ * and ellipses are approximated with {@link #ELLIPSE_SEGMENTS} segments. All other commands, such as text, images,
+ * stroked shapes, and rounded rects, end the current batch and are rendered normally, so command order is preserved.
+ * Must only be used from the animation thread.
+ */
+public class ShapeBatch
+{
+    public static final int ELLIPSE_SEGMENTS = 12; // Number of triangles used to approximate each ellipse
+
+    private static final float[] UNIT_COS = new float[ELLIPSE_SEGMENTS + 1];
+    private static final float[] UNIT_SIN = new float[ELLIPSE_SEGMENTS + 1];
+
+    static {
+        for(int i = 0; i <= ELLIPSE_SEGMENTS; i++) {
+            double a = (i * Math.PI * 2.0) / ELLIPSE_SEGMENTS;
+            UNIT_COS[i] = (float)Math.cos(a);
+            UNIT_SIN[i] = (float)Math.sin(a);
+        }
+    }
+
+    private RenderBackend parent;
+    private boolean open; // Whether a triangle batch is currently open on the backend
+    private int batched; // Number of shapes added to the current frame's batches
+    private int batches; // Number of batches opened on the current frame
+
+    /**
+     * Starts a new frame of batched output through the provided {@link RenderBackend}.
+     * Must be followed by a matching call to {@link #end()}.
+     * @param parent the {@link RenderBackend} to render with
+     */
+    public void begin(RenderBackend parent)
+    {
+        this.parent = parent;
+        open = false;
+        batched = 0;
+        batches = 0;
+    }
+
+    /**
+     * Renders the specified command, adding it to the current batch if it can be batched, or flushing the current batch
+     * and rendering it normally if it cannot.
+     * @param ro the command to render
+     */
+    public void render(RenderObject ro)
+    {
+        if(!canBatch(ro)) {
+            flush();
+            ro.render(parent);
+            return;
+        }
+
+        if(!open) {
+            parent.noStroke();
+            parent.beginShape(PApplet.TRIANGLES);
+            open = true;
+            batches ++;
+        }
+
+        parent.fill(ro.color[1]);
+        float[] c = ro.coords;
+        if(ro.t == RenderObject.RenderType.RECT) addRect(ro.mode, c[0], c[1], c[2], c[3]);
+        else addEllipse(ro.mode, c[0], c[1], c[2], c[3]);
+        batched ++;
+    }
+
+    /**
+     * Finishes the current frame, flushing any open batch.
+     */
+    public void end()
+    {
+        flush();
+        parent = null;
+    }
+
+    /**
+     * Gets the number of shapes that were batched on the current or last frame.
+     */
+    public int getBatchedCount(){
+        return batched;
+    }
+
+    /**
+     * Gets the number of batches that were submitted on the current or last frame.
+     */
+    public int getBatchCount(){
+        return batches;
+    }
+
+    /**
+     * Checks if the specified command can be added to a triangle batch.
+     */
+    public static boolean canBatch(RenderObject ro)
+    {
+        if(ro.color[0] != RenderObject.INVALID_VALUE || ro.color[1] == RenderObject.INVALID_VALUE || ro.mode == -1) return false;
+        if(ro.t == RenderObject.RenderType.ELLIPSE) return ro.coords.length >= 4;
+        // Rounded rects are left to the renderer
+        return ro.t == RenderObject.RenderType.RECT && ro.coords.length >= 4 && (ro.coords.length < 5 || ro.coords[4] <= 0);
+    }
+
+    // Close the current batch, if any
+    private void flush()
+    {
+        if(!open) return;
+        parent.endShape();
+        open = false;
+    }
+
+    // Add two triangles covering a rect, interpreting its coordinates according to the provided PApplet shape mode
+    private void addRect(int mode, float a, float b, float c, float d)
+    {
+        float x1, y1, x2, y2;
+        switch (mode)
+        {
+            case PApplet.CORNERS:
+                x1 = a; y1 = b; x2 = c; y2 = d;
+                break;
+            case PApplet.CENTER:
+                x1 = a - (c / 2.0f); y1 = b - (d / 2.0f); x2 = a + (c / 2.0f); y2 = b + (d / 2.0f);
+                break;
+            case PApplet.RADIUS:
+                x1 = a - c; y1 = b - d; x2 = a + c; y2 = b + d;
+                break;
+            default:
+                x1 = a; y1 = b; x2 = a + c; y2 = b + d;
+                break;
+        }
+
+        parent.vertex(x1, y1);
+        parent.vertex(x2, y1);
+        parent.vertex(x2, y2);
+
+        parent.vertex(x1, y1);
+        parent.vertex(x2, y2);
+        parent.vertex(x1, y2);
+    }
+
+    // Add a triangle fan approximating an ellipse, interpreting its coordinates according to the provided PApplet shape mode
+    private void addEllipse(int mode, float a, float b, float c, float d)
+    {
+        float cx, cy, rx, ry;
+        switch (mode)
+        {
+            case PApplet.CORNERS:
+                cx = (a + c) / 2.0f; cy = (b + d) / 2.0f; rx = Math.abs(c - a) / 2.0f; ry = Math.abs(d - b) / 2.0f;
+                break;
+            case PApplet.CORNER:
+                cx = a + (c / 2.0f); cy = b + (d / 2.0f); rx = c / 2.0f; ry = d / 2.0f;
+                break;
+            case PApplet.RADIUS:
+                cx = a; cy = b; rx = c; ry = d;
+                break;
+            default:
+                cx = a; cy = b; rx = c / 2.0f; ry = d / 2.0f;
+                break;
+        }
+
+        for(int i = 0; i < ELLIPSE_SEGMENTS; i++) {
+            parent.vertex(cx, cy);
+            parent.vertex(cx + (UNIT_COS[i] * rx), cy + (UNIT_SIN[i] * ry));
+            parent.vertex(cx + (UNIT_COS[i + 1] * rx), cy + (UNIT_SIN[i + 1] * ry));
+        }
+    }
+}
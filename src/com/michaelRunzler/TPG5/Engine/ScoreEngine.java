@@ -0,0 +1,215 @@
+package com.michaelRunzler.TPG5.Engine;
+
+/**
+ * Accumulates the game score on a fixed tick rate, independently of the rate that frames are rendered at.
+ * Elapsed time is converted into whole ticks with an exact integer accumulator, and each tick adds the multiplier from
+ * the current {@link MultiplierSchedule} to the score. The score is stored as a fixed-point value with
+ * {@link #FRACTION_BITS} fractional bits so that schedules may award fractional points per tick, and all arithmetic
+ * saturates instead of overflowing.
+ * Must only be used from the animation thread.
+ */
+public class ScoreEngine
+{
+    public static final int TICK_RATE = 60; // Number of score ticks per second
+    public static final int MAX_CATCHUP_TICKS = 8; // Maximum number of ticks run per update, any further elapsed time is dropped
+    public static final int FRACTION_BITS = 16; // Number of fractional bits in fixed-point values
+    public static final long ONE = 1L << FRACTION_BITS; // Fixed-point representation of a single point
+    public static final long MAX_POINTS = Long.MAX_VALUE >> FRACTION_BITS; // Largest whole number of points that can be stored
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long[] POWERS = {1L, 1000L, 1000000L, 1000000000L, 1000000000000L, 1000000000000000L, 1000000000000000000L};
+    private static final String[] SUFFIXES = {"", "k", "M", "G", "T", "P", "E"};
+
+    /**
+     * Determines how many points are awarded on each tick.
+     */
+    public interface MultiplierSchedule
+    {
+        /**
+         * Gets the number of points to award on the specified tick.
+         * @param tick the number of ticks elapsed since the score was last reset, starting from 0
+         * @return the number of points to award, as a fixed-point value with {@link #FRACTION_BITS} fractional bits
+         */
+        long multiplier(long tick);
+    }
+
+    /**
+     * Awards 1 point per tick for the first two seconds, then 1 additional point per tick for every full second survived.
+     */
+    public static final MultiplierSchedule DEFAULT_SCHEDULE = ramp(TICK_RATE, 1, MAX_POINTS);
+
+    private MultiplierSchedule schedule;
+    private long score; // Fixed-point score value
+    private long ticks; // Number of ticks run since the last reset
+    private long lastTime; // Time of the last update in nanoseconds, only valid if timing is true
+    private boolean timing; // Whether an update has been run since the last reset
+    private long accumulator; // Elapsed time which has not yet been converted into ticks, in nanoseconds multiplied by TICK_RATE
+
+    /**
+     * Default constructor. Uses {@link #DEFAULT_SCHEDULE}.
+     */
+    public ScoreEngine(){
+        this(DEFAULT_SCHEDULE);
+    }
+
+    /**
+     * Standard constructor.
+     * @param schedule the {@link MultiplierSchedule} to award points with
+     */
+    public ScoreEngine(MultiplierSchedule schedule)
+    {
+        this.schedule = schedule;
+        reset();
+    }
+
+    /**
+     * Resets the score and tick counter to 0. The next call to {@link #update(long)} only starts timing, and does not
+     * award any points.
+     */
+    public void reset()
+    {
+        score = 0;
+        ticks = 0;
+        timing = false;
+        accumulator = 0;
+    }
+
+    /**
+     * Runs all score ticks which have elapsed since the last update, up to {@link #MAX_CATCHUP_TICKS}.
+     * Should be called once per frame while scoring is active.
+     * @param now the current time in nanoseconds, as returned by {@link System#nanoTime()}
+     * @return the number of ticks that were run
+     */
+    public int update(long now)
+    {
+        if(!timing) {
+            lastTime = now;
+            timing = true;
+            return 0;
+        }
+
+        // Clamp the elapsed time before scaling, so that long pauses cannot overflow the accumulator
+        long elapsed = Math.max(0, Math.min(now - lastTime, NANOS_PER_SECOND));
+        lastTime = now;
+        accumulator += elapsed * TICK_RATE;
+
+        long due = accumulator / NANOS_PER_SECOND;
+        accumulator %= NANOS_PER_SECOND;
+        int run = (int)Math.min(due, MAX_CATCHUP_TICKS);
+        for(int i = 0; i < run; i++) tick();
+        return run;
+    }
+
+    /**
+     * Runs a single score tick, regardless of elapsed time.
+     */
+    public void tick()
+    {
+        score = saturatingAdd(score, schedule.multiplier(ticks));
+        ticks ++;
+    }
+
+    /**
+     * Adds or subtracts the specified number of points to the current score.
+     * @param delta the number of points to add (or subtract, if negative)
+     */
+    public void modify(long delta) {
+        score = saturatingAdd(score, toFixed(delta));
+    }
+
+    /**
+     * Gets the current score in whole points. Any fractional points are discarded.
+     */
+    public long value(){
+        return score / ONE;
+    }
+
+    /**
+     * Gets the current score as a fixed-point value with {@link #FRACTION_BITS} fractional bits.
+     */
+    public long fixedValue(){
+        return score;
+    }
+
+    /**
+     * Gets the number of ticks run since the score was last reset.
+     */
+    public long getTicks(){
+        return ticks;
+    }
+
+    /**
+     * Changes the {@link MultiplierSchedule} used to award points. Does not affect any points already awarded.
+     */
+    public void setSchedule(MultiplierSchedule schedule){
+        this.schedule = schedule;
+    }
+
+    /**
+     * Gets the current {@link MultiplierSchedule}.
+     */
+    public MultiplierSchedule getSchedule(){
+        return schedule;
+    }
+
+    /**
+     * Builds a schedule which awards {@code tick / ticksPerStep} points per tick, but never less than {@code min} or
+     * more than {@code max} points.
+     * @param ticksPerStep the number of ticks between each increase in the multiplier
+     * @param min the minimum number of points awarded per tick
+     * @param max the maximum number of points awarded per tick
+     */
+    public static MultiplierSchedule ramp(long ticksPerStep, long min, long max)
+    {
+        if(ticksPerStep <= 0) throw new IllegalArgumentException("Ticks per step must be positive.");
+        long fixedMin = toFixed(min);
+        long fixedMax = toFixed(max);
+        return tick -> Math.max(fixedMin, Math.min(fixedMax, toFixed(tick / ticksPerStep)));
+    }
+
+    /**
+     * Converts a whole number of points to a fixed-point value, saturating at the limits of the fixed-point range.
+     */
+    public static long toFixed(long points)
+    {
+        if(points > MAX_POINTS) return Long.MAX_VALUE;
+        if(points < -MAX_POINTS) return -Long.MAX_VALUE;
+        return points << FRACTION_BITS;
+    }
+
+    /**
+     * Gets the short-form representation of the specified number of points, computed exactly with integer arithmetic.
+     * @return a String, formatted to contain (1) a number with up to three digits and two decimal places, padded to a
+     *         width of six characters, and (2) a multiplier character, representing the number of thousands places
+     *         following the numeric value. Decimal places are truncated, not rounded. For example, the value
+     *         {@code 726120728} would be formatted as {@code 726.12M}.
+     */
+    public static String shortForm(long points)
+    {
+        // Work with the negative magnitude, since it can represent every long value including Long.MIN_VALUE
+        long neg = points > 0 ? -points : points;
+
+        int group = 0;
+        while(group < POWERS.length - 1 && neg <= -POWERS[group + 1]) group ++;
+
+        long whole = -(neg / POWERS[group]);
+        long frac = group == 0 ? 0 : -((neg % POWERS[group]) / (POWERS[group] / 100));
+
+        StringBuilder sb = new StringBuilder(10);
+        if(points < 0) sb.append('-');
+        sb.append(whole).append('.');
+        if(frac < 10) sb.append('0');
+        sb.append(frac);
+        while(sb.length() < 6) sb.insert(0, ' ');
+        return sb.append(SUFFIXES[group]).toString();
+    }
+
+    // Add two fixed-point values, clamping the result to the range of a long instead of overflowing
+    private static long saturatingAdd(long a, long b)
+    {
+        long r = a + b;
+        // Overflow has occurred if both operands have the same sign and the result's sign differs
+        if(((a ^ r) & (b ^ r)) < 0) return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        return r;
+    }
+}
@@ -15,6 +15,8 @@ import processing.core.PVector;
  */
 public abstract class UXElement implements AppletAccessor, Renderable, Interactable
 {
+    private static int layoutRevision = 0; // Incremented whenever any element is moved or resized
+
     protected PApplet parent; // Parent sketch reference
     public int BG; // Background color of this element
     public PVector pos; // Current position of this element
@@ -34,6 +36,37 @@ public abstract class UXElement implements AppletAccessor, Renderable, Interacta
         log = null;
     }
 
+    /**
+     * Moves and resizes this element, and flags the layout of all elements as changed.
+     * @param x the new left X-coordinate of this element
+     * @param y the new upper Y-coordinate of this element
+     * @param w the new width of this element
+     * @param h the new height of this element
+     */
+    public void setBounds(float x, float y, float w, float h)
+    {
+        pos.x = x;
+        pos.y = y;
+        size.x = w;
+        size.y = h;
+        invalidateLayout();
+    }
+
+    /**
+     * Flags the layout of all elements as changed, causing {@link UXEngine}s to rebuild their hit-test indices on the
+     * next interaction. Must be called after modifying {@link #pos} or {@link #size} of a managed element directly.
+     */
+    public static void invalidateLayout(){
+        layoutRevision ++;
+    }
+
+    /**
+     * Gets the current layout revision counter. The value changes whenever {@link #invalidateLayout()} is called.
+     */
+    public static int getLayoutRevision(){
+        return layoutRevision;
+    }
+
     /**
      * Gets the absolute maximum bounds of this object in
      * the current coordinate plane.
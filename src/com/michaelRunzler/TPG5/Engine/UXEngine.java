@@ -1,5 +1,7 @@
 package com.michaelRunzler.TPG5.Engine;
 
+import com.michaelRunzler.TPG5.Engine.Render.RenderBackend;
+import com.michaelRunzler.TPG5.Engine.Render.RenderCommand;
 import com.michaelRunzler.TPG5.Util.*;
 
 import java.util.ArrayList;
@@ -8,12 +10,29 @@ import java.util.Collections;
 /**
  * Contains a list of managed {@link UXElement}s which may be rendered together.
  * Handles interaction and bounds-checking for all managed elements.
- * May also contain non-interactive {@link RenderObject}s.
+ * May also contain non-interactive {@link RenderObject}s, and non-interactive {@link RenderCommand}s for content which
+ * never changes after it is built.
+ * Mouse events are hit-tested through a uniform grid index over the bounds of all managed elements, which is
+ * rebuilt only when elements are added, removed, moved, or resized.
  */
 public class UXEngine implements AppletAccessor, Renderable, Interactable
 {
+    public static final float GRID_CELL_SIZE = 64.0f; // Width and height of each hit-test grid cell in pixels
+
     public ArrayList<UXElement> managed;
     public ArrayList<RenderObject> staticRenderable;
+    public ArrayList<RenderCommand> staticCommands; // Drawn by renderCommands(RenderBackend), after the output of render()
+
+    private int indexRevision; // Layout revision that the hit-test index was last built against
+    private int indexSize; // Number of managed elements that the hit-test index was last built against
+    private UXElement[] indexed; // Snapshot of managed elements at the time of the last index build
+    private float originX; // Coordinates of the top-left corner of the grid
+    private float originY;
+    private int cols;
+    private int rows;
+    private int[] cellStart; // Start offset of each cell's entries in the cell item register, plus a trailing end offset
+    private int[] cellItems; // Indices of the elements overlapping each cell, grouped by cell in ascending index order
+    private UXElement hovered; // Element currently under the mouse pointer, if any
 
     public UXEngine(UXElement... managed)
     {
@@ -21,6 +40,14 @@ public class UXEngine implements AppletAccessor, Renderable, Interactable
         // Add elements from vararg if there are any
         if(managed != null && managed.length > 0) Collections.addAll(this.managed, managed);
         staticRenderable = new ArrayList<>();
+        staticCommands = new ArrayList<>();
+
+        indexRevision = -1;
+        indexSize = -1;
+        indexed = new UXElement[0];
+        cellStart = new int[1];
+        cellItems = new int[0];
+        hovered = null;
     }
 
     @Override
@@ -52,9 +79,23 @@ public class UXEngine implements AppletAccessor, Renderable, Interactable
         return retV;
     }
 
+    /**
+     * Renders all non-interactive {@link RenderCommand}s through the provided {@link RenderBackend}, in the order they
+     * were added. Should be called after the output of {@link #render()} has been drawn.
+     * @param parent the {@link RenderBackend} to use for rendering
+     */
+    public void renderCommands(RenderBackend parent){
+        for(RenderCommand rc : staticCommands) rc.render(parent);
+    }
+
     /**
      * Handles an interaction event. If this event is a mouse event, its bounds are checked against the bounds
      * of all managed UX elements, and if any match, the event is passed to them for handling.
+     * If the event is a {@link InteractionType#MOUSE_HOVER} event, it is only passed to the topmost (last-added) element
+     * under the pointer, which is also sent a {@link InteractionType#MOUSE_ENTER} event when the pointer first moves over it,
+     * and a {@link InteractionType#MOUSE_EXIT} event when the pointer leaves it.
+     * A {@link InteractionType#MOUSE_EXIT} event passed in from outside indicates that this engine has stopped receiving
+     * pointer events, and is forwarded to the hovered element (if any) before the hover state is cleared.
      * If the event is a keyboard event, it is passed to all subelements regardless of bounds.
      * @param x the X-coordinate at which the event occurred
      * @param y the Y-coordinate at which the event occurred
@@ -64,14 +105,156 @@ public class UXEngine implements AppletAccessor, Renderable, Interactable
      */
     public void interact(int x, int y, InteractionType type, int ID)
     {
-        for(UXElement e : managed)
+        switch (type)
+        {
+            case MOUSE_DOWN:
+            case MOUSE_UP:
+                validateIndex();
+                int cell = cellAt(x, y);
+                if(cell == -1) return;
+
+                // Pass event down to each element in the cell if the bounds match
+                for(int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    UXElement e = indexed[cellItems[i]];
+                    if(contains(e, x, y)) e.interact(x, y, type, ID);
+                }
+                break;
+            case MOUSE_HOVER:
+                validateIndex();
+                UXElement top = topmostAt(x, y);
+
+                // Send exit/enter events if the pointer has moved from one element to another
+                if(top != hovered) {
+                    if(hovered != null) hovered.interact(x, y, InteractionType.MOUSE_EXIT, ID);
+                    if(top != null) top.interact(x, y, InteractionType.MOUSE_ENTER, ID);
+                    hovered = top;
+                }
+
+                if(top != null) top.interact(x, y, type, ID);
+                break;
+            case MOUSE_EXIT:
+                // Input has moved elsewhere, so nothing managed by this engine is under the pointer any more
+                if(hovered != null) hovered.interact(x, y, InteractionType.MOUSE_EXIT, ID);
+                hovered = null;
+                break;
+            case MOUSE_ENTER:
+                // Enter events are generated by this engine, and are never passed down from outside
+                break;
+            default:
+                for(UXElement e : managed) e.interact(x, y, type, ID);
+                break;
+        }
+    }
+
+    /**
+     * Forces the hit-test index to be rebuilt on the next mouse event.
+     * Must be called if an element in {@link #managed} is replaced without changing the size of the list.
+     */
+    public void invalidateIndex(){
+        indexSize = -1;
+    }
+
+    // Rebuild the hit-test grid if elements have been added, removed, moved, or resized since it was last built
+    private void validateIndex()
+    {
+        if(indexRevision == UXElement.getLayoutRevision() && indexSize == managed.size()) return;
+
+        int count = managed.size();
+        indexRevision = UXElement.getLayoutRevision();
+        indexSize = count;
+        indexed = managed.toArray(new UXElement[0]);
+
+        // Drop the hovered element if it is no longer managed by this engine
+        if(hovered != null && !managed.contains(hovered)) hovered = null;
+
+        if(count == 0){
+            cols = 0;
+            rows = 0;
+            cellStart = new int[1];
+            cellItems = new int[0];
+            return;
+        }
+
+        // Find the region enclosing all managed elements and size the grid to fit it
+        float minX = Float.MAX_VALUE;
+        float minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE;
+        float maxY = -Float.MAX_VALUE;
+        for(UXElement e : indexed)
         {
-            // Pass event down to element if (a) event is a mouse-type event, and bounds match,
-            // or (b) event is a key event.
-            if(type == InteractionType.MOUSE_DOWN || type == InteractionType.MOUSE_UP || type == InteractionType.MOUSE_HOVER) {
-                if ((x <= e.pos.x + e.size.x && x >= e.pos.x
-                        && y <= e.pos.y + e.size.y && y >= e.pos.y)) e.interact(x, y, type, ID);
-            } else e.interact(x, y, type, ID);
+            minX = Math.min(minX, e.pos.x);
+            minY = Math.min(minY, e.pos.y);
+            maxX = Math.max(maxX, e.pos.x + e.size.x);
+            maxY = Math.max(maxY, e.pos.y + e.size.y);
         }
+
+        originX = minX;
+        originY = minY;
+        cols = (int)((maxX - minX) / GRID_CELL_SIZE) + 1;
+        rows = (int)((maxY - minY) / GRID_CELL_SIZE) + 1;
+
+        // Count the number of elements overlapping each cell, then convert the counts into start offsets
+        cellStart = new int[(cols * rows) + 1];
+        for(UXElement e : indexed)
+        {
+            int[] r = cellRange(e);
+            for(int cy = r[1]; cy <= r[3]; cy++)
+                for(int cx = r[0]; cx <= r[2]; cx++) cellStart[(cy * cols) + cx + 1] ++;
+        }
+
+        for(int i = 1; i < cellStart.length; i++) cellStart[i] += cellStart[i - 1];
+
+        // Fill each cell's entries in ascending element order, so that later (topmost) elements come last
+        cellItems = new int[cellStart[cellStart.length - 1]];
+        int[] fill = new int[cols * rows];
+        for(int i = 0; i < indexed.length; i++)
+        {
+            int[] r = cellRange(indexed[i]);
+            for(int cy = r[1]; cy <= r[3]; cy++) {
+                for (int cx = r[0]; cx <= r[2]; cx++) {
+                    int c = (cy * cols) + cx;
+                    cellItems[cellStart[c] + fill[c]] = i;
+                    fill[c] ++;
+                }
+            }
+        }
+    }
+
+    // Get the topmost element containing the specified point, or null if there is none
+    private UXElement topmostAt(int x, int y)
+    {
+        int cell = cellAt(x, y);
+        if(cell == -1) return null;
+
+        for(int i = cellStart[cell + 1] - 1; i >= cellStart[cell]; i--) {
+            UXElement e = indexed[cellItems[i]];
+            if(contains(e, x, y)) return e;
+        }
+
+        return null;
+    }
+
+    // Get the index of the grid cell containing the specified point, or -1 if it is outside of the grid
+    private int cellAt(int x, int y)
+    {
+        if(cols == 0 || x < originX || y < originY) return -1;
+        int cx = (int)((x - originX) / GRID_CELL_SIZE);
+        int cy = (int)((y - originY) / GRID_CELL_SIZE);
+        if(cx >= cols || cy >= rows) return -1;
+        return (cy * cols) + cx;
+    }
+
+    // Get the range of grid cells overlapped by the specified element, in the order [minX, minY, maxX, maxY]
+    private int[] cellRange(UXElement e)
+    {
+        return new int[]{(int)((e.pos.x - originX) / GRID_CELL_SIZE), (int)((e.pos.y - originY) / GRID_CELL_SIZE),
+                         (int)((e.pos.x + e.size.x - originX) / GRID_CELL_SIZE), (int)((e.pos.y + e.size.y - originY) / GRID_CELL_SIZE)};
+    }
+
+    // Check if the specified point is within the bounds of the specified element
+    private static boolean contains(UXElement e, int x, int y)
+    {
+        return x <= e.pos.x + e.size.x && x >= e.pos.x
+                && y <= e.pos.y + e.size.y && y >= e.pos.y;
     }
 }
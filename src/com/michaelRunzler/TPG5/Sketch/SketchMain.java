@@ -1,26 +1,41 @@
 package com.michaelRunzler.TPG5.Sketch;
 
 import com.michaelRunzler.TPG5.Engine.ConfigEngine;
+import com.michaelRunzler.TPG5.Engine.FrameScheduler;
+import com.michaelRunzler.TPG5.Engine.FrameScheduler.Priority;
 import com.michaelRunzler.TPG5.Engine.Physics.GamePhysObject;
+import com.michaelRunzler.TPG5.Engine.Physics.GamePhysObjectPool;
 import com.michaelRunzler.TPG5.Engine.Physics.ParticleSpray;
 import com.michaelRunzler.TPG5.Engine.Physics.PhysEngine;
-import com.michaelRunzler.TPG5.Engine.Physics.PhysObject;
+import com.michaelRunzler.TPG5.Engine.Physics.SteeringEngine;
+import com.michaelRunzler.TPG5.Engine.Render.AppletBackend;
+import com.michaelRunzler.TPG5.Engine.Render.Camera;
+import com.michaelRunzler.TPG5.Engine.Render.LODController;
+import com.michaelRunzler.TPG5.Engine.Render.RenderCommand;
+import com.michaelRunzler.TPG5.Engine.Render.RenderCuller;
+import com.michaelRunzler.TPG5.Engine.Render.RenderPipeline;
+import com.michaelRunzler.TPG5.Engine.ScoreEngine;
 import com.michaelRunzler.TPG5.Engine.UXEngine;
 import com.michaelRunzler.TPG5.UXE.Button;
+import com.michaelRunzler.TPG5.UXE.ChoiceDialog;
+import com.michaelRunzler.TPG5.UXE.ConfirmDialog;
+import com.michaelRunzler.TPG5.UXE.Dialog;
 import com.michaelRunzler.TPG5.UXE.ScoreHUD;
 import com.michaelRunzler.TPG5.UXE.StatsHUD;
 import com.michaelRunzler.TPG5.UXE.Switch;
+import com.michaelRunzler.TPG5.UXE.TextEntryDialog;
 import com.michaelRunzler.TPG5.Util.*;
 import core.CoreUtil.ARKJsonParser.ARKJsonElement;
 import core.CoreUtil.AUNIL.LogEventLevel;
 import core.CoreUtil.AUNIL.LogVerbosityLevel;
 import core.CoreUtil.AUNIL.XLoggerInterpreter;
+import core.system.ARKAppCompat;
 import processing.core.PApplet;
+import processing.core.PGraphics;
 import processing.core.PImage;
-import processing.core.PVector;
-import processing.event.KeyEvent;
 
 import javax.swing.*;
+import java.io.File;
 import java.net.URISyntaxException;
 import java.util.*;
 
@@ -83,6 +98,45 @@ public class SketchMain extends PApplet
         }
     }
 
+    /**
+     * Render backends that the sketch may be started with. Only read at startup.
+     */
+    public enum Renderer
+    {
+        /**
+         * The default Java2D renderer. Shapes are drawn individually.
+         */
+        JAVA2D(PApplet.JAVA2D, false, null),
+        /**
+         * The OpenGL-backed 2D renderer. Simple shapes are combined into triangle batches before submission.
+         * Requires the JOGL and GlueGen libraries to be on the classpath.
+         */
+        P2D(PApplet.P2D, true, "com.jogamp.opengl.GLProfile");
+
+        String ID;
+        boolean batched;
+        String dependency; // Class which must be loadable for this backend to start, null if there is none
+        Renderer(String ID, boolean batched, String dependency){
+            this.ID = ID;
+            this.batched = batched;
+            this.dependency = dependency;
+        }
+
+        /**
+         * Checks if this backend's libraries are available, so that the sketch surface can be created with it.
+         */
+        public boolean isAvailable()
+        {
+            if(dependency == null) return true;
+            try {
+                Class.forName(dependency, false, Renderer.class.getClassLoader());
+                return true;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+    }
+
     // Color constants
     public final int BG_COLOR = color(0, 0, 32); // Used for background generation
     public final int BG_LINE_COLOR = color(0, 176, 176); // Used for background generation
@@ -104,27 +158,42 @@ public class SketchMain extends PApplet
     public final float AI_SPEED_CAP = 25.0f; // How fast (PPF^2) AI objects may go (total velocity) before they are speed-capped
     public final int AI_BOOST_INTERVAL = 120; // How many frames (max) AI objects will wait between tracking boosts
     public final int AI_BOOST_MAG = 9; // Maximum divisor for boost interval. Upshifted by 1.
+    public final float AI_SEPARATION_RADIUS = 0.25f; // Distance within which AI objects repel each other as a decimal percentage of window height
+    public final int NORMAL_AI_COUNT = 2; // Number of AI objects in normal mode
+    public final int NIGHTMARE_AI_COUNT = 4; // Number of AI objects in Nightmare mode
+    public final int SWARM_AI_COUNT = 64; // Number of AI objects in Swarm mode
+    public final float SWARM_OBJECT_SIZE = 0.02f; // Size of AI objects in Swarm mode as a decimal percentage of window height
     public final float BUTTON_WIDTH_FACTOR = 0.20f; // How wide buttons are as a decimal percentage of screen width
     public final float BUTTON_HEIGHT_FACTOR = 0.05f; // How tall buttons are as a percentage of screen height
     public final float BUTTON_SPACING_FACTOR = 0.025f; // How large the space between buttons is as a percentage of screen height
+    public final float DIALOG_WIDTH_FACTOR = 0.50f; // How wide dialogs are as a decimal percentage of screen width
+    public final float DIALOG_HEIGHT_FACTOR = 0.30f; // How tall dialogs are as a decimal percentage of screen height
 
     // Names and UIDs
     public final String PLAYER_NAME = "player_";
     public final String AI_NAME = "AIObj_";
+    public final String LANG_DIR_NAME = "3BPLang"; // Directory in the persistent storage root to load translation bundles from
+
+    // Translation bundles
+    public final int BG_GRID_SPACING = 80; // Distance between background grid lines in pixels
+    public final int LANG_RELOAD_INTERVAL = 120; // How many frames to wait between checks for changed translation bundles
+
+    // Collision layers
+    public final int LAYER_PLAYER = 1; // Collision layer bit for the player object
+    public final int LAYER_AI = 1 << 1; // Collision layer bit for AI objects
 
     // Instance field for cross-class access to PApplet methods
     private static PApplet instance;
 
     // State storage
-    private HashMap<Integer, Boolean> pressedKeys; // Currently depressed key codes
-    private HashMap<Integer, Boolean> pressedMouseButtons; // Currently held mouse buttons
+    private InputEventQueue inputQueue; // Input events waiting to be processed by the animation thread
+    private BitSet pressedKeys; // Currently depressed key codes
+    private BitSet pressedMouseButtons; // Currently held mouse buttons
     private HashMap<UIState, UXEngine> stateInputMap; // Mapping between UI states and active UX engines, used for input handling
     private HashMap<Switch, String> configOptions;  // Map of all active config switch UX elements and their config IDs
-    private RenderObject[][] highScoreTable; // Index of all render object pairs used to display the high-score table on the game over screen
+    private RenderCommand[][] highScoreTable; // Index of all render command pairs used to display the high-score table on the game over screen
     private PImage BG;
     private PImage logo;
-    private int framesSinceBoost; // How many frames have elapsed since an AI object last boosted
-    private Random boostGenerator; // RNG used for boost interval calculation
     private String lastHSName; // Last name used for the high-score board, used to autofill the entry field
     private UIState state;
     private RenderObject[] goText; // Game-over text field, regenerated on each game-over screen
@@ -132,26 +201,54 @@ public class SketchMain extends PApplet
     private boolean updatedOptionStates; // Same as above, but for options screen toggle states
     private RenderObject[] lastScore; // Stores the score from the last gameplay session for use in the game-over screen
     private long pendingScoreEntry; // -1 normally, stores a pending score to be stored in the high-score table
-    private boolean scoreNameEntryDelay; // Delays score name entry dialog display for one frame to allow for background UI rendering
+    private volatile boolean dialogOpen; // Set if any dialogs are currently displayed, read by input handlers
 
     // Engines and interfaces
     private XLoggerInterpreter log;
     private PhysEngine physics;
+    private SteeringEngine steering;
     private ConfigEngine cfg;
+    private Renderer renderer; // Render backend selected at startup
+    private Renderer unavailableRenderer; // Render backend requested by the config which could not be used, null if there was none
+    private TextMetricsCache textMetrics; // Cached font metrics, used instead of measuring text on every frame
     private UXEngine gameOver;
     private UXEngine mainMenu;
     private UXEngine optionsMenu;
+    private UXEngine dialogs; // Open dialogs, displayed on top of all other elements. The last entry receives all input.
+    private Interactable inputTarget; // Dialog or engine that the last input event was routed to
+    private ScoreEngine scoring;
     private ScoreHUD score;
     private StatsHUD stats;
     private GamePhysObject player;
     private GamePhysObject[] AIs;
+    private GamePhysObjectPool AIPool; // Recycled AI objects, reused when the AI count changes
     private ParticleSpray[] death; // Index of player-death effects currently active on the screen
+    private RenderPipeline pipeline;
+    private Camera camera; // Maps the world onto the window, following the player object
+    private ArrayList<Renderable> simRenderable; // Reusable list of game objects and effects passed to the render pipeline
+    private float lastFrameMillis; // Time spent working on the last frame, used to adjust render detail
+    private FrameScheduler scheduler; // Splits each frame into timed phases, and runs deferred work with any time left over
 
     //
     // SETUP
     //
-    public void settings(){
-        size(1024, 1024);
+    public void settings()
+    {
+        // Attempt to load config. If load fails, load defaults instead.
+        // Loaded here instead of in setup(), since the render backend cannot be changed once the surface has been created.
+        cfg = new ConfigEngine();
+        boolean exists  = cfg.load();
+        if(!exists) cfg.loadDefaults();
+
+        // Fall back to the default backend if the configured one cannot start, since size() would otherwise fail.
+        // Logging is not available yet, so the fallback is reported during setup().
+        renderer = loadRendererFromCfg();
+        unavailableRenderer = null;
+        if(!renderer.isAvailable()) {
+            unavailableRenderer = renderer;
+            renderer = Renderer.JAVA2D;
+        }
+        size(1024, 1024, renderer.ID);
         // Activate cross-class instancing field
         instance = this;
     }
@@ -167,16 +264,26 @@ public class SketchMain extends PApplet
         staticLog = new XLoggerInterpreter("Sketch Host");
         staticLog.setImplicitEventLevel(LogEventLevel.DEBUG);
 
-        // Initialize instance variables
-        pressedKeys = new HashMap<>();
-        pressedMouseButtons = new HashMap<>();
+        // Load translation bundles from the persistent storage root, falling back to the packaged bundles
+        I18N.setBundleDirectory(new File(ARKAppCompat.getOSSpecificAppPersistRoot(), LANG_DIR_NAME));
+
+        // Initialize instance variables. Text without its own size is drawn at the default size.
+        textSize(TextMetricsCache.DEFAULT_TEXT_SIZE);
+        textMetrics = new TextMetricsCache(this);
+        inputQueue = new InputEventQueue();
+        pressedKeys = new BitSet();
+        pressedMouseButtons = new BitSet();
         stateInputMap = new HashMap<>();
         configOptions = new HashMap<>();
         AIs = new GamePhysObject[2];
-        highScoreTable = new RenderObject[10][3];
+        highScoreTable = new RenderCommand[10][3];
         death = new ParticleSpray[2];
-        framesSinceBoost = 0;
-        boostGenerator = new Random(System.currentTimeMillis());
+        pipeline = new RenderPipeline();
+        simRenderable = new ArrayList<>();
+        lastFrameMillis = 0.0f;
+        frameRate(LODController.DEFAULT_FRAME_RATE);
+        scheduler = new FrameScheduler(LODController.DEFAULT_FRAME_RATE);
+        LODController.setTargetFrameRate(LODController.DEFAULT_FRAME_RATE);
         lastHSName = null;
         state = UIState.IDLE;
         goText = new RenderObject[2];
@@ -184,7 +291,7 @@ public class SketchMain extends PApplet
         updatedOptionStates = false;
         lastScore = new RenderObject[2];
         pendingScoreEntry = -1L;
-        scoreNameEntryDelay = false;
+        dialogOpen = false;
         BG = createImage(0, 0, ARGB);
 
         // Load logo image, default to it being invisible if it cannot be loaded
@@ -196,54 +303,72 @@ public class SketchMain extends PApplet
             logo = createImage(1, 1, ARGB);
         }
 
-        // Attempt to load config. If load fails, load defaults instead.
-        cfg = new ConfigEngine();
-        boolean exists  = cfg.load();
-        if(!exists) cfg.loadDefaults();
+        // Generate the render backend setting if it was missing from the config, so that it can be changed by the user
+        loadSConfigValue(ConfigKeys.KEY_RENDERER);
+        if(unavailableRenderer != null)
+            log.logEvent(LogEventLevel.WARNING, "Render backend " + unavailableRenderer.name() + " is not available (missing "
+                    + unavailableRenderer.dependency + "), falling back to " + renderer.name() + ".");
+        log.logEvent("Using " + renderer.name() + " render backend" + (renderer.batched ? " with shape batching." : "."));
+        pipeline.setBatching(renderer.batched);
 
         // Enable screen resizing, resize according to config setting
         surface.setResizable(true);
         changeRes(loadResFromCfg(), true);
 
         // Initialize engines
+        camera = new Camera(width, height);
         physics = new PhysEngine();
-        score = new ScoreHUD(0, 0);
+        AIPool = new GamePhysObjectPool();
+        scoring = new ScoreEngine();
+        score = new ScoreHUD(0, 0, scoring);
         gameOver = new UXEngine();
         mainMenu = new UXEngine();
         optionsMenu = new UXEngine();
+        dialogs = new UXEngine();
         stats = new StatsHUD(width, 0, cfg);
 
         // Add player-controlled object
         player = new GamePhysObject(300, 100, PLAYER_COLOR, height * OBJECT_SIZE);
         player.UID = PLAYER_NAME + 0;
+        player.layer = LAYER_PLAYER;
+        player.mask = LAYER_AI;
 
         // Add state transition and scene reset callback for player death
-        player.addCollisionCallback((caller, collided) ->
+        physics.getCollisionBus().subscribe(null, LAYER_PLAYER, (caller, collided) ->
         {
+            // Ignore any further hits dispatched in the same batch once the player has already died
+            if(state != UIState.IN_GAME) return;
+
             // If the player is colliding with an AI object:
-            if(collided != null && collided.UID.contains(AI_NAME)){
+            if(collided != null && (collided.layer & LAYER_AI) != 0){
                 // Add death particle effect handlers to the register
-                death[0] = new ParticleSpray(player.coords.x, player.coords.y, 90.0f, 900.0f, PLAYER_COLOR, ParticleSpray.STANDARD_DIAMETER, 40, 5.0f, 60);
-                death[1] = new ParticleSpray(player.coords.x, player.coords.y, 90.0f, 270.0f, PLAYER_COLOR, ParticleSpray.STANDARD_DIAMETER, 40, 5.0f, 60);
+                death[0] = new ParticleSpray(player.coords.x, player.coords.y, 90.0f, 900.0f, PLAYER_COLOR, ParticleSpray.STANDARD_DIAMETER, LODController.particleCount(40), 5.0f, 60);
+                death[1] = new ParticleSpray(player.coords.x, player.coords.y, 90.0f, 270.0f, PLAYER_COLOR, ParticleSpray.STANDARD_DIAMETER, LODController.particleCount(40), 5.0f, 60);
                 // Reshuffle high-score table, update last-score text, reset score counters, count death, and show death screen
-                lastScore[0].text = I18N.getString(I18N.getCurrentLocale(), I18N.UI_GAME_OVER_LAST_SCORE) + " " + score.truncatedValue();
+                lastScore[0].text = I18N.getString(I18N.UI_GAME_OVER_LAST_SCORE) + " " + score.truncatedValue();
                 lastScore[1].text = lastScore[0].text;
-                pendingScoreEntry = score.value();
-                score.reset();
+                pendingScoreEntry = scoring.value();
+                scoring.reset();
                 stats.countSessionDeath();
-                // Enable frame delay for name entry
-                scoreNameEntryDelay = true;
                 setScene();
             }
         });
 
-        physics.getSimObjectsMutable().add(player);
+        physics.add(player);
 
         // Set constants for the physics engine
         physics.dynamicGravityConstant = 0.0f;
         physics.dynamicCollisionPenalty = 0.25f;
         physics.staticCollisionPenalty = 0.50f;
-        physics.dynamicCollisionTransfer = 0.75f;
+
+        // Set constants for the AI steering system
+        steering = new SteeringEngine();
+        steering.acceleration = AI_ACCELERATION;
+        steering.speedCap = AI_SPEED_CAP;
+        steering.separationFactor = 0.25f;
+        steering.separationRadius = height * AI_SEPARATION_RADIUS;
+        steering.boostInterval = AI_BOOST_INTERVAL;
+        steering.boostMagnitude = AI_BOOST_MAG;
 
         UISetup();
 
@@ -260,6 +385,22 @@ public class SketchMain extends PApplet
 
     public void draw()
     {
+        long frameStart = System.nanoTime();
+        scheduler.beginFrame();
+
+        // Wait for the last frame's render preparation to finish, since it may still be reading game objects
+        pipeline.await();
+
+        // Adjust effect detail from the last frame's work time. Must happen while no frame is being prepared.
+        LODController.update(lastFrameMillis);
+
+        // Process all input received since the last frame before doing anything else
+        scheduler.run(Priority.SIMULATION, () -> {
+            inputQueue.drain(this::handleInput);
+            dialogs.managed.removeIf(d -> !((Dialog)d).isOpen());
+            dialogOpen = dialogs.managed.size() > 0;
+        });
+
         // Delegate to subhandler method depending on what the current state is
         switch(state)
         {
@@ -268,60 +409,80 @@ public class SketchMain extends PApplet
                 break;
             case MAIN_MENU:
                 // Render background grid, game objects, and main menu filter/elements
-                image(BG, 0, 0);
-                renderSim();
-                mainMenu();
+                drawBackground();
+                scheduler.run(Priority.RENDER, this::renderSim);
+                scheduler.run(Priority.HUD, this::mainMenu);
                 break;
             case OPTIONS:
                 // Render background grid and options menu filter/elements
-                image(BG, 0, 0);
-                optionsMenu();
+                drawBackground();
+                scheduler.run(Priority.HUD, this::optionsMenu);
                 break;
             case IN_GAME:
                 // Run physics, render background grid and game elements/effects
-                image(BG, 0, 0);
-                gameSim();
-                renderSim();
+                drawBackground();
+                scheduler.run(Priority.SIMULATION, this::gameSim);
+                scheduler.run(Priority.RENDER, this::renderSim);
                 break;
             case GAME_OVER:
                 // Render background grid, game objects, and game over screen filter/elements
-                image(BG, 0, 0);
-                renderSim();
-                gameOver();
+                drawBackground();
+                scheduler.run(Priority.RENDER, this::renderSim);
+                scheduler.run(Priority.HUD, this::gameOver);
                 break;
         }
 
+        // Draw any open dialogs on top of everything else
+        scheduler.run(Priority.HUD, () -> {
+            for(RenderObject ro : dialogs.render()) ro.render(this);
+        });
+
         // Flag generated game-over text field as invalid and regenerate on next render pass
         if(state != UIState.GAME_OVER) generatedGOText = false;
         if(state != UIState.OPTIONS) updatedOptionStates = false;
 
         // Generate background grid and store to background image cache. Delayed due to possible
-        // resolution changes initiated in setup()
-        if(BG.height == 0 || BG.width == 0) genBackground();
+        // resolution changes initiated in setup(), and repeated if the window has been resized since.
+        if(BG.width != width + BG_GRID_SPACING || BG.height != height + BG_GRID_SPACING) genBackground();
+
+        // Periodically pick up changes to translation bundles
+        if(frameCount % LANG_RELOAD_INTERVAL == 0) scheduler.defer("Translation bundle reload", I18N::reloadIfModified);
+
+        // Spend any time left in this frame's budget on deferred work
+        scheduler.endFrame();
+        lastFrameMillis = (System.nanoTime() - frameStart) / 1000000.0f;
     }
 
+    // Input events are only queued here, and are processed on the animation thread at the start of the next frame.
+
     public void mousePressed(){
-        pressedMouseButtons.put(mouseButton, true);
-        UXEngine key = stateInputMap.get(state);
-        if(key != null) key.interact(mouseX, mouseY, InteractionType.MOUSE_DOWN, mouseButton);
+        inputQueue.offer(InteractionType.MOUSE_DOWN, mouseButton, mouseX, mouseY);
     }
 
     public void mouseReleased(){
-        pressedMouseButtons.put(mouseButton, false);
-        UXEngine key = stateInputMap.get(state);
-        if(key != null) key.interact(mouseX, mouseY, InteractionType.MOUSE_UP, mouseButton);
+        inputQueue.offer(InteractionType.MOUSE_UP, mouseButton, mouseX, mouseY);
+    }
+
+    public void mouseMoved(){
+        inputQueue.offer(InteractionType.MOUSE_HOVER, 0, mouseX, mouseY);
+    }
+
+    public void mouseDragged(){
+        inputQueue.offer(InteractionType.MOUSE_HOVER, mouseButton, mouseX, mouseY);
     }
 
     public void keyPressed() {
-        pressedKeys.put(keyCode, true);
-        UXEngine key = stateInputMap.get(state);
-        if(key != null) key.interact(mouseX, mouseY, InteractionType.KB_DOWN, keyCode);
+        inputQueue.offer(InteractionType.KB_DOWN, keyCode, mouseX, mouseY);
+        // Escape cancels open dialogs instead of closing the sketch
+        if(key == ESC && dialogOpen) key = 0;
+    }
+
+    public void keyTyped() {
+        inputQueue.offer(InteractionType.KB_TYPED, key, mouseX, mouseY);
     }
 
     public void keyReleased(){
-        pressedKeys.put(keyCode, false);
-        UXEngine key = stateInputMap.get(state);
-        if(key != null) key.interact(mouseX, mouseY, InteractionType.KB_UP, keyCode);
+        inputQueue.offer(InteractionType.KB_UP, keyCode, mouseX, mouseY);
     }
 
     public void exit()
@@ -339,6 +500,7 @@ public class SketchMain extends PApplet
         }
 
         // Save config to file and then call sketch exit routine
+        pipeline.shutdown();
         cfg.save();
         super.exit();
     }
@@ -347,42 +509,16 @@ public class SketchMain extends PApplet
     // SUBROUTINES
     //
 
-    // Run physics for the game, render score counter UI
+    // Run physics and scoring for the game, render score counter UI
     private void gameSim()
     {
-        framesSinceBoost ++;
-
-        // Render score counter
+        // Advance the score by however many ticks have elapsed, then render the score counter
+        scoring.update(System.nanoTime());
         for(RenderObject ro : score.render()) ro.render(this);
 
         // Calculate 'AI' object tracking and velocity calculation
         float multiplier = loadConfigValue(ConfigKeys.KEY_DIFFICULTY) ? 1.5f : 1.0f;
-        for(PhysObject p : AIs)
-        {
-            // Track towards player object
-            track(p, player, AI_ACCELERATION * multiplier);
-
-            if(Math.abs(p.velocity.x + p.velocity.y) > AI_SPEED_CAP * multiplier)
-            {
-                // Limit the combined velocity of the two axes to below the threshold
-                PVector f = new PVector(p.velocity.x, p.velocity.y);
-                f.normalize();
-                p.velocity.x = (AI_SPEED_CAP * multiplier) * f.x;
-                p.velocity.y = (AI_SPEED_CAP * multiplier) * f.y;
-            }
-
-            // Track away from other AI objects
-            for(PhysObject c : AIs){
-                if(p == c) continue;
-                track(p, c, -(AI_ACCELERATION * multiplier) / 4);
-            }
-
-            // Randomly boost towards the player once in a while
-            if(framesSinceBoost >= AI_BOOST_INTERVAL / (boostGenerator.nextInt(AI_BOOST_MAG) + 1)) {
-                track(p, player, AI_ACCELERATION * multiplier);
-                framesSinceBoost = 0;
-            }
-        }
+        steering.steer(player, multiplier);
 
         playerInput();
         physics.tick();
@@ -391,19 +527,34 @@ public class SketchMain extends PApplet
     // Run rendering for stats UI, only run physics for particles, not objects and AI
     private void renderSim()
     {
-        // Render AI and player objects
-        for (GamePhysObject gp : AIs) for (RenderObject ro : gp.render()) ro.render(this);
-        for(RenderObject ro : player.render()) ro.render(this);
+        // Queue AI and player objects for rendering
+        simRenderable.clear();
+        Collections.addAll(simRenderable, AIs);
+        simRenderable.add(player);
 
-        // Render death particle effects, remove dead effects from the registry
+        // Queue death particle effects, remove dead effects from the registry
         for (int i = 0; i < death.length; i++) {
             ParticleSpray ps = death[i];
             if (ps != null) {
-                for(RenderObject ro : ps.render()) ro.render(this);
                 if (ps.isDead()) death[i] = null;
+                else simRenderable.add(ps);
             }
         }
 
+        // Keep the camera on the player, and keep the fully simulated world region centered on the camera.
+        // The window may have been resized since the last frame, so the view size is refreshed first.
+        camera.resize(width, height);
+        camera.follow(player.coords.x, player.coords.y, physics.getWorldWidth(), physics.getWorldHeight());
+        physics.setFocus(camera.getCenterX(), camera.getCenterY());
+
+        // Cull anything outside of the camera's view while preparing the next frame
+        RenderCuller.setViewport(camera.x, camera.y, camera.viewWidth, camera.viewHeight);
+
+        // Start preparing the next frame in the background for the current view, and draw the last prepared frame.
+        // The pipeline offsets each frame by the view it was prepared for, so objects and camera always match.
+        pipeline.prepare(simRenderable, camera.x, camera.y);
+        pipeline.submit(this);
+
         // Render high-score element
         for(RenderObject ro : stats.render()) ro.render(this);
     }
@@ -419,6 +570,7 @@ public class SketchMain extends PApplet
         image(logo, width - (20 + logo.width), height - (20 + logo.height));
 
         for(RenderObject ro : mainMenu.render()) ro.render(this);
+        mainMenu.renderCommands(AppletBackend.of(this));
     }
 
     // Render options menu and handle interaction from it
@@ -438,6 +590,7 @@ public class SketchMain extends PApplet
         }
 
         for(RenderObject ro : optionsMenu.render()) ro.render(this);
+        optionsMenu.renderCommands(AppletBackend.of(this));
     }
 
     // Render game over screen and handle interaction from it
@@ -449,75 +602,56 @@ public class SketchMain extends PApplet
         noStroke();
         rect(0, 0, width, height);
 
-        String[] compiled = new String[10];
-
         // If there is a pending score entry from the last game, accept a name entry from the user if it is set to do so,
-        // and reshuffle the high score table
-        // Delay by one frame to allow death screen to render behind it
+        // and reshuffle the high score table once the entry is complete
         if(pendingScoreEntry != -1L){
-            if(scoreNameEntryDelay)
-                scoreNameEntryDelay = false;
-            else {
-                highScoreCalc();
-                pendingScoreEntry = -1L;
-
-                // Parse high scores
-                try {
-                    ARKJsonElement[] scores = cfg.index.getElementByName(ConfigKeys.KEY_SUB_PERSISTENCE).getSubElementByName(ConfigKeys.KEY_HIGH_SCORES).getSubElements();
-                    ARKJsonElement[] scoreNames = cfg.index.getElementByName(ConfigKeys.KEY_SUB_PERSISTENCE).getSubElementByName(ConfigKeys.KEY_HIGH_SCORE_NAMES).getSubElements();
-                    for (int i = 0; i < scores.length; i++)
-                        compiled[i] = String.format("%-7s : %s", ScoreHUD.truncatedValue(Long.parseLong(scores[i].getDeQuotedValue())), scoreNames[i].getDeQuotedValue());
-                } catch (NumberFormatException | NullPointerException e) {
-                    log.logEvent(LogEventLevel.ERROR, "Unable to parse high score table.");
-                    return;
-                }
-            }
+            highScoreCalc(pendingScoreEntry);
+            pendingScoreEntry = -1L;
         }
 
         // Generate new title text
         if(!generatedGOText) {
-            goText[0].text = I18N.getString(I18N.getCurrentLocale(), I18N.UI_GAME_OVER_TITLE_MASTER + new Random().nextInt(I18N.genGOTitle.length));
+            goText[0].text = I18N.getString(I18N.UI_GAME_OVER_TITLE_MASTER + new Random().nextInt(I18N.GO_TITLE_COUNT));
             goText[1].text = goText[0].text;
 
             generatedGOText = true;
         }
 
         // Draw menu entries
+        AppletBackend backend = AppletBackend.of(this);
         for(RenderObject ro : gameOver.render()) ro.render(this);
+        gameOver.renderCommands(backend);
 
         // Draw high-score table
         for(int i = 0; i < highScoreTable.length; i++)
         {
-            // Update high score table render entries if they have changed and are valid
-            if(compiled[i] != null) highScoreTable[i][0].text = compiled[i];
-            if(compiled[i] != null) highScoreTable[i][1].text = compiled[i];
-
-            // Render table entries
-            highScoreTable[i][0].render(this);
-            highScoreTable[i][1].render(this);
-            highScoreTable[i][2].render(this);
+            highScoreTable[i][0].render(backend);
+            highScoreTable[i][1].render(backend);
+            highScoreTable[i][2].render(backend);
         }
     }
 
     // Reset the gameplay area to default state, reset state counters, reset state to GAME_OVER, update object count
-    // with Nightmare flag
+    // with Nightmare and Swarm flags
     @SuppressWarnings("IntegerDivisionInFloatingPointContext")
     private void setScene()
     {
-        image(BG, 0, 0);
+        drawBackground();
         physics.reset();
-        framesSinceBoost = 0;
-
-        // Change object count if Nightmare mode has been turned on or off since the last game reset
-        boolean nm = loadConfigValue(ConfigKeys.KEY_NIGHTMARE);
-        if (nm && AIs.length != 4){
-            AIs = new GamePhysObject[4];
-            physics.getSimObjectsMutable().clear();
-            physics.getSimObjectsMutable().add(player);
-        } else if(!nm && AIs.length != 2) {
-            AIs = new GamePhysObject[2];
-            physics.getSimObjectsMutable().clear();
-            physics.getSimObjectsMutable().add(player);
+        steering.reset();
+
+        // Change object count if Nightmare or Swarm mode has been turned on or off since the last game reset
+        boolean swarm = loadConfigValue(ConfigKeys.KEY_SWARM);
+        int count = swarm ? SWARM_AI_COUNT : loadConfigValue(ConfigKeys.KEY_NIGHTMARE) ? NIGHTMARE_AI_COUNT : NORMAL_AI_COUNT;
+        if (AIs.length != count){
+            // Despawn existing objects and return them to the pool
+            for(GamePhysObject gp : AIs) {
+                if(gp == null) continue;
+                physics.remove(gp.handle);
+                AIPool.release(gp);
+            }
+            AIs = new GamePhysObject[count];
+            steering.clearAgents();
         }
 
         for(int i = 0; i < AIs.length; i++)
@@ -525,9 +659,13 @@ public class SketchMain extends PApplet
             // Reset objects
             if(AIs[i] == null){
                 // Populate objects if they have been cleared
-                AIs[i] = new GamePhysObject(200 * (i + 1), 100, AI_COLOR, height * OBJECT_SIZE);
+                AIs[i] = AIPool.obtain(200 * (i + 1), 100, AI_COLOR, height * (swarm ? SWARM_OBJECT_SIZE : OBJECT_SIZE));
                 AIs[i].UID = AI_NAME + i;
-                physics.getSimObjectsMutable().add(AIs[i]);
+                // AI objects only collide with the player, and are kept apart from each other by the steering system instead
+                AIs[i].layer = LAYER_AI;
+                AIs[i].mask = LAYER_PLAYER;
+                physics.add(AIs[i]);
+                steering.addAgent(AIs[i]);
             }
             GamePhysObject gp = AIs[i];
 
@@ -535,6 +673,19 @@ public class SketchMain extends PApplet
             gp.velocity.x = 0;
             gp.velocity.y = 0;
 
+            if(swarm)
+            {
+                // Distribute spawned objects evenly along a rectangle inset from the edges of the canvas
+                float w = width - (AI_START_OFFSET * 2);
+                float h = height - (AI_START_OFFSET * 2);
+                float d = ((float)i / AIs.length) * ((w + h) * 2);
+                if(d < w) gp.coords.set(AI_START_OFFSET + d, AI_START_OFFSET);
+                else if((d -= w) < h) gp.coords.set(width - AI_START_OFFSET, AI_START_OFFSET + d);
+                else if((d -= h) < w) gp.coords.set(width - (AI_START_OFFSET + d), height - AI_START_OFFSET);
+                else gp.coords.set(AI_START_OFFSET, height - (AI_START_OFFSET + (d - w)));
+                continue;
+            }
+
             // Distribute spawned objects along X-axis. Every other object spawns on the opposite side (left or right)
             // of the canvas.
             gp.coords.x = (i + 1) % 2 == 0 ? (width - AI_START_OFFSET) : AI_START_OFFSET;
@@ -553,27 +704,6 @@ public class SketchMain extends PApplet
         state = UIState.GAME_OVER;
     }
 
-    /**
-     * Causes the 'tracker' object to veer towards the 'tracked' object with the specified acceleration.
-     * @param tracker the object to steer towards the tracked object
-     * @param tracked the object to track
-     * @param trackForce the total vector acceleration (in PPF^2) to apply to the tracker object
-     */
-    private void track(PhysObject tracker, PhysObject tracked, float trackForce)
-    {
-        // Skip comparing to itself
-        if(tracker == tracked) return;
-
-        // Compute relative vector value and apply velocity across that vector
-        PVector fVector = PVector.sub(tracked.coords, tracker.coords);
-        fVector.normalize();
-        float fX = trackForce * fVector.x;
-        float fY = trackForce * fVector.y;
-
-        tracker.velocity.x += fX;
-        tracker.velocity.y += fY;
-    }
-
     // Handle player directional input and player object frictional deceleration
     private void playerInput()
     {
@@ -598,19 +728,32 @@ public class SketchMain extends PApplet
         }
     }
 
-    // Store high score entry for most recent death; reorder high score table and accept player name input
-    private void highScoreCalc()
+    // Accept player name input for the most recent death if name entry is enabled, then store its high score entry
+    private void highScoreCalc(long entry)
     {
+        if(!loadConfigValue(ConfigKeys.KEY_NAME_ENTRY)) {
+            storeHighScore(entry, null);
+            return;
+        }
+
         // Request name from user, autofill with last player name if there was one entered
-        String name = null;
-        if(loadConfigValue(ConfigKeys.KEY_NAME_ENTRY)) name = JOptionPane.showInputDialog(I18N.getString(I18N.getCurrentLocale(), I18N.DIALOG_NAME_ENTRY), lastHSName == null ? "Player" : lastHSName);
+        float w = width * DIALOG_WIDTH_FACTOR;
+        float h = height * DIALOG_HEIGHT_FACTOR;
+        showDialog(new TextEntryDialog((width - w) / 2.0f, (height - h) / 2.0f, w, h, BUTTON_BG_COLOR, UI_BUTTON_TEXT_COLOR, BUTTON_BORDER_COLOR,
+                I18N.getString(I18N.DIALOG_NAME_ENTRY_TITLE), I18N.getString(I18N.DIALOG_NAME_ENTRY),
+                lastHSName == null ? "Player" : lastHSName, I18N.getString(I18N.DIALOG_OK),
+                I18N.getString(I18N.DIALOG_CANCEL),
+                (result, value) -> storeHighScore(entry, result == Dialog.RESULT_CONFIRM ? value : null)));
+    }
+
+    // Store high score entry with the specified name; reorder high score table and update its display
+    private void storeHighScore(long entry, String name)
+    {
         if(name != null) lastHSName = name;
 
-        // Reset key hold and mouse hold entries to prevent accidental input; trick API into thinking that the keys have
-        // been released even though they haven't
-        for(int i : pressedKeys.keySet())
-            // DARK WIZARDRY, DON'T QUESTION
-            super.handleKeyEvent(new KeyEvent(null, System.currentTimeMillis(), KeyEvent.RELEASE, 0, ' ', i));
+        // Reset key hold and mouse hold entries to prevent accidental input
+        pressedKeys.clear();
+        pressedMouseButtons.clear();
 
         try {
             // Retrieve scores from config
@@ -620,7 +763,7 @@ public class SketchMain extends PApplet
             // Read and parse values from score index, store new entry
             ScorePair[] values = new ScorePair[scores.length + 1];
             for(int i = 0; i < scores.length; i++) values[i] = new ScorePair(Long.parseLong(scores[i].getDeQuotedValue()), names[i].getDeQuotedValue());
-            values[values.length - 1] = new ScorePair(pendingScoreEntry, name == null ? "N/A" : name);
+            values[values.length - 1] = new ScorePair(entry, name == null ? "N/A" : name);
 
             // Sort array and drop lowest value
             ArrayList<ScorePair> sorted = new ArrayList<>(Arrays.asList(values));
@@ -632,11 +775,54 @@ public class SketchMain extends PApplet
                 names[names.length - i] = new ARKJsonElement(null, false, sorted.get(i).value);
             }
 
-            // Update stats display with new table
-            stats.updateStatsFromCfg();
+            // Update stats display with new table. Not needed on this frame, so leave it until there is time for it.
+            scheduler.defer(Priority.HUD, "Stats refresh", stats::updateStatsFromCfg);
         } catch (NumberFormatException | NullPointerException e) {
             log.logEvent(LogEventLevel.WARNING, "Unable to write high-score value to registry.");
         }
+
+        scheduler.deferSliced(Priority.HUD, "High score table update", highScoreTableUpdate());
+    }
+
+    // Create a deferred task which parses high scores from the config and rebuilds the high score table render entries,
+    // one table row per slice. Rows are built into a staging table, which replaces the displayed one on the last slice,
+    // so that a partly updated table is never drawn.
+    private FrameScheduler.Task highScoreTableUpdate()
+    {
+        return new FrameScheduler.Task() {
+            private ARKJsonElement[] scores;
+            private ARKJsonElement[] scoreNames;
+            private RenderCommand[][] staged;
+            private int row = 0;
+
+            @Override
+            public boolean step()
+            {
+                try {
+                    // Look up the score tables along with the first row
+                    if(staged == null) {
+                        scores = cfg.index.getElementByName(ConfigKeys.KEY_SUB_PERSISTENCE).getSubElementByName(ConfigKeys.KEY_HIGH_SCORES).getSubElements();
+                        scoreNames = cfg.index.getElementByName(ConfigKeys.KEY_SUB_PERSISTENCE).getSubElementByName(ConfigKeys.KEY_HIGH_SCORE_NAMES).getSubElements();
+                        staged = new RenderCommand[highScoreTable.length][];
+                        for(int i = 0; i < staged.length; i++) staged[i] = highScoreTable[i].clone();
+                    }
+
+                    if(row < scores.length && row < staged.length) {
+                        String compiled = String.format("%-7s : %s", ScoreHUD.truncatedValue(Long.parseLong(scores[row].getDeQuotedValue())), scoreNames[row].getDeQuotedValue());
+                        staged[row][0] = ((RenderCommand.Text)staged[row][0]).withText(compiled);
+                        staged[row][1] = ((RenderCommand.Text)staged[row][1]).withText(compiled);
+                        row ++;
+                        if(row < scores.length && row < staged.length) return false;
+                    }
+
+                    highScoreTable = staged;
+                    return true;
+                } catch (NumberFormatException | NullPointerException e) {
+                    log.logEvent(LogEventLevel.ERROR, "Unable to parse high score table.");
+                    return true;
+                }
+            }
+        };
     }
 
     // Set up UI elements and engines
@@ -656,10 +842,10 @@ public class SketchMain extends PApplet
         // Main menu
         //
 
-        RenderObject mainMenuText = new RenderObject(I18N.getString(I18N.getCurrentLocale(), I18N.UI_MENU_TITLE), CENTER, 48, CENTER, CENTER,
+        RenderObject mainMenuText = new RenderObject(I18N.getString(I18N.UI_MENU_TITLE), CENTER, 48, CENTER, CENTER,
                 UI_TEXT_COLOR, startX + (buttonW / 2), specs[1], -1, -1);
-        mainMenu.staticRenderable.add(buildDropShadow(mainMenuText));
-        mainMenu.staticRenderable.add(mainMenuText);
+        mainMenu.staticCommands.add(RenderCommand.of(buildDropShadow(mainMenuText)));
+        mainMenu.staticCommands.add(RenderCommand.of(mainMenuText));
         specs[1] = height / 2.0f;
 
         mainMenu.managed.add(buildButton(specs, I18N.UI_MENU_ENTRY_START, (x, y, type, ID) -> {
@@ -682,10 +868,10 @@ public class SketchMain extends PApplet
         //
 
         specs[1] = buttonH + buttonS;
-        RenderObject optionsMenuTitle = new RenderObject(I18N.getString(I18N.getCurrentLocale(), I18N.UI_OPTIONS_MENU_TITLE), CENTER,
+        RenderObject optionsMenuTitle = new RenderObject(I18N.getString(I18N.UI_OPTIONS_MENU_TITLE), CENTER,
                 36, CENTER, CENTER, UI_TEXT_COLOR, startX + (buttonW / 2), specs[1], -1, -1);
-        optionsMenu.staticRenderable.add(buildDropShadow(optionsMenuTitle));
-        optionsMenu.staticRenderable.add(optionsMenuTitle);
+        optionsMenu.staticCommands.add(RenderCommand.of(buildDropShadow(optionsMenuTitle)));
+        optionsMenu.staticCommands.add(RenderCommand.of(optionsMenuTitle));
 
         Switch tmp;
         specs[1] += buttonH + buttonS;
@@ -704,13 +890,18 @@ public class SketchMain extends PApplet
         tmp = buildConfigSwitch(specs, I18N.UI_OPTIONS_NIGHTMARE, ConfigKeys.KEY_NIGHTMARE);
         optionsMenu.managed.add(tmp);
         configOptions.put(tmp, ConfigKeys.KEY_NIGHTMARE);
+        specs[1] += buttonH + buttonS;
+
+        tmp = buildConfigSwitch(specs, I18N.UI_OPTIONS_SWARM, ConfigKeys.KEY_SWARM);
+        optionsMenu.managed.add(tmp);
+        configOptions.put(tmp, ConfigKeys.KEY_SWARM);
         specs[0] += (buttonW * 0.125f);
         specs[1] += buttonH + buttonS;
 
-        RenderObject nmText = new RenderObject(I18N.getString(I18N.getCurrentLocale(), I18N.UI_OPTIONS_NIGHTMARE_INFO), CORNER,
+        RenderObject nmText = new RenderObject(I18N.getString(I18N.UI_OPTIONS_NIGHTMARE_INFO), CORNER,
                 18, CENTER, CENTER, UI_TEXT_COLOR, width / 2.0f, specs[1], -1, -1);
-        optionsMenu.staticRenderable.add(buildDropShadow(nmText));
-        optionsMenu.staticRenderable.add(nmText);
+        optionsMenu.staticCommands.add(RenderCommand.of(buildDropShadow(nmText)));
+        optionsMenu.staticCommands.add(RenderCommand.of(nmText));
         specs[0] = startX;
         specs[1] += buttonH + buttonS;
         specs[2] = buttonW;
@@ -728,15 +919,21 @@ public class SketchMain extends PApplet
                    opt[i] = r.name() + " (" + r.xRes + "x" + r.yRes + ")";
                }
 
-               Object res = JOptionPane.showInputDialog(null, I18N.getString(I18N.getCurrentLocale(), I18N.DIALOG_RESOLUTION),
-                       I18N.getString(I18N.getCurrentLocale(), I18N.DIALOG_RESOLUTION_TITLE), JOptionPane.QUESTION_MESSAGE,
-                       null, opt, opt[current.ordinal()]);
-
-               Resolution chosen = null;
-               for(int i = 0; i < opt.length; i++) if (opt[i].equals(res)) chosen = values[i];
-
-               if((chosen != null && chosen.ordinal() != current.ordinal()))
-                   changeRes(chosen, false);
+               float w = width * DIALOG_WIDTH_FACTOR;
+               float h = height * DIALOG_HEIGHT_FACTOR;
+               showDialog(new ChoiceDialog((width - w) / 2.0f, (height - h) / 2.0f, w, h, BUTTON_BG_COLOR, UI_BUTTON_TEXT_COLOR,
+                       BUTTON_BORDER_COLOR, I18N.getString(I18N.DIALOG_RESOLUTION_TITLE),
+                       I18N.getString(I18N.DIALOG_RESOLUTION), opt, current.ordinal(),
+                       I18N.getString(I18N.DIALOG_OK), I18N.getString(I18N.DIALOG_CANCEL),
+                       (result, res) -> {
+                           if(result != Dialog.RESULT_CONFIRM) return;
+
+                           Resolution chosen = null;
+                           for(int i = 0; i < opt.length; i++) if (opt[i].equals(res)) chosen = values[i];
+
+                           if((chosen != null && chosen.ordinal() != current.ordinal()))
+                               changeRes(chosen, false);
+                       }));
            }
         }));
 
@@ -747,16 +944,16 @@ public class SketchMain extends PApplet
             if(type == InteractionType.MOUSE_UP)
             {
                 // Warn the user that this action cannot be undone, and ask them to confirm.
-                int res = JOptionPane.showConfirmDialog(null, I18N.getString(I18N.getCurrentLocale(), I18N.DIALOG_RESET),
-                        I18N.getString(I18N.getCurrentLocale(), I18N.DIALOG_RESET_TITLE), JOptionPane.YES_NO_OPTION);
-                if(res == 0) {
-                    // If the user has confirmed reset, load defaults, show confirmation dialog, clear session stats, and go back to the main menu.
-                    cfg.loadDefaults();
-                    stats.resetSessionDeaths();
-                    stats.updateStatsFromCfg();
-                    JOptionPane.showMessageDialog(null, I18N.getString(I18N.getCurrentLocale(), I18N.DIALOG_RESET_SUCCESS));
-                    state = UIState.MAIN_MENU;
-                }
+                showDialog(buildConfirmDialog(I18N.DIALOG_RESET_TITLE, I18N.DIALOG_RESET, I18N.DIALOG_YES, I18N.DIALOG_NO, (res, value) -> {
+                    if(res == Dialog.RESULT_CONFIRM) {
+                        // If the user has confirmed reset, load defaults, show confirmation dialog, clear session stats, and go back to the main menu.
+                        cfg.loadDefaults();
+                        stats.resetSessionDeaths();
+                        scheduler.defer(Priority.HUD, "Stats refresh", stats::updateStatsFromCfg);
+                        showDialog(buildConfirmDialog(I18N.NONE, I18N.DIALOG_RESET_SUCCESS, I18N.DIALOG_OK, I18N.NONE, null));
+                        state = UIState.MAIN_MENU;
+                    }
+                }));
             }
         }));
 
@@ -785,10 +982,10 @@ public class SketchMain extends PApplet
         gameOver.staticRenderable.add(lastScore[0]);
         specs[1] += (buttonH + buttonS) * 3.5f;
 
-        RenderObject restartPrompt = new RenderObject(I18N.getString(I18N.getCurrentLocale(), I18N.UI_GAME_OVER_PROMPT),
+        RenderObject restartPrompt = new RenderObject(I18N.getString(I18N.UI_GAME_OVER_PROMPT),
                 CENTER, 18, CENTER, CENTER, UI_BUTTON_TEXT_COLOR, width / 2.0f, specs[1], -1, -1);
-        gameOver.staticRenderable.add(buildDropShadow(restartPrompt));
-        gameOver.staticRenderable.add(restartPrompt);
+        gameOver.staticCommands.add(RenderCommand.of(buildDropShadow(restartPrompt)));
+        gameOver.staticCommands.add(RenderCommand.of(restartPrompt));
         specs[1] += (buttonH + buttonS) * 0.5f;
 
         gameOver.managed.add(buildButton(specs, I18N.UI_GAME_OVER_RESTART, (x, y, type, ID) -> {
@@ -806,18 +1003,19 @@ public class SketchMain extends PApplet
 
         // Generate high-score table entries
         for(int i = highScoreTable.length - 1; i >= 0; i--){
-            highScoreTable[i][2] = new RenderObject(UI_TEXT_COLOR, specs[0], specs[1], specs[0] + buttonW, specs[1]);
+            highScoreTable[i][2] = new RenderCommand.Line(UI_TEXT_COLOR, specs[0], specs[1], specs[0] + buttonW, specs[1]);
             specs[1] -= buttonS;
-            highScoreTable[i][1] = new RenderObject("", CENTER, 24, LEFT, CENTER, UI_TEXT_COLOR, specs[0], specs[1], -1, -1);
-            highScoreTable[i][0] = buildDropShadow(highScoreTable[i][1]);
+            RenderObject entry = new RenderObject("", CENTER, 24, LEFT, CENTER, UI_TEXT_COLOR, specs[0], specs[1], -1, -1);
+            highScoreTable[i][1] = RenderCommand.of(entry);
+            highScoreTable[i][0] = RenderCommand.of(buildDropShadow(entry));
             specs[1] -= buttonS;
         }
         specs[1] -= buttonH;
 
-        RenderObject highScoreTitle = new RenderObject(I18N.getString(I18N.getCurrentLocale(), I18N.UI_GAME_OVER_HIGH_SCORE),
+        RenderObject highScoreTitle = new RenderObject(I18N.getString(I18N.UI_GAME_OVER_HIGH_SCORE),
                 CENTER, 36, LEFT, CENTER, UI_TEXT_COLOR, specs[0], specs[1], -1, -1);
-        gameOver.staticRenderable.add(buildDropShadow(highScoreTitle));
-        gameOver.staticRenderable.add(highScoreTitle);
+        gameOver.staticCommands.add(RenderCommand.of(buildDropShadow(highScoreTitle)));
+        gameOver.staticCommands.add(RenderCommand.of(highScoreTitle));
 
         // Bind engines to game states for input handling
         stateInputMap.put(UIState.MAIN_MENU, mainMenu);
@@ -825,67 +1023,67 @@ public class SketchMain extends PApplet
         stateInputMap.put(UIState.GAME_OVER, gameOver);
     }
 
-    // Generate grid background and save to cache image
+    // Generate grid background and save to cache image. The image is one grid cell larger than the window in each
+    // axis, so that it can be scrolled by up to one cell to follow the camera, see drawBackground().
     private void genBackground()
     {
-        // Clear current elements if there are any
-        background(BG_COLOR);
+        PGraphics g = createGraphics(width + BG_GRID_SPACING, height + BG_GRID_SPACING);
+        g.beginDraw();
+        g.background(BG_COLOR);
 
-        float spacing = 80.0f; // Space between the center of each grid line in X and Y axes
         int fade = 8; // Number of pixels on each side of the lines before the line fades away entirely
         int aInterval = (255 / fade);
-
-        // Start at the horizontal center of the canvas
-        float p1 = width / 2.0f;
-        float p2 = width / 2.0f;
         float alpha;
         int diff;
 
         // Translate background color into mutable ARGB form
         int[] bgC = StaticUtils.toARGB(BG_LINE_COLOR);
 
-        // Iterate away from the center of the canvas, drawing each set of lines as we go
-        while(p1 > 0.0f && p2 < width)
+        // Line up the grid so that a line passes through the center of the window while the camera is at the world origin
+        float startX = ((width / 2.0f) % BG_GRID_SPACING) - BG_GRID_SPACING;
+        float startY = ((height / 2.0f) % BG_GRID_SPACING) - BG_GRID_SPACING;
+
+        // Draw each vertical line with a fade effect away from its center, then repeat with the horizontal lines
+        for(float p = startX; p < g.width + BG_GRID_SPACING; p += BG_GRID_SPACING)
         {
             alpha = 255;
             diff = 0;
-            // Draw fade effect away from the lines' centers
             while(alpha > 0){
-                stroke(bgC[1], bgC[2], bgC[3], alpha);
-                line(p1 - diff, 0, p1 - diff, height);
-                line(p1 + diff, 0, p1 + diff, height);
-                line(p2 - diff, 0, p2 - diff, height);
-                line(p2 + diff, 0, p2 + diff, height);
+                g.stroke(bgC[1], bgC[2], bgC[3], alpha);
+                g.line(p - diff, 0, p - diff, g.height);
+                if(diff > 0) g.line(p + diff, 0, p + diff, g.height);
                 diff ++;
                 alpha -= aInterval;
             }
-            p1 -= spacing;
-            p2 += spacing;
         }
 
-        // Repeat process with the vertical axis
-        p1 = height / 2.0f;
-        p2 = height / 2.0f;
-
-        while(p1 > 0.0f && p2 < height)
+        for(float p = startY; p < g.height + BG_GRID_SPACING; p += BG_GRID_SPACING)
         {
             alpha = 255;
             diff = 0;
             while(alpha > 0){
-                stroke(bgC[1], bgC[2], bgC[3], alpha);
-                line(0, p1 - diff, width, p1 - diff);
-                line(0, p1 + diff, width, p1 + diff);
-                line(0, p2 - diff, width, p2 - diff);
-                line(0, p2 + diff, width, p2 + diff);
+                g.stroke(bgC[1], bgC[2], bgC[3], alpha);
+                g.line(0, p - diff, g.width, p - diff);
+                if(diff > 0) g.line(0, p + diff, g.width, p + diff);
                 diff ++;
                 alpha -= aInterval;
             }
-            p1 -= spacing;
-            p2 += spacing;
         }
 
         // Save completed grid effect to cache image
-        BG = get(0, 0, width, height);
+        g.endDraw();
+        BG = g.get();
+    }
+
+    // Draw the background grid, scrolled to match the view of the frame submitted by the render pipeline. Since the grid
+    // repeats every cell, the cached image only has to be shifted by the camera position modulo the grid spacing.
+    private void drawBackground()
+    {
+        float ox = pipeline.getOriginX() % BG_GRID_SPACING;
+        float oy = pipeline.getOriginY() % BG_GRID_SPACING;
+        if(ox < 0) ox += BG_GRID_SPACING;
+        if(oy < 0) oy += BG_GRID_SPACING;
+        image(BG, -ox, -oy);
     }
 
     // Change stored screen resolution to the specified ID
@@ -912,9 +1110,9 @@ public class SketchMain extends PApplet
         if(duringInit){
             surface.setSize(ID.xRes, ID.yRes);
         }else{
-            int restart = JOptionPane.showConfirmDialog(null, I18N.getString(I18N.getCurrentLocale(),
-                    I18N.DIALOG_RESTART), I18N.getString(I18N.getCurrentLocale(), I18N.DIALOG_RESTART_TITLE), JOptionPane.YES_NO_OPTION);
-            if(restart == 0) exit();
+            showDialog(buildConfirmDialog(I18N.DIALOG_RESTART_TITLE, I18N.DIALOG_RESTART, I18N.DIALOG_YES, I18N.DIALOG_NO, (restart, value) -> {
+                if(restart == Dialog.RESULT_CONFIRM) exit();
+            }));
         }
     }
 
@@ -931,6 +1129,16 @@ public class SketchMain extends PApplet
         }
     }
 
+    // Get the render backend from the config. Called before logging is initialized, so errors are not reported.
+    private Renderer loadRendererFromCfg()
+    {
+        try {
+            return Renderer.valueOf(cfg.index.getElementByName(ConfigKeys.KEY_SUB_CONFIG).getSubElementByName(ConfigKeys.KEY_RENDERER).getDeQuotedValue());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return Renderer.valueOf(cfg.getDefaultForKey(ConfigKeys.KEY_RENDERER));
+        }
+    }
+
     //
     // UTILITY METHODS
     //
@@ -942,7 +1150,7 @@ public class SketchMain extends PApplet
      * @return whether the provided key combination is active or not
      */
     public boolean getKeyCombo(int... keyCodes) {
-        for(int k : keyCodes) if (!pressedKeys.get(k)) return false;
+        for(int k : keyCodes) if (!keyHeld(k)) return false;
         return true;
     }
 
@@ -950,7 +1158,52 @@ public class SketchMain extends PApplet
      * Returns {@code true} if the specified key hold code exists and is currently held down.
      */
     public boolean keyHeld(int keyCode){
-        return pressedKeys.get(keyCode) != null && pressedKeys.get(keyCode);
+        return keyCode >= 0 && pressedKeys.get(keyCode);
+    }
+
+    // Update key/mouse hold registers from a queued input event and pass it to the active UX engine
+    private void handleInput(InteractionType type, int ID, int x, int y, long time)
+    {
+        switch (type)
+        {
+            case MOUSE_DOWN:
+            case MOUSE_UP:
+                if(ID >= 0) pressedMouseButtons.set(ID, type == InteractionType.MOUSE_DOWN);
+                break;
+            case KB_DOWN:
+            case KB_UP:
+                if(ID >= 0) pressedKeys.set(ID, type == InteractionType.KB_DOWN);
+                break;
+        }
+
+        // Open dialogs take all input away from the active UX engine. Dialogs closed by an earlier event in the same
+        // batch are pruned first, so that any following events reach whatever is underneath them.
+        dialogs.managed.removeIf(d -> !((Dialog)d).isOpen());
+        dialogOpen = dialogs.managed.size() > 0;
+        Interactable target = dialogOpen ? dialogs.managed.get(dialogs.managed.size() - 1) : stateInputMap.get(state);
+
+        // Clear any hover highlights left on the previous target once input is routed somewhere else
+        if(inputTarget != null && inputTarget != target) inputTarget.interact(x, y, InteractionType.MOUSE_EXIT, -1);
+        inputTarget = target;
+
+        if(target != null) target.interact(x, y, type, ID);
+    }
+
+    // Display a dialog on top of all other elements and route all input to it until it is closed
+    private void showDialog(Dialog d){
+        dialogs.managed.add(d);
+        dialogOpen = true;
+    }
+
+    // Build a confirmation dialog with default colors and layout, centered on the canvas.
+    // Set the cancel SID to I18N.NONE to only display a confirm button.
+    private ConfirmDialog buildConfirmDialog(int titleSID, int messageSID, int confirmSID, int cancelSID, DialogEvent handler)
+    {
+        float w = width * DIALOG_WIDTH_FACTOR;
+        float h = height * DIALOG_HEIGHT_FACTOR;
+        return new ConfirmDialog((width - w) / 2.0f, (height - h) / 2.0f, w, h, BUTTON_BG_COLOR, UI_BUTTON_TEXT_COLOR, BUTTON_BORDER_COLOR,
+                I18N.getString(titleSID), I18N.getString(messageSID),
+                I18N.getString(confirmSID), cancelSID == I18N.NONE ? null : I18N.getString(cancelSID), handler);
     }
 
     // State access for lambda/anonymous classes only
@@ -962,22 +1215,22 @@ public class SketchMain extends PApplet
      * Builds a default UX button element from the specified arguments and preset default values.
      * Default values are as follows:
      * Color: {@link #BUTTON_BG_COLOR}/{@link #BUTTON_BORDER_COLOR}/{@link #UI_BUTTON_TEXT_COLOR}
-     * Text: {@link I18N#getString(Locale, String)} with arguments: {@link Locale#ENGLISH}, {@code SID}
+     * Text: {@link I18N#getString(int)} with argument: {@code SID}
      * @param specs a list of coordinates and sizes for the button, in the order {@code [X, Y, W, H]}.
      * @param SID the Localized String Descriptor for the button's text, to be retrieved through the {@link I18N} interface
      * @param handler the {@link InteractEvent} handler for button actions.
      * @return the completed button object
      */
-    private Button buildButton(float[] specs, String SID, InteractEvent handler){
+    private Button buildButton(float[] specs, int SID, InteractEvent handler){
         return new Button(specs[0], specs[1], specs[2], specs[3], BUTTON_BG_COLOR, UI_BUTTON_TEXT_COLOR, BUTTON_BORDER_COLOR,
-                I18N.getString(I18N.getCurrentLocale(), SID), handler);
+                I18N.getString(SID), handler);
     }
 
     /**
      * Builds a default UX switch element from the specified arguments and preset default values.
      * Default values are as follows:
      * Color: {@link #BUTTON_BG_COLOR}/{@link #BUTTON_BORDER_COLOR}/{@link #UI_BUTTON_TEXT_COLOR}
-     * Text: {@link I18N#getString(Locale, String)} with arguments: {@link Locale#ENGLISH}, {@code SID}
+     * Text: {@link I18N#getString(int)} with argument: {@code SID}
      * InteractionHandler: A default handler which toggles the state of the switch and stores the new value to the config upon
      *                     receiving a {@link InteractionType#MOUSE_DOWN} event.
      * @param specs a list of coordinates and sizes for the button, in the order {@code [X, Y, W, H]}.
@@ -985,10 +1238,10 @@ public class SketchMain extends PApplet
      * @param configID the config setting ID from {@link ConfigKeys} to use for value storage and retrieval
      * @return the completed switch object
      */
-    private Switch buildConfigSwitch(float[] specs, String SID, String configID)
+    private Switch buildConfigSwitch(float[] specs, int SID, String configID)
     {
         return new Switch(specs[0], specs[1], specs[2], specs[3], BUTTON_BG_COLOR, UI_BUTTON_TEXT_COLOR,
-                BUTTON_BORDER_COLOR, I18N.getString(I18N.getCurrentLocale(), SID), (x, y, type, ID) -> {
+                BUTTON_BORDER_COLOR, I18N.getString(SID), (x, y, type, ID) -> {
             if(type == InteractionType.MOUSE_DOWN){
                 // Load config parent element
                 ARKJsonElement[] subs = cfg.index.getElementByName(ConfigKeys.KEY_SUB_CONFIG).getSubElements();
@@ -1014,20 +1267,22 @@ public class SketchMain extends PApplet
 
     /**
      * Builds a 'drop-shadow'-like effect for the specified text object.
-     * This shadow is a copy of the original, but shifted left 2.5% and up 6%, using the color value
-     * specified by {@link #UI_TEXT_SHADOW_COLOR}.
+     * This shadow is a copy of the original, but shifted left 2.5% and up 6% of its line height, using the color value
+     * specified by {@link #UI_TEXT_SHADOW_COLOR}. Offsets are taken from the text metrics cache.
      * @param text a {@link RenderObject} with render type {@link com.michaelRunzler.TPG5.Util.RenderObject.RenderType#TEXT TEXT}.
      */
     public RenderObject buildDropShadow(RenderObject text)
     {
-        // Get text height at the set text size
-        int tmpSize = StaticUtils.getTextSize(this);
-        if(text.textSize > 0) textSize(text.textSize);
-        else textSize(24);
-        float ySize = textAscent() + textDescent();
-        textSize(tmpSize);
+        TextMetricsCache.Metrics m = textMetrics.getMetrics(text.textSize);
         return new RenderObject(text.text, text.mode, text.textSize, text.align[0], text.align[1], UI_TEXT_SHADOW_COLOR,
-                text.coords[0] - (ySize * 0.025f), text.coords[1] - (ySize * 0.06f), text.coords[2], text.coords[3]);
+                text.coords[0] + m.shadowX, text.coords[1] + m.shadowY, text.coords[2], text.coords[3]);
+    }
+
+    /**
+     * Gets the text measurement cache for this sketch.
+     */
+    public TextMetricsCache getTextMetrics(){
+        return textMetrics;
     }
 
     // Load a value from the config index
@@ -1058,7 +1313,7 @@ public class SketchMain extends PApplet
             else{
                 // If generation has already been attempted, and the value still cannot be loaded, abort and return false instead.
                 log.logEvent(LogEventLevel.ERROR, "Could not load config value for entry " + key + ", aborting.");
-                JOptionPane.showMessageDialog(null, I18N.getString(Locale.ENGLISH, I18N.DIALOG_CONFIG_ERROR));
+                JOptionPane.showMessageDialog(null, I18N.getString(I18N.DIALOG_CONFIG_ERROR));
                 return "";
             }
 
@@ -21,6 +21,7 @@ public class Button extends UXElement
     protected InteractEvent action;
     protected int tColor; // Text color
     protected int bColor; // Border color
+    protected boolean hovered; // Whether the mouse pointer is currently over this button
 
     /**
      * Standard constructor.
@@ -47,6 +48,7 @@ public class Button extends UXElement
         this.tColor = textColor;
         this.bColor = borderColor;
         this.text = text;
+        this.hovered = false;
     }
 
     /**
@@ -78,6 +80,10 @@ public class Button extends UXElement
     @Override
     public void interact(int x, int y, InteractionType type, int ID)
     {
+        // Track hover state for highlighting
+        if(type == InteractionType.MOUSE_ENTER) hovered = true;
+        else if(type == InteractionType.MOUSE_EXIT) hovered = false;
+
         // Check bounds of action event if it is a mouse click, then pass event to action event handler
         if(this.action != null && (type != InteractionType.MOUSE_DOWN || (x <= this.pos.x + this.size.x && x >= this.pos.x
                 && y <= this.pos.y + this.size.y && y >= this.pos.y))) this.action.action(x, y, type, ID);
@@ -95,7 +101,7 @@ public class Button extends UXElement
 
         // Generate solid-color background and/or border depending on color values
         if(BGImage == null || (bColor != Integer.MIN_VALUE))
-            b = new RenderObject(PApplet.CORNER, super.BG, bColor, super.pos.x, super.pos.y, super.size.x, super.size.y, 6.0f);
+            b = new RenderObject(PApplet.CORNER, super.BG, hovered ? tColor : bColor, super.pos.x, super.pos.y, super.size.x, super.size.y, 6.0f);
 
         // Generate image background if one was provided
         if(BGImage != null)
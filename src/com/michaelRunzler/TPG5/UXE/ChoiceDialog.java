@@ -0,0 +1,90 @@
+package com.michaelRunzler.TPG5.UXE;
+
+import com.michaelRunzler.TPG5.Util.DialogEvent;
+import com.michaelRunzler.TPG5.Util.InteractionType;
+import com.michaelRunzler.TPG5.Util.RenderObject;
+import processing.core.PApplet;
+
+/**
+ * A dialog which asks the user to select one entry from a list of options.
+ * The selected option is cycled with the arrow buttons on either side of it, or with the Left and Right arrow keys.
+ */
+public class ChoiceDialog extends Dialog
+{
+    private String[] options;
+    private int selected;
+
+    /**
+     * Standard constructor.
+     * @param x the left X-coordinate of this dialog
+     * @param y the upper Y-coordinate of this dialog
+     * @param w the width of this dialog
+     * @param h the height of this dialog
+     * @param BGColor the background fill color
+     * @param textColor the color of all drawn text
+     * @param borderColor the color of the border
+     * @param title the title text of this dialog
+     * @param message the message text of this dialog
+     * @param options the list of options to choose from. Must contain at least one entry.
+     * @param initial the index of the initially selected option
+     * @param confirmText the text to display on the confirm button
+     * @param cancelText the text to display on the cancel button. Set to {@code null} to only display a confirm button.
+     * @param action a completion handler, called once when the dialog is closed with the selected option as its value.
+     *               May be {@code null}.
+     */
+    public ChoiceDialog(float x, float y, float w, float h, int BGColor, int textColor, int borderColor, String title,
+                        String message, String[] options, int initial, String confirmText, String cancelText, DialogEvent action)
+    {
+        super(x, y, w, h, BGColor, textColor, borderColor, title, message, confirmText, cancelText, action);
+        if(options == null || options.length == 0) throw new IllegalArgumentException("Option list cannot be empty!");
+        this.options = options;
+        this.selected = initial < 0 || initial >= options.length ? 0 : initial;
+
+        // Add selection arrows on either side of the content area
+        float cH = h * CONTENT_RATIO;
+        float cY = y + BORDER_GAP + (h * TITLE_RATIO) + (h * MESSAGE_RATIO);
+        content.managed.add(new Button(x + BORDER_GAP, cY, cH, cH, BGColor, textColor, borderColor, "<", (bx, by, type, ID) -> {
+            if(type == InteractionType.MOUSE_UP) cycle(-1);
+        }));
+        content.managed.add(new Button(x + w - (BORDER_GAP + cH), cY, cH, cH, BGColor, textColor, borderColor, ">", (bx, by, type, ID) -> {
+            if(type == InteractionType.MOUSE_UP) cycle(1);
+        }));
+    }
+
+    /**
+     * Gets the index of the currently selected option.
+     */
+    public int getSelectedIndex(){
+        return selected;
+    }
+
+    @Override
+    public String getValue(){
+        return options[selected];
+    }
+
+    @Override
+    public void interact(int x, int y, InteractionType type, int ID)
+    {
+        if(isOpen() && type == InteractionType.KB_DOWN && (ID == PApplet.LEFT || ID == PApplet.RIGHT)) {
+            cycle(ID == PApplet.LEFT ? -1 : 1);
+            return;
+        }
+
+        super.interact(x, y, type, ID);
+    }
+
+    @Override
+    protected RenderObject[] renderContent(float x, float y, float w, float h)
+    {
+        // Leave room for the arrow buttons on either side of the selected option
+        RenderObject text = new RenderObject(options[selected], PApplet.CORNER, MESSAGE_SIZE, PApplet.CENTER, PApplet.CENTER,
+                tColor, x + h + BORDER_GAP, y, w - ((h + BORDER_GAP) * 2), h);
+        return new RenderObject[]{text};
+    }
+
+    // Move the selection by the specified number of entries, wrapping around at either end of the list
+    private void cycle(int delta){
+        selected = Math.floorMod(selected + delta, options.length);
+    }
+}
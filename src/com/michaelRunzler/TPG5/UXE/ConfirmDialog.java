@@ -0,0 +1,31 @@
+package com.michaelRunzler.TPG5.UXE;
+
+import com.michaelRunzler.TPG5.Util.DialogEvent;
+
+/**
+ * A dialog which displays a message and asks the user to confirm or cancel.
+ * If no cancel text is provided, acts as a simple message box with a single confirm button.
+ */
+public class ConfirmDialog extends Dialog
+{
+    /**
+     * Standard constructor.
+     * @param x the left X-coordinate of this dialog
+     * @param y the upper Y-coordinate of this dialog
+     * @param w the width of this dialog
+     * @param h the height of this dialog
+     * @param BGColor the background fill color
+     * @param textColor the color of all drawn text
+     * @param borderColor the color of the border
+     * @param title the title text of this dialog
+     * @param message the message text of this dialog
+     * @param confirmText the text to display on the confirm button
+     * @param cancelText the text to display on the cancel button. Set to {@code null} to only display a confirm button.
+     * @param action a completion handler, called once when the dialog is closed. May be {@code null}.
+     */
+    public ConfirmDialog(float x, float y, float w, float h, int BGColor, int textColor, int borderColor, String title,
+                         String message, String confirmText, String cancelText, DialogEvent action)
+    {
+        super(x, y, w, h, BGColor, textColor, borderColor, title, message, confirmText, cancelText, action);
+    }
+}
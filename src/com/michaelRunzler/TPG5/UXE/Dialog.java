@@ -0,0 +1,176 @@
+package com.michaelRunzler.TPG5.UXE;
+
+import com.michaelRunzler.TPG5.Engine.UXElement;
+import com.michaelRunzler.TPG5.Engine.UXEngine;
+import com.michaelRunzler.TPG5.Util.DialogEvent;
+import com.michaelRunzler.TPG5.Util.InteractionType;
+import com.michaelRunzler.TPG5.Util.RenderObject;
+import processing.core.PApplet;
+
+/**
+ * Base class for in-canvas, non-modal dialog boxes.
+ * A dialog displays a title, a message, optional subclass-specific content, and a confirm button with an optional
+ * cancel button. The dialog is rendered and interacted with like any other {@link UXElement}, so the sketch keeps
+ * running at full frame rate while it is open. Once the user closes the dialog, its {@link DialogEvent} callback
+ * is called with the result.
+ */
+public abstract class Dialog extends UXElement
+{
+    public static final int RESULT_CONFIRM = 0;
+    public static final int RESULT_CANCEL = 1;
+
+    protected static final float BORDER_GAP = 10.0f; // Gap between all internal elements and the border of the dialog
+    protected static final float TITLE_RATIO = 0.15f; // Decimal percentage of the dialog's height used by the title
+    protected static final float MESSAGE_RATIO = 0.35f; // Decimal percentage of the dialog's height used by the message
+    protected static final float CONTENT_RATIO = 0.20f; // Decimal percentage of the dialog's height used by subclass content
+    protected static final float BUTTON_RATIO = 0.18f; // Decimal percentage of the dialog's height used by the buttons
+    protected static final int TITLE_SIZE = 24;
+    protected static final int MESSAGE_SIZE = 18;
+
+    protected String title;
+    protected String message;
+    protected int tColor; // Text color
+    protected int bColor; // Border color
+    protected UXEngine content; // Internal engine for buttons and other interactive subelements
+    private DialogEvent action;
+    private boolean open;
+
+    /**
+     * Standard constructor.
+     * @param x the left X-coordinate of this dialog
+     * @param y the upper Y-coordinate of this dialog
+     * @param w the width of this dialog
+     * @param h the height of this dialog
+     * @param BGColor the background fill color
+     * @param textColor the color of all drawn text
+     * @param borderColor the color of the border
+     * @param title the title text of this dialog
+     * @param message the message text of this dialog
+     * @param confirmText the text to display on the confirm button
+     * @param cancelText the text to display on the cancel button. Set to {@code null} to only display a confirm button.
+     * @param action a completion handler, called once when the dialog is closed. May be {@code null}.
+     */
+    protected Dialog(float x, float y, float w, float h, int BGColor, int textColor, int borderColor, String title,
+                     String message, String confirmText, String cancelText, DialogEvent action)
+    {
+        super();
+        super.pos.x = x;
+        super.pos.y = y;
+        super.size.x = w;
+        super.size.y = h;
+        super.BG = BGColor;
+        this.tColor = textColor;
+        this.bColor = borderColor;
+        this.title = title == null ? "" : title;
+        this.message = message == null ? "" : message;
+        this.action = action;
+        this.open = true;
+        this.content = new UXEngine();
+
+        // Lay out buttons along the bottom of the dialog, splitting the available width if there are two of them
+        float bH = h * BUTTON_RATIO;
+        float bY = y + h - (bH + BORDER_GAP);
+        float bW = cancelText == null ? w / 3.0f : (w - (BORDER_GAP * 3)) / 2.0f;
+        float bX = cancelText == null ? x + (w / 2.0f) - (bW / 2.0f) : x + BORDER_GAP;
+
+        content.managed.add(new Button(bX, bY, bW, bH, BGColor, textColor, borderColor, confirmText, (bx, by, type, ID) -> {
+            if(type == InteractionType.MOUSE_UP) confirm();
+        }));
+
+        if(cancelText != null)
+            content.managed.add(new Button(bX + bW + BORDER_GAP, bY, bW, bH, BGColor, textColor, borderColor, cancelText, (bx, by, type, ID) -> {
+                if(type == InteractionType.MOUSE_UP) cancel();
+            }));
+    }
+
+    /**
+     * Checks if this dialog is still open. Closed dialogs ignore all interaction and should be removed from display.
+     */
+    public boolean isOpen(){
+        return open;
+    }
+
+    /**
+     * Closes this dialog with a result of {@link #RESULT_CONFIRM}.
+     */
+    public void confirm(){
+        close(RESULT_CONFIRM);
+    }
+
+    /**
+     * Closes this dialog with a result of {@link #RESULT_CANCEL}.
+     */
+    public void cancel(){
+        close(RESULT_CANCEL);
+    }
+
+    /**
+     * Gets the value entered or selected by the user. By default, dialogs do not accept a value and return {@code null}.
+     * Subclasses should override this to reflect their own input.
+     */
+    public String getValue(){
+        return null;
+    }
+
+    /**
+     * Generates the render pipeline objects for any subclass-specific content, which is displayed between the message
+     * and the buttons. By default, returns an empty array.
+     * @param x the left X-coordinate of the content area
+     * @param y the upper Y-coordinate of the content area
+     * @param w the width of the content area
+     * @param h the height of the content area
+     */
+    protected RenderObject[] renderContent(float x, float y, float w, float h){
+        return new RenderObject[0];
+    }
+
+    @Override
+    public void interact(int x, int y, InteractionType type, int ID)
+    {
+        if(!open) return;
+
+        // Confirm on Enter, cancel on Escape, and pass all other events to the internal engine for bounds checking
+        if(type == InteractionType.KB_DOWN && (ID == PApplet.ENTER || ID == PApplet.RETURN)) confirm();
+        else if(type == InteractionType.KB_DOWN && ID == PApplet.ESC) cancel();
+        else content.interact(x, y, type, ID);
+    }
+
+    @Override
+    public RenderObject[] render()
+    {
+        float innerW = super.size.x - (BORDER_GAP * 2);
+        float innerX = super.pos.x + BORDER_GAP;
+        float titleH = super.size.y * TITLE_RATIO;
+        float messageH = super.size.y * MESSAGE_RATIO;
+        float contentH = super.size.y * CONTENT_RATIO;
+        float messageY = super.pos.y + BORDER_GAP + titleH;
+        float contentY = messageY + messageH;
+
+        RenderObject panel = new RenderObject(PApplet.CORNER, super.BG, bColor, super.pos.x, super.pos.y, super.size.x, super.size.y, 6.0f);
+        RenderObject t = new RenderObject(title, PApplet.CORNER, TITLE_SIZE, PApplet.CENTER, PApplet.CENTER, tColor,
+                innerX, super.pos.y + BORDER_GAP, innerW, titleH);
+        RenderObject m = new RenderObject(message, PApplet.CORNER, MESSAGE_SIZE, PApplet.CENTER, PApplet.CENTER, tColor,
+                innerX, messageY, innerW, messageH);
+
+        RenderObject[] c = renderContent(innerX, contentY, innerW, contentH);
+        RenderObject[] b = content.render();
+
+        // Assemble panel, text, content, and buttons in back-to-front order
+        RenderObject[] retV = new RenderObject[3 + c.length + b.length];
+        retV[0] = panel;
+        retV[1] = t;
+        retV[2] = m;
+        System.arraycopy(c, 0, retV, 3, c.length);
+        System.arraycopy(b, 0, retV, 3 + c.length, b.length);
+
+        return retV;
+    }
+
+    // Close this dialog and call the completion handler, ignoring repeated calls
+    private void close(int result)
+    {
+        if(!open) return;
+        open = false;
+        if(action != null) action.action(result, getValue());
+    }
+}
@@ -7,6 +7,7 @@ import com.michaelRunzler.TPG5.Util.ConfigKeys;
 import com.michaelRunzler.TPG5.Util.I18N;
 import com.michaelRunzler.TPG5.Util.InteractionType;
 import com.michaelRunzler.TPG5.Util.RenderObject;
+import com.michaelRunzler.TPG5.Util.TextMetricsCache;
 import core.CoreUtil.ARKJsonParser.ARKJsonElement;
 import core.CoreUtil.AUNIL.LogEventLevel;
 import core.CoreUtil.AUNIL.XLoggerInterpreter;
@@ -22,12 +23,15 @@ import java.util.Random;
 public class StatsHUD extends UXElement
 {
     public static final float INTER_LINE_GAP = 5.0f; // Gap between each text line
+    public static final int TEXT_SIZE = TextMetricsCache.DEFAULT_TEXT_SIZE;
     private int sessionDeaths;
     private ConfigEngine config;
-    private String t1; // Generated taunt line for session death counter
-    private String t2; // Generated taunt line for global death counter
+    private int t1; // Generated taunt line ID for session death counter
+    private int t2; // Generated taunt line ID for global death counter
+    private String[] strings; // Cached localized text, reloaded when the locale changes
     private int totalDeaths;
     private long highScore; // #1 score place from high-score table
+    private TextMetricsCache metrics; // Shared with the parent sketch if possible
 
     /**
      * Standard constructor.
@@ -47,18 +51,23 @@ public class StatsHUD extends UXElement
         totalDeaths = 0;
         highScore = 0;
         this.config = source;
+        this.metrics = parent instanceof SketchMain ? ((SketchMain) parent).getTextMetrics() : null;
+        if(metrics == null) metrics = new TextMetricsCache(parent);
 
         // Generate taunt IDs
         Random rng = new Random(System.currentTimeMillis());
-        int gen = rng.nextInt(I18N.genTaunt.length);
-        t1 = I18N.getString(I18N.getCurrentLocale(), I18N.UI_TAUNT_MASTER + gen);
+        int gen = rng.nextInt(I18N.TAUNT_COUNT);
+        t1 = I18N.UI_TAUNT_MASTER + gen;
 
         // Ensure that both generated taunt strings are not using the same taunt ID
         int gen2;
-        do gen2 = rng.nextInt(I18N.genTaunt.length);
+        do gen2 = rng.nextInt(I18N.TAUNT_COUNT);
         while(gen2 == gen);
 
-        t2 = I18N.getString(I18N.getCurrentLocale(), I18N.UI_TAUNT_MASTER + gen2);
+        t2 = I18N.UI_TAUNT_MASTER + gen2;
+
+        loadStrings();
+        I18N.addLocaleListener(locale -> loadStrings());
         updateStatsFromCfg();
     }
 
@@ -129,25 +138,22 @@ public class StatsHUD extends UXElement
     @Override
     public RenderObject[] render()
     {
-        parent.textSize(24);
-        super.size.y = (parent.textAscent() + parent.textDescent() + INTER_LINE_GAP) * 3;
+        super.size.y = (metrics.getMetrics(TEXT_SIZE).getLineHeight() + INTER_LINE_GAP) * 3;
         float lineHeight = super.size.y / 3.0f;
 
         // Generate and encapsulate session-death text
-        String compSD = String.format("%s %d %s %s", I18N.getString(I18N.getCurrentLocale(), I18N.UI_SESSIONDEATH_PREFIX), sessionDeaths,
-                I18N.getString(I18N.getCurrentLocale(), I18N.UI_SESSIONDEATH_SUFFIX), sessionDeaths < 25 ? "" : t1);
-        RenderObject sd = new RenderObject(compSD, PApplet.CORNER, PApplet.RIGHT, PApplet.TOP, parent.color(255),
+        String compSD = String.format("%s %d %s %s", strings[0], sessionDeaths, strings[1], sessionDeaths < 25 ? "" : strings[5]);
+        RenderObject sd = new RenderObject(compSD, PApplet.CORNER, TEXT_SIZE, PApplet.RIGHT, PApplet.TOP, parent.color(255),
                 super.pos.x, super.pos.y, -1, lineHeight);
 
         // Generate and encapsulate global-death text
-        String compTD = String.format("%s %d %s %s", I18N.getString(I18N.getCurrentLocale(), I18N.UI_GLOBALDEATH_PREFIX), totalDeaths,
-                I18N.getString(I18N.getCurrentLocale(), I18N.UI_GLOBALDEATH_SUFFIX), totalDeaths < 200 ? "" : t2);
-        RenderObject td = new RenderObject(compTD, PApplet.CORNER, PApplet.RIGHT, PApplet.TOP, parent.color(255),
+        String compTD = String.format("%s %d %s %s", strings[2], totalDeaths, strings[3], totalDeaths < 200 ? "" : strings[6]);
+        RenderObject td = new RenderObject(compTD, PApplet.CORNER, TEXT_SIZE, PApplet.RIGHT, PApplet.TOP, parent.color(255),
                 super.pos.x, super.pos.y + lineHeight, -1, lineHeight);
 
         // Generate and encapsulate high-score text
-        String compHS = String.format("%s %s", I18N.getString(I18N.getCurrentLocale(), I18N.UI_HIGHSCORE_PREFIX), ScoreHUD.truncatedValue(highScore));
-        RenderObject hs = new RenderObject(compHS, PApplet.CORNER, PApplet.RIGHT, PApplet.TOP, parent.color(255),
+        String compHS = String.format("%s %s", strings[4], ScoreHUD.truncatedValue(highScore));
+        RenderObject hs = new RenderObject(compHS, PApplet.CORNER, TEXT_SIZE, PApplet.RIGHT, PApplet.TOP, parent.color(255),
                 super.pos.x, super.pos.y + (lineHeight * 2), -1, lineHeight);
 
         // Build drop shadows if we're dealing with a properly initialized parent class
@@ -156,6 +162,14 @@ public class StatsHUD extends UXElement
         else return new RenderObject[]{sd, td, hs};
     }
 
+    // Reload all displayed text for the current locale
+    private void loadStrings()
+    {
+        strings = new String[]{I18N.getString(I18N.UI_SESSIONDEATH_PREFIX), I18N.getString(I18N.UI_SESSIONDEATH_SUFFIX),
+                I18N.getString(I18N.UI_GLOBALDEATH_PREFIX), I18N.getString(I18N.UI_GLOBALDEATH_SUFFIX),
+                I18N.getString(I18N.UI_HIGHSCORE_PREFIX), I18N.getString(t1), I18N.getString(t2)};
+    }
+
     @Override
     public void interact(int x, int y, InteractionType type, int ID) {
         // This object cannot be interacted with.
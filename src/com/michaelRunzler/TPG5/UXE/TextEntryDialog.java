@@ -0,0 +1,90 @@
+package com.michaelRunzler.TPG5.UXE;
+
+import com.michaelRunzler.TPG5.Util.DialogEvent;
+import com.michaelRunzler.TPG5.Util.InteractionType;
+import com.michaelRunzler.TPG5.Util.RenderObject;
+import com.michaelRunzler.TPG5.Util.StaticUtils;
+import processing.core.PApplet;
+
+/**
+ * A dialog which accepts a single line of text from the keyboard.
+ * Typed characters are appended to the entry field, and Backspace removes the last character.
+ */
+public class TextEntryDialog extends Dialog
+{
+    public static final int MAX_LENGTH = 32; // Maximum number of characters that may be entered
+    private static final int CARET_BLINK_FRAMES = 30; // Number of frames that the caret stays visible or hidden
+    private static final int FIELD_DIFF = 24; // Difference in color value between the entry field and the background
+
+    private StringBuilder entry;
+    private int frameCounter; // Counter for determining caret visibility
+
+    /**
+     * Standard constructor.
+     * @param x the left X-coordinate of this dialog
+     * @param y the upper Y-coordinate of this dialog
+     * @param w the width of this dialog
+     * @param h the height of this dialog
+     * @param BGColor the background fill color
+     * @param textColor the color of all drawn text
+     * @param borderColor the color of the border
+     * @param title the title text of this dialog
+     * @param message the message text of this dialog
+     * @param initial the initial contents of the entry field. May be {@code null}.
+     * @param confirmText the text to display on the confirm button
+     * @param cancelText the text to display on the cancel button. Set to {@code null} to only display a confirm button.
+     * @param action a completion handler, called once when the dialog is closed with the entered text as its value.
+     *               May be {@code null}.
+     */
+    public TextEntryDialog(float x, float y, float w, float h, int BGColor, int textColor, int borderColor, String title,
+                           String message, String initial, String confirmText, String cancelText, DialogEvent action)
+    {
+        super(x, y, w, h, BGColor, textColor, borderColor, title, message, confirmText, cancelText, action);
+        entry = new StringBuilder(initial == null ? "" : initial);
+        if(entry.length() > MAX_LENGTH) entry.setLength(MAX_LENGTH);
+        frameCounter = 0;
+    }
+
+    @Override
+    public String getValue(){
+        return entry.toString();
+    }
+
+    @Override
+    public void interact(int x, int y, InteractionType type, int ID)
+    {
+        if(isOpen() && type == InteractionType.KB_TYPED)
+        {
+            // Remove the last character on Backspace, append any other printable character
+            if(ID == PApplet.BACKSPACE) {
+                if(entry.length() > 0) entry.setLength(entry.length() - 1);
+            } else if(ID >= ' ' && ID != PApplet.DELETE && ID != PApplet.CODED && entry.length() < MAX_LENGTH) {
+                entry.append((char)ID);
+            }
+
+            // Keep the caret visible while typing
+            frameCounter = 0;
+            return;
+        }
+
+        super.interact(x, y, type, ID);
+    }
+
+    @Override
+    protected RenderObject[] renderContent(float x, float y, float w, float h)
+    {
+        // Darken the background color for the entry field, bound at 0
+        int[] ARGB = StaticUtils.toARGB(BG);
+        for(int i = 1; i < ARGB.length; i++) ARGB[i] = ARGB[i] <= FIELD_DIFF ? 0 : ARGB[i] - FIELD_DIFF;
+        int fieldColor = StaticUtils.fromARGB(ARGB);
+
+        boolean caret = (frameCounter / CARET_BLINK_FRAMES) % 2 == 0;
+        frameCounter ++;
+
+        RenderObject field = new RenderObject(PApplet.CORNER, fieldColor, bColor, x, y, w, h, 3.0f);
+        RenderObject text = new RenderObject(entry.toString() + (caret ? "_" : " "), PApplet.CORNER, MESSAGE_SIZE,
+                PApplet.LEFT, PApplet.CENTER, tColor, x + BORDER_GAP, y, w - (BORDER_GAP * 2), h);
+
+        return new RenderObject[]{field, text};
+    }
+}
@@ -9,7 +9,8 @@ public interface CollisionEvent
 {
     /**
      * Callback for executing custom code when an object experiences a collision event.
-     * Usually called from {@link PhysObject#collision(PhysObject, float)}.
+     * Usually called from {@link PhysObject#collision(PhysObject, float)}, or from a
+     * {@link com.michaelRunzler.TPG5.Engine.Physics.CollisionBus} after the end of a physics tick.
      * @param caller the {@link PhysObject} that called this callback
      * @param collided the {@link PhysObject} that collided with the calling object, thus initiating the callback.
      *                 If the calling object collided with a static surface, this argument will be {@code null}.
@@ -18,6 +18,8 @@ public class ConfigKeys
     // Settings
     public static final String KEY_DIFFICULTY = "DifficultyToggle";
     public static final String KEY_NIGHTMARE = "UltraHardmodeToggle";
+    public static final String KEY_SWARM = "SwarmModeToggle";
     public static final String KEY_NAME_ENTRY = "HighScoreNameEntry";
     public static final String KEY_RESOLUTION = "RenderResolution";
+    public static final String KEY_RENDERER = "RenderBackend";
 }
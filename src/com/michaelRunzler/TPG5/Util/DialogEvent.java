@@ -0,0 +1,15 @@
+package com.michaelRunzler.TPG5.Util;
+
+/**
+ * Interface for dealing with completion callbacks from {@link com.michaelRunzler.TPG5.UXE.Dialog}s.
+ */
+public interface DialogEvent
+{
+    /**
+     * Callback for executing custom code once a dialog has been closed by the user.
+     * @param result the result code of the dialog, either {@link com.michaelRunzler.TPG5.UXE.Dialog#RESULT_CONFIRM} or
+     *               {@link com.michaelRunzler.TPG5.UXE.Dialog#RESULT_CANCEL}
+     * @param value the value entered or selected by the user, or {@code null} if the dialog does not accept a value
+     */
+    void action(int result, String value);
+}
@@ -1,150 +1,467 @@
 package com.michaelRunzler.TPG5.Util;
 
+import core.CoreUtil.AUNIL.LogEventLevel;
+import core.CoreUtil.AUNIL.XLoggerInterpreter;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Locale;
 
 /**
  * Contains localized UX/message strings for each locale.
+ * String IDs are dense integer indices, and each locale's strings are stored in a flat table indexed by ID, so looking
+ * up a string is a single array access. The current locale is resolved once and cached. Anything that caches localized
+ * strings should register a {@link LocaleChangeEvent} listener with {@link #addLocaleListener(LocaleChangeEvent)}
+ * to be notified when the current locale changes, or when its strings are reloaded.
+ * Strings are loaded on demand from UTF-8 {@code .properties} bundles named {@code strings_<language>[_<COUNTRY>]},
+ * keyed by the string identifiers in {@link #KEYS}. Bundles in the directory set with {@link #setBundleDirectory(File)}
+ * take precedence over those packaged in {@link #BUNDLE_PATH}. Only the bundles in the current locale's fallback chain
+ * (language and country, then language, then {@link #DEFAULT_LOCALE}) are kept in memory, and bundles loaded from files
+ * are reloaded by {@link #reloadIfModified()} when the file changes.
+ * Must only be used from the animation thread.
  */
 public class I18N
 {
-    private static HashMap<Locale, HashMap<String, String>> dict;
+    public static final Locale DEFAULT_LOCALE = Locale.ENGLISH; // Locale to use for any strings missing from the current locale
+    public static final int NONE = -1; // Placeholder for optional string IDs, always resolves to {@code ""}
+    public static final String BUNDLE_PATH = "com/michaelRunzler/TPG5/Util/lang/"; // Classpath location of packaged bundles
+    public static final String BUNDLE_PREFIX = "strings";
+    public static final String BUNDLE_EXTENSION = ".properties";
+
+    /**
+     * A single parsed bundle file.
+     */
+    private static class Bundle
+    {
+        String[] entries; // Strings indexed by ID, null if not present in this bundle
+        File source; // Backing file for reload checks, null if the bundle was not loaded from a file or was not found
+        long lastModified;
+    }
+
+    private static XLoggerInterpreter log = new XLoggerInterpreter("I18N");
+    private static File bundleDir; // External bundle directory, null to use packaged bundles only
+    private static HashMap<Locale, Bundle> bundles; // Resident bundles, only those in the current fallback chain are kept
+    private static HashMap<String, Integer> keyIDs; // Reverse lookup from bundle keys to string IDs
+    private static Locale currentLocale; // Cached current locale, language and country only
+    private static String[] current; // String table for the current locale
+    private static Locale otherLocale; // Locale of the most recently requested string table other than the current one
+    private static String[] other; // String table for otherLocale, null if it must be rebuilt
+    private static ArrayList<LocaleChangeEvent> listeners;
 
     // String ID constants
-    public static final String UI_SCORE_PREFIX = "uScorePrx";
+    public static final int UI_SCORE_PREFIX = 0;
 
     // Main Menu
-    public static final String UI_MENU_ENTRY_START = "uMenuStart";
-    public static final String UI_MENU_ENTRY_OPTIONS = "uMenuOption";
-    public static final String UI_MENU_ENTRY_EXIT = "uMenuExit";
-    public static final String UI_MENU_TITLE = "uMenuSplashTitle";
+    public static final int UI_MENU_ENTRY_START = 1;
+    public static final int UI_MENU_ENTRY_OPTIONS = 2;
+    public static final int UI_MENU_ENTRY_EXIT = 3;
+    public static final int UI_MENU_TITLE = 4;
 
     // Options Menu
-    public static final String UI_OPTIONS_MENU_TITLE = "uOptionsTitle";
-    public static final String UI_OPTIONS_NAME_ENTRY = "uTOptionNameEntry";
-    public static final String UI_OPTIONS_DIFFICULTY = "uTOptionDifficulty";
-    public static final String UI_OPTIONS_NIGHTMARE = "uTOptionDNightmare";
-    public static final String UI_OPTIONS_RESOLUTION = "uDOptionRes";
-    public static final String UI_OPTIONS_NIGHTMARE_INFO = "uOptionNightmareInfo";
-    public static final String UI_OPTIONS_RESET = "uTOptionFacReset";
+    public static final int UI_OPTIONS_MENU_TITLE = 5;
+    public static final int UI_OPTIONS_NAME_ENTRY = 6;
+    public static final int UI_OPTIONS_DIFFICULTY = 7;
+    public static final int UI_OPTIONS_NIGHTMARE = 8;
+    public static final int UI_OPTIONS_SWARM = 9;
+    public static final int UI_OPTIONS_RESOLUTION = 10;
+    public static final int UI_OPTIONS_NIGHTMARE_INFO = 11;
+    public static final int UI_OPTIONS_RESET = 12;
 
     // Game-Over Screen
-    public static final String UI_GAME_OVER_RETURN = "uGOMenuReturn";
-    public static final String UI_GAME_OVER_RESTART = "uGOMenuRestart";
-    public static final String UI_GAME_OVER_HIGH_SCORE = "uGOMenuHSTitle";
-    public static final String UI_GAME_OVER_LAST_SCORE = "uGOMenuLSPrefix";
-    public static final String UI_GAME_OVER_PROMPT = "uGOMenuPressSpace";
+    public static final int UI_GAME_OVER_RETURN = 13;
+    public static final int UI_GAME_OVER_RESTART = 14;
+    public static final int UI_GAME_OVER_HIGH_SCORE = 15;
+    public static final int UI_GAME_OVER_LAST_SCORE = 16;
+    public static final int UI_GAME_OVER_PROMPT = 17;
 
     // IG HUD
-    public static final String UI_SESSIONDEATH_PREFIX = "uSDeathPrx";
-    public static final String UI_GLOBALDEATH_PREFIX = "uGDeathPrx";
-    public static final String UI_HIGHSCORE_PREFIX = "uHighScorePrx";
-    public static final String UI_SESSIONDEATH_SUFFIX = "uSDeathSuffix";
-    public static final String UI_GLOBALDEATH_SUFFIX = "uGDeathSuffix";
+    public static final int UI_SESSIONDEATH_PREFIX = 18;
+    public static final int UI_GLOBALDEATH_PREFIX = 19;
+    public static final int UI_HIGHSCORE_PREFIX = 20;
+    public static final int UI_SESSIONDEATH_SUFFIX = 21;
+    public static final int UI_GLOBALDEATH_SUFFIX = 22;
 
     // Dialogs
-    public static final String DIALOG_NAME_ENTRY = "dEnterName";
-    public static final String DIALOG_RESET = "dFacResetConfirm";
-    public static final String DIALOG_RESET_TITLE = "dTFacResetConfirm";
-    public static final String DIALOG_RESET_SUCCESS = "dFacResetSuccess";
-    public static final String DIALOG_CONFIG_ERROR = "dConfigLoadError";
-    public static final String DIALOG_RESTART = "dConfirmRestart";
-    public static final String DIALOG_RESTART_TITLE = "dTConfirmRestart";
-    public static final String DIALOG_RESOLUTION = "dResChange";
-    public static final String DIALOG_RESOLUTION_TITLE = "dTResChange";
+    public static final int DIALOG_NAME_ENTRY = 23;
+    public static final int DIALOG_RESET = 24;
+    public static final int DIALOG_RESET_TITLE = 25;
+    public static final int DIALOG_RESET_SUCCESS = 26;
+    public static final int DIALOG_CONFIG_ERROR = 27;
+    public static final int DIALOG_RESTART = 28;
+    public static final int DIALOG_RESTART_TITLE = 29;
+    public static final int DIALOG_RESOLUTION = 30;
+    public static final int DIALOG_RESOLUTION_TITLE = 31;
+    public static final int DIALOG_NAME_ENTRY_TITLE = 32;
+    public static final int DIALOG_OK = 33;
+    public static final int DIALOG_CANCEL = 34;
+    public static final int DIALOG_YES = 35;
+    public static final int DIALOG_NO = 36;
 
     // Generated lists
-    public static final String UI_TAUNT_MASTER = "uDeathTauntSuffix_";
-    public static final String[] genTaunt = new String[]{"How pathetic.", "How?!", "Git gud.", "Try harder.", "Try Fortnite instead.", "Wow.", "I... what?"};
+    // Each list occupies a contiguous block of IDs starting at its master ID, with keys numbered from 0
+    public static final int UI_TAUNT_MASTER = 37;
+    public static final int TAUNT_COUNT = 7;
+
+    public static final int UI_GAME_OVER_TITLE_MASTER = UI_TAUNT_MASTER + TAUNT_COUNT;
+    public static final int GO_TITLE_COUNT = 10;
+
+    public static final int STRING_COUNT = UI_GAME_OVER_TITLE_MASTER + GO_TITLE_COUNT; // Total number of string IDs
 
-    public static final String UI_GAME_OVER_TITLE_MASTER = "uDeathGOTitle_";
-    public static final String[] genGOTitle = new String[]{"Game over.", "You lose!", "Try again.", "Oops.", "Nice one.", "So close...", "CURSES.", "#$%*@!", "DEAD.", "Game over man, game over!"};
+    /**
+     * Bundle keys for each string ID, indexed by ID.
+     */
+    public static final String[] KEYS = new String[STRING_COUNT];
 
     static{
-        // Initialize dictionary table and add initial entries
-        dict = new HashMap<>();
-
-        // Main menu
-        addEntry(Locale.ENGLISH, UI_MENU_ENTRY_START, "Start!");
-        addEntry(Locale.ENGLISH, UI_MENU_ENTRY_OPTIONS, "Settings");
-        addEntry(Locale.ENGLISH, UI_MENU_ENTRY_EXIT, "Exit");
-        addEntry(Locale.ENGLISH, UI_MENU_TITLE, "2½ Body Problem");
-
-        // Options menu
-        addEntry(Locale.ENGLISH, UI_OPTIONS_MENU_TITLE, "Game Settings");
-        addEntry(Locale.ENGLISH, UI_OPTIONS_NAME_ENTRY, "Score Name Entry");
-        addEntry(Locale.ENGLISH, UI_OPTIONS_DIFFICULTY, "High Difficulty");
-        addEntry(Locale.ENGLISH, UI_OPTIONS_NIGHTMARE, "Nightmare Mode");
-        addEntry(Locale.ENGLISH, UI_OPTIONS_RESOLUTION, "Resolution...");
-        addEntry(Locale.ENGLISH, UI_OPTIONS_RESET, "Clear High Scores");
-        addEntry(Locale.ENGLISH, UI_OPTIONS_NIGHTMARE_INFO, "Takes effect upon next death!");
-
-        // Game-over menu
-        addEntry(Locale.ENGLISH, UI_GAME_OVER_RETURN, "Return to Main");
-        addEntry(Locale.ENGLISH, UI_GAME_OVER_RESTART, "Restart!");
-        addEntry(Locale.ENGLISH, UI_GAME_OVER_HIGH_SCORE, "High Scores:");
-        addEntry(Locale.ENGLISH, UI_GAME_OVER_LAST_SCORE, "Score:");
-        addEntry(Locale.ENGLISH, UI_GAME_OVER_PROMPT, "Press Space or R to restart!");
-
-        // IG HUD
-        addEntry(Locale.ENGLISH, UI_SCORE_PREFIX, "Score:");
-        addEntry(Locale.ENGLISH, UI_SESSIONDEATH_PREFIX, "You've died");
-        addEntry(Locale.ENGLISH, UI_GLOBALDEATH_PREFIX, "You've died");
-        addEntry(Locale.ENGLISH, UI_HIGHSCORE_PREFIX, "Highest Score:");
-        addEntry(Locale.ENGLISH, UI_SESSIONDEATH_SUFFIX, "times this session.");
-        addEntry(Locale.ENGLISH, UI_GLOBALDEATH_SUFFIX, "times in total.");
-
-        // Dialogs
-        addEntry(Locale.ENGLISH, DIALOG_NAME_ENTRY, "Enter name:");
-        addEntry(Locale.ENGLISH, DIALOG_RESET, "This will erase all high scores and set all options back to defaults! Are you sure?");
-        addEntry(Locale.ENGLISH, DIALOG_RESET_TITLE, "WARNING");
-        addEntry(Locale.ENGLISH, DIALOG_RESET_SUCCESS, "Config reset complete.");
-        addEntry(Locale.ENGLISH, DIALOG_CONFIG_ERROR, "Unable to load one or more config entries. Try resetting your config.");
-        addEntry(Locale.ENGLISH, DIALOG_RESTART, "Changes will not take effect until the game is restarted. Restart now?");
-        addEntry(Locale.ENGLISH, DIALOG_RESTART_TITLE, "Restart?");
-        addEntry(Locale.ENGLISH, DIALOG_RESOLUTION, "Select your preferred display resolution.\nPlease note, setting the resolution higher than" +
-                "\nyour screen resolution may render the game unusable.");
-        addEntry(Locale.ENGLISH, DIALOG_RESOLUTION_TITLE, "Resolution Settings");
+        log.setImplicitEventLevel(LogEventLevel.DEBUG);
+        bundles = new HashMap<>();
+        listeners = new ArrayList<>();
+
+        String[] fixed = new String[]{"uScorePrx", "uMenuStart", "uMenuOption", "uMenuExit", "uMenuSplashTitle", "uOptionsTitle",
+                "uTOptionNameEntry", "uTOptionDifficulty", "uTOptionDNightmare", "uTOptionDSwarm", "uDOptionRes", "uOptionNightmareInfo",
+                "uTOptionFacReset", "uGOMenuReturn", "uGOMenuRestart", "uGOMenuHSTitle", "uGOMenuLSPrefix", "uGOMenuPressSpace",
+                "uSDeathPrx", "uGDeathPrx", "uHighScorePrx", "uSDeathSuffix", "uGDeathSuffix", "dEnterName", "dFacResetConfirm",
+                "dTFacResetConfirm", "dFacResetSuccess", "dConfigLoadError", "dConfirmRestart", "dTConfirmRestart", "dResChange",
+                "dTResChange", "dTEnterName", "dButtonOK", "dButtonCancel", "dButtonYes", "dButtonNo"};
+        System.arraycopy(fixed, 0, KEYS, 0, fixed.length);
 
         // Generated lists
-        for (int i = 0; i < genTaunt.length; i++)
-            addEntry(Locale.ENGLISH, UI_TAUNT_MASTER + i, genTaunt[i]);
+        for(int i = 0; i < TAUNT_COUNT; i++) KEYS[UI_TAUNT_MASTER + i] = "uDeathTauntSuffix_" + i;
+        for(int i = 0; i < GO_TITLE_COUNT; i++) KEYS[UI_GAME_OVER_TITLE_MASTER + i] = "uDeathGOTitle_" + i;
 
-        for(int i = 0; i < genGOTitle.length; i++)
-            addEntry(Locale.ENGLISH, UI_GAME_OVER_TITLE_MASTER + i, genGOTitle[i]);
+        keyIDs = new HashMap<>();
+        for(int i = 0; i < KEYS.length; i++) keyIDs.put(KEYS[i], i);
     }
 
     /**
-     * Gets a string from the internationalization dictionary table.
-     * @param region the region for which the specified string should be localized
+     * Gets a string for the current locale from the internationalization dictionary table.
      * @param ID the identifier of the string to be pulled
-     * @return the localized string with the specified identifier, if such a string exists for this locale, or {@code ""}
-     *         if no such string exists.
+     * @return the localized string with the specified identifier, or {@code ""} if no such string exists
      */
-    public static String getString(Locale region, String ID) {
-        String rv = dict.get(region).get(ID);
-        return rv == null ? "" : rv;
+    public static String getString(int ID) {
+        if(current == null) setCurrent(systemLocale());
+        return ID < 0 || ID >= STRING_COUNT ? "" : current[ID];
     }
 
     /**
-     * Adds an entry to the dictionary.
-     * @param loc the language for which the entry should be added
-     * @param ID the String Identifier constant from this class's constant library
-     * @param content the actual content of the localized string
+     * Gets a string from the internationalization dictionary table.
+     * Any bundles which must be loaded for a locale other than the current one are not kept in memory, but the string
+     * table built from them is kept until a different locale is requested, or bundles are reloaded.
+     * @param region the region for which the specified string should be localized. Only the language and country codes are used.
+     * @param ID the identifier of the string to be pulled
+     * @return the localized string with the specified identifier, if such a string exists for this locale or one of its
+     *         fallbacks, or {@code ""} if no such string exists.
      */
-    public static void addEntry(Locale loc, String ID, String content) {
-        if(!dict.containsKey(loc)) dict.put(loc, new HashMap<>());
-        dict.get(loc).put(ID, content);
+    public static String getString(Locale region, int ID)
+    {
+        if(ID < 0 || ID >= STRING_COUNT) return "";
+        Locale loc = new Locale(region.getLanguage(), region.getCountry());
+        if(loc.equals(getCurrentLocale())) return current[ID];
+
+        if(other == null || !loc.equals(otherLocale)) {
+            other = buildTable(loc, false);
+            otherLocale = loc;
+        }
+        return other[ID];
     }
 
     /**
-     * Gets the current default language identifier code of the running JVM instance,
-     * as returned by {@link Locale#getDefault()}.
+     * Gets the current language of the game. Unless changed with {@link #setLocale(Locale)}, this is the default
+     * locale of the running JVM instance, as returned by {@link Locale#getDefault()} when first requested.
      */
     public static Locale getCurrentLocale()
     {
-        // Return only the language code, not the country code
-        String lc = Locale.getDefault().getLanguage();
-        return new Locale(lc, "");
+        if(currentLocale == null) setCurrent(systemLocale());
+        return currentLocale;
+    }
+
+    /**
+     * Changes the current language of the game, loading its bundles if required, and notifies all registered
+     * {@link LocaleChangeEvent} listeners if it differs from the previous one.
+     * @param loc the new locale. Only the language and country codes are used.
+     */
+    public static void setLocale(Locale loc)
+    {
+        Locale prev = getCurrentLocale();
+        setCurrent(new Locale(loc.getLanguage(), loc.getCountry()));
+        if(!currentLocale.equals(prev)) notifyListeners();
+    }
+
+    /**
+     * Re-reads the default locale of the running JVM instance, changing the current language if required.
+     * @see #setLocale(Locale)
+     */
+    public static void refreshLocale() {
+        setLocale(Locale.getDefault());
+    }
+
+    /**
+     * Sets the directory to load external bundles from. Bundles in this directory take precedence over packaged bundles
+     * with the same name. The current locale's bundles are reloaded, and listeners are notified.
+     * @param dir the directory to load bundles from, or {@code null} to only use packaged bundles
+     */
+    public static void setBundleDirectory(File dir)
+    {
+        bundleDir = dir;
+        bundles.clear();
+        other = null;
+        if(currentLocale != null) {
+            setCurrent(currentLocale);
+            notifyListeners();
+        }
+    }
+
+    /**
+     * Reloads any resident bundles whose backing files have changed since they were loaded, and notifies all registered
+     * listeners if the current locale's strings have changed as a result. Bundles which were not found when they were
+     * last loaded are also checked, so that new bundles can be added while the game is running. The cached string table
+     * for any locale other than the current one is always discarded, and rebuilt when next requested.
+     * @return {@code true} if any bundle was reloaded, {@code false} otherwise
+     */
+    public static boolean reloadIfModified()
+    {
+        boolean changed = false;
+        for(Locale l : new ArrayList<>(bundles.keySet())) {
+            Bundle b = bundles.get(l);
+            File f = b.source == null ? externalFile(l) : b.source;
+            if(f == null || !f.isFile() || f.lastModified() == b.lastModified) continue;
+
+            log.logEvent("Bundle " + f.getName() + " changed, reloading.");
+            bundles.remove(l);
+            changed = true;
+        }
+
+        // Bundles for other locales are not resident, so they cannot be checked individually
+        other = null;
+        if(changed && currentLocale != null) {
+            setCurrent(currentLocale);
+            notifyListeners();
+        }
+        return changed;
+    }
+
+    /**
+     * Registers a listener to be notified whenever the current locale or its strings change.
+     * @param listener the listener to add
+     */
+    public static void addLocaleListener(LocaleChangeEvent listener) {
+        if(!listeners.contains(listener)) listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered locale change listener.
+     * @param listener the listener to remove
+     */
+    public static void removeLocaleListener(LocaleChangeEvent listener) {
+        listeners.remove(listener);
+    }
+
+    // Get the JVM's current language and country code
+    private static Locale systemLocale(){
+        return new Locale(Locale.getDefault().getLanguage(), Locale.getDefault().getCountry());
+    }
+
+    // Get the locales to search for strings in, from most to least specific
+    private static ArrayList<Locale> fallbackChain(Locale loc)
+    {
+        ArrayList<Locale> chain = new ArrayList<>();
+        if(!loc.getCountry().isEmpty()) chain.add(loc);
+        Locale lang = new Locale(loc.getLanguage(), "");
+        if(!lang.equals(DEFAULT_LOCALE)) chain.add(lang);
+        chain.add(DEFAULT_LOCALE);
+        return chain;
+    }
+
+    // Set the current locale and build its string table, loading any missing bundles in its fallback chain and
+    // discarding all other resident bundles. Does not notify listeners.
+    private static void setCurrent(Locale loc)
+    {
+        bundles.keySet().retainAll(fallbackChain(loc));
+        current = buildTable(loc, true);
+        currentLocale = loc;
+    }
+
+    // Build the string table for a locale from the bundles in its fallback chain, loading any which are not resident.
+    // Newly loaded bundles are only kept if resident is set.
+    private static String[] buildTable(Locale loc, boolean resident)
+    {
+        ArrayList<Locale> chain = fallbackChain(loc);
+        String[] table = new String[STRING_COUNT];
+        for(int i = chain.size() - 1; i >= 0; i--) {
+            Locale l = chain.get(i);
+            Bundle b = bundles.get(l);
+            if(b == null) {
+                b = loadBundle(l);
+                if(resident) bundles.put(l, b);
+            }
+
+            // More specific bundles override less specific ones
+            for(int j = 0; j < STRING_COUNT; j++) if(b.entries[j] != null) table[j] = b.entries[j];
+        }
+
+        for(int i = 0; i < STRING_COUNT; i++) if(table[i] == null) table[i] = "";
+        return table;
+    }
+
+    private static void notifyListeners(){
+        for(LocaleChangeEvent l : new ArrayList<>(listeners)) l.action(currentLocale);
+    }
+
+    // Get the bundle file name for the specified locale
+    private static String bundleName(Locale loc){
+        return BUNDLE_PREFIX + "_" + loc.getLanguage() + (loc.getCountry().isEmpty() ? "" : "_" + loc.getCountry()) + BUNDLE_EXTENSION;
+    }
+
+    // Get the external bundle file for the specified locale, or null if no external directory is set
+    private static File externalFile(Locale loc){
+        return bundleDir == null ? null : new File(bundleDir, bundleName(loc));
+    }
+
+    // Load the bundle for the specified locale, from the external directory if present, or from the classpath otherwise.
+    // Returns an empty bundle if neither exists.
+    private static Bundle loadBundle(Locale loc)
+    {
+        Bundle b = new Bundle();
+        b.entries = new String[STRING_COUNT];
+
+        InputStream in = null;
+        try {
+            File ext = externalFile(loc);
+            if(ext != null && ext.isFile()) {
+                b.source = ext;
+                b.lastModified = ext.lastModified();
+                in = new FileInputStream(ext);
+            }else{
+                URL res = Thread.currentThread().getContextClassLoader().getResource(BUNDLE_PATH + bundleName(loc));
+                if(res == null) {
+                    if(loc.equals(DEFAULT_LOCALE)) log.logEvent(LogEventLevel.WARNING, "Default bundle " + bundleName(loc) + " is missing.");
+                    return b;
+                }
+                // Packaged bundles can only be reloaded if they have not been packed into an archive
+                if(res.getProtocol().equals("file")) {
+                    b.source = new File(res.toURI());
+                    b.lastModified = b.source.lastModified();
+                }
+                in = res.openStream();
+            }
+
+            int count = parse(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), b.entries);
+            log.logEvent("Loaded " + count + " strings from bundle " + bundleName(loc) + ".");
+        } catch (IOException | URISyntaxException e) {
+            log.logEvent(LogEventLevel.ERROR, "Could not load bundle " + bundleName(loc) + ": " + e.getMessage());
+        } finally {
+            try {
+                if(in != null) in.close();
+            } catch (IOException ignored) {
+                // Nothing more can be done here
+            }
+        }
+
+        return b;
+    }
+
+    // Parse a bundle line-by-line into the provided table, ignoring unknown keys. Supports '#' and '!' comments,
+    // '=' or ':' separators, line continuations, and the standard backslash escapes, including unicode escapes.
+    // Returns the number of strings that were read.
+    private static int parse(BufferedReader reader, String[] table) throws IOException
+    {
+        int count = 0;
+        String line;
+        StringBuilder logical = new StringBuilder();
+        while((line = reader.readLine()) != null)
+        {
+            // Strip leading whitespace, as well as the BOM if present
+            int start = 0;
+            while(start < line.length() && (Character.isWhitespace(line.charAt(start)) || line.charAt(start) == '\uFEFF')) start ++;
+            if(logical.length() == 0 && (start == line.length() || line.charAt(start) == '#' || line.charAt(start) == '!')) continue;
+
+            // Join lines ending with an odd number of backslashes onto the next line
+            int slashes = 0;
+            for(int i = line.length() - 1; i >= start && line.charAt(i) == '\\'; i--) slashes ++;
+            if(slashes % 2 == 1) {
+                logical.append(line, start, line.length() - 1);
+                continue;
+            }
+            logical.append(line, start, line.length());
+
+            String entry = logical.toString();
+            logical.setLength(0);
+
+            // Find the first unescaped separator
+            int sep = -1;
+            for(int i = 0; i < entry.length(); i++) {
+                char c = entry.charAt(i);
+                if(c == '\\') i ++;
+                else if(c == '=' || c == ':') {
+                    sep = i;
+                    break;
+                }
+            }
+            if(sep == -1) continue;
+
+            Integer ID = keyIDs.get(unescape(entry.substring(0, sep).trim()));
+            if(ID == null) continue;
+
+            int valueStart = sep + 1;
+            while(valueStart < entry.length() && Character.isWhitespace(entry.charAt(valueStart))) valueStart ++;
+            table[ID] = unescape(entry.substring(valueStart));
+            count ++;
+        }
+
+        return count;
+    }
+
+    // Process backslash escapes in a bundle key or value
+    private static String unescape(String s)
+    {
+        if(s.indexOf('\\') == -1) return s;
+
+        StringBuilder sb = new StringBuilder(s.length());
+        for(int i = 0; i < s.length(); i++)
+        {
+            char c = s.charAt(i);
+            if(c != '\\' || i == s.length() - 1) {
+                sb.append(c);
+                continue;
+            }
+
+            char n = s.charAt(++i);
+            switch (n)
+            {
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'u':
+                    if(i + 4 < s.length()) {
+                        try {
+                            sb.append((char)Integer.parseInt(s.substring(i + 1, i + 5), 16));
+                            i += 4;
+                            break;
+                        } catch (NumberFormatException ignored) {
+                            // Treat malformed escapes as literal text
+                        }
+                    }
+                    sb.append(n);
+                    break;
+                default:
+                    sb.append(n);
+                    break;
+            }
+        }
+
+        return sb.toString();
     }
 }
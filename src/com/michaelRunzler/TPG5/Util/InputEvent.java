@@ -0,0 +1,17 @@
+package com.michaelRunzler.TPG5.Util;
+
+/**
+ * Interface for dealing with user input events drained from an {@link InputEventQueue}.
+ */
+public interface InputEvent
+{
+    /**
+     * Callback for executing custom code for each queued input event.
+     * @param type the {@link InteractionType} of the event
+     * @param ID the type-specific event ID of the event, see {@link Interactable#interact(int, int, InteractionType, int)}
+     * @param x the X-coordinate at which the event occurred
+     * @param y the Y-coordinate at which the event occurred
+     * @param time the time at which the event was queued, as returned by {@link System#nanoTime()}
+     */
+    void action(InteractionType type, int ID, int x, int y, long time);
+}
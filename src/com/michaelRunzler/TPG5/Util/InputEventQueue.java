@@ -0,0 +1,114 @@
+package com.michaelRunzler.TPG5.Util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-producer, single-consumer lock-free ring buffer of timestamped user input events.
+ * Events are written by the input (event) thread with {@link #offer(InteractionType, int, int, int)} and read by the
+ * animation thread with {@link #drain(InputEvent)}. Event data is stored in flat primitive arrays, so no objects are
+ * allocated or boxed when an event is queued or drained.
+ * Only one thread may offer events and only one thread may drain them at any given time.
+ */
+public class InputEventQueue
+{
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final InteractionType[] TYPES = InteractionType.values(); // Cached to avoid cloning on every lookup
+
+    private final int mask; // Index mask for wrapping positions into the ring, capacity is always a power of two
+    private final byte[] types; // Ordinal of the InteractionType of each event
+    private final int[] IDs;
+    private final int[] xCoords;
+    private final int[] yCoords;
+    private final long[] times; // Event timestamps from System.nanoTime()
+
+    private final AtomicLong head; // Next position to be read, only written by the consumer
+    private final AtomicLong tail; // Next position to be written, only written by the producer
+    private long dropped; // Number of events rejected because the queue was full, only written by the producer
+
+    /**
+     * Default constructor. Uses {@link #DEFAULT_CAPACITY} as the queue capacity.
+     */
+    public InputEventQueue(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Standard constructor.
+     * @param capacity the maximum number of events that may be waiting in the queue at once. Rounded up to the next
+     *                 power of two.
+     */
+    public InputEventQueue(int capacity)
+    {
+        if(capacity < 1) throw new IllegalArgumentException("Capacity must be greater than zero!");
+        int size = Integer.highestOneBit(capacity);
+        if(size < capacity) size <<= 1;
+
+        mask = size - 1;
+        types = new byte[size];
+        IDs = new int[size];
+        xCoords = new int[size];
+        yCoords = new int[size];
+        times = new long[size];
+        head = new AtomicLong(0);
+        tail = new AtomicLong(0);
+        dropped = 0;
+    }
+
+    /**
+     * Adds an event to the queue. May only be called from the producing thread.
+     * @param type the {@link InteractionType} of the event
+     * @param ID the type-specific event ID, see {@link Interactable#interact(int, int, InteractionType, int)}
+     * @param x the X-coordinate at which the event occurred
+     * @param y the Y-coordinate at which the event occurred
+     * @return {@code true} if the event was queued, {@code false} if the queue was full and the event was dropped
+     */
+    public boolean offer(InteractionType type, int ID, int x, int y)
+    {
+        long t = tail.get();
+        if(t - head.get() > mask){
+            dropped ++;
+            return false;
+        }
+
+        int i = (int)(t & mask);
+        types[i] = (byte)type.ordinal();
+        IDs[i] = ID;
+        xCoords[i] = x;
+        yCoords[i] = y;
+        times[i] = System.nanoTime();
+
+        // Publish the event to the consumer only after all of its data has been written
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Passes all events currently waiting in the queue to the specified handler in the order that they were queued,
+     * and removes them from the queue. May only be called from the consuming thread.
+     * Events queued while the drain is in progress are left for the next call.
+     * @param handler the handler to pass each event to
+     * @return the number of events that were drained
+     */
+    public int drain(InputEvent handler)
+    {
+        long h = head.get();
+        long t = tail.get();
+
+        for(long p = h; p < t; p++){
+            int i = (int)(p & mask);
+            handler.action(TYPES[types[i]], IDs[i], xCoords[i], yCoords[i], times[i]);
+        }
+
+        // Release drained slots back to the producer
+        head.lazySet(t);
+        return (int)(t - h);
+    }
+
+    /**
+     * Gets the number of events that have been dropped since this queue was created because it was full.
+     */
+    public long getDroppedCount(){
+        return dropped;
+    }
+}
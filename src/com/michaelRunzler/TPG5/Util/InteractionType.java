@@ -13,6 +13,18 @@ public enum InteractionType
      */
     MOUSE_HOVER,
 
+    /**
+     * The mouse pointer has moved into the bounds of an element.
+     * Zero or more mouse buttons may be held down; these button values will be held in the ID field.
+     */
+    MOUSE_ENTER,
+
+    /**
+     * The mouse pointer has moved out of the bounds of an element.
+     * Zero or more mouse buttons may be held down; these button values will be held in the ID field.
+     */
+    MOUSE_EXIT,
+
     /**
      * A mouse button has been pressed while the mouse pointer was at the specified location.
      * The button ID is contained in the ID field.
@@ -35,5 +47,11 @@ public enum InteractionType
      * A keyboard key has been released while the mouse pointer or text cursor was at the specified location.
      * The Unicode key ID is contained in the ID field.
      */
-    KB_UP
+    KB_UP,
+
+    /**
+     * A character has been typed on the keyboard while the mouse pointer or text cursor was at the specified location.
+     * The Unicode character is contained in the ID field.
+     */
+    KB_TYPED
 }
@@ -0,0 +1,16 @@
+package com.michaelRunzler.TPG5.Util;
+
+import java.util.Locale;
+
+/**
+ * Interface for dealing with changes to the current language of {@link I18N}.
+ */
+public interface LocaleChangeEvent
+{
+    /**
+     * Callback for executing custom code once the current locale has changed.
+     * Any cached strings obtained from {@link I18N} should be reloaded.
+     * @param locale the new current locale
+     */
+    void action(Locale locale);
+}
@@ -1,11 +1,15 @@
 package com.michaelRunzler.TPG5.Util;
 
+import com.michaelRunzler.TPG5.Engine.Render.AppletBackend;
+import com.michaelRunzler.TPG5.Engine.Render.RenderBackend;
 import processing.core.PApplet;
 import processing.core.PImage;
 
 /**
  * Contains render pipeline data to be forwarded to the active applet object, packaged
  * in a dynamic object format.
+ * For draw commands which do not need to be modified after creation, the more compact
+ * {@link com.michaelRunzler.TPG5.Engine.Render.RenderCommand} types may be used instead.
  */
 public class RenderObject
 {
@@ -241,20 +245,57 @@ public class RenderObject
         this.align = new int[2];
     }
 
+    /**
+     * Copy constructor. Creates a deep copy of the provided object, which does not share any mutable state with it.
+     * @param src the object to copy
+     */
+    public RenderObject(RenderObject src)
+    {
+        this.color = new int[2];
+        this.align = new int[2];
+        this.coords = new float[Math.max(MAX_ARG_LENGTH, src.coords.length)];
+        copyFrom(src);
+    }
+
+    /**
+     * Overwrites the contents of this object with a deep copy of the contents of the provided object.
+     * The coordinate array of this object is reused if it is large enough, so repeated copies into the same
+     * object do not allocate.
+     * @param src the object to copy from
+     */
+    public void copyFrom(RenderObject src)
+    {
+        this.t = src.t;
+        this.mode = src.mode;
+        this.color[0] = src.color[0];
+        this.color[1] = src.color[1];
+        this.img = src.img;
+        this.text = src.text;
+        this.textSize = src.textSize;
+        this.align[0] = src.align[0];
+        this.align[1] = src.align[1];
+
+        // Back-fill unused indices with zeroes, which is how missing coordinates are treated when rendering
+        if(this.coords.length < src.coords.length) this.coords = new float[Math.max(MAX_ARG_LENGTH, src.coords.length)];
+        System.arraycopy(src.coords, 0, this.coords, 0, src.coords.length);
+        for(int i = src.coords.length; i < this.coords.length; i++) this.coords[i] = 0;
+    }
+
     /**
      * Renders this image through the render pipeline of the provided {@link PApplet}.
+     * Must only be called from the animation thread.
      * @param parent the {@link PApplet} to use for rendering
      */
-    public void render(PApplet parent)
-    {
-        // Ensure that array is the proper length for any render mode,
-        // back-fill required indices with zeroes if it is too short
-        if(coords.length < MAX_ARG_LENGTH){
-            float[] tmp = new float[MAX_ARG_LENGTH];
-            System.arraycopy(coords, 0, tmp, 0, coords.length);
-            coords = tmp;
-        }
+    public void render(PApplet parent){
+        render(AppletBackend.of(parent));
+    }
 
+    /**
+     * Renders this image through the provided {@link RenderBackend}.
+     * @param parent the {@link RenderBackend} to use for rendering
+     */
+    public void render(RenderBackend parent)
+    {
         // Set colors
         if(color[0] != INVALID_VALUE) parent.stroke(color[0]);
         else parent.noStroke();
@@ -265,45 +306,55 @@ public class RenderObject
         switch (this.t)
         {
             case POINT:
-                parent.point(coords[0], coords[1]);
+                parent.point(arg(0), arg(1));
                 break;
             case LINE:
-                parent.line(coords[0], coords[1], coords[2], coords[3]);
+                parent.line(arg(0), arg(1), arg(2), arg(3));
                 break;
             case RECT:
                 if(mode != -1) parent.rectMode(mode);
                 // Call more verbose (rounding) constructor if rounding argument is specified
-                if(coords[4] > 0) parent.rect(coords[0], coords[1], coords[2], coords[3], coords[4]);
-                else parent.rect(coords[0], coords[1], coords[2], coords[3]);
+                if(arg(4) > 0) parent.rect(arg(0), arg(1), arg(2), arg(3), arg(4));
+                else parent.rect(arg(0), arg(1), arg(2), arg(3));
                 break;
             case ELLIPSE:
                 if(mode != -1) parent.ellipseMode(mode);
-                parent.ellipse(coords[0], coords[1], coords[2], coords[3]);
+                parent.ellipse(arg(0), arg(1), arg(2), arg(3));
                 break;
             case TRI:
-                parent.triangle(coords[0], coords[1], coords[2], coords[3], coords[4], coords[5]);
+                parent.triangle(arg(0), arg(1), arg(2), arg(3), arg(4), arg(5));
                 break;
             case QUAD:
-                parent.quad(coords[0], coords[1], coords[2], coords[3], coords[4], coords[5], coords[6], coords[7]);
+                parent.quad(arg(0), arg(1), arg(2), arg(3), arg(4), arg(5), arg(6), arg(7));
                 break;
             case IMAGE:
                 // Resize image if resize coordinates were provided, otherwise, use the existing image
-                if(coords[2] > 0 || coords[3] > 0) parent.image(img, coords[0], coords[1], coords[2], coords[3]);
-                else parent.image(img, coords[0], coords[1]);
+                if(arg(2) > 0 || arg(3) > 0) parent.image(img, arg(0), arg(1), arg(2), arg(3));
+                else parent.image(img, arg(0), arg(1));
                 break;
             case TEXT:
                 if(mode != -1) parent.rectMode(mode);
                 // Align (or don't) based on alignment settings
-                parent.textAlign(align[0] == -1 ? parent.LEFT : align[0], align[1] == -1 ? parent.TOP : align[1]);
-                // Set size if specified
-                int prevSize = StaticUtils.getTextSize(parent);
-                if(textSize > 0) parent.textSize(textSize);
+                parent.textAlign(align[0] == -1 ? PApplet.LEFT : align[0], align[1] == -1 ? PApplet.TOP : align[1]);
+                // Set size if specified, only changing (and later restoring) it if it differs from the current size
+                float prevSize = parent.getTextSize();
+                boolean resize = textSize > 0 && textSize != prevSize;
+                if(resize) parent.textSize(textSize);
 
                 // Confine text if confine bounds are set, otherwise just specify X,Y coordinates
-                if(coords[2] != -1 && coords[3] != -1) parent.text(text, coords[0], coords[1], coords[2], coords[3]);
-                else parent.text(text, coords[0], coords[1]);
-                parent.textSize(prevSize);
+                if(arg(2) != -1 && arg(3) != -1) parent.text(text, arg(0), arg(1), arg(2), arg(3));
+                else parent.text(text, arg(0), arg(1));
+                if(resize) parent.textSize(prevSize);
                 break;
         }
     }
+
+    /**
+     * Gets a coordinate of this object, treating entries past the end of the coordinate array as zero,
+     * as they are when this object is rendered.
+     * @param i the index of the coordinate to get
+     */
+    public float arg(int i){
+        return i < coords.length ? coords[i] : 0;
+    }
 }
@@ -15,4 +15,15 @@ public interface Renderable
      *         call be {@code null}.
      */
     @NotNull RenderObject[] render();
+
+    /**
+     * Gets the bounds of the area that the output of {@link #render()} may draw to, used to skip rendering of objects
+     * which are entirely out of view. Objects whose {@link #render()} method advances state on each call (such as
+     * animations or effect lifetimes) should only report bounds if skipping those calls while out of view is acceptable.
+     * @return the visible bounds of this object in the order [minX, minY, maxX, maxY], or {@code null} if this object
+     *         should always be rendered. Defaults to {@code null}.
+     */
+    default float[] getVisibleBounds(){
+        return null;
+    }
 }
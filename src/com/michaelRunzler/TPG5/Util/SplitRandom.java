@@ -0,0 +1,83 @@
+package com.michaelRunzler.TPG5.Util;
+
+/**
+ * A fast, seedable, splittable pseudo-random number generator based on the SplitMix64 algorithm.
+ * Each generator produces the same sequence for the same seed. {@link #split()} derives an independent child generator
+ * from the next value in the sequence, so a single seeded root generator can hand out reproducible streams to any
+ * number of consumers without sharing state between them.
+ * Instances are not thread-safe; each thread or object should use its own split stream.
+ */
+public class SplitRandom
+{
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L; // Fixed increment, the odd integer closest to 2^64 / phi
+    private static final double DOUBLE_UNIT = 1.0 / (1L << 53);
+    private static final float FLOAT_UNIT = 1.0f / (1 << 24);
+
+    private long state;
+
+    /**
+     * Standard constructor.
+     * @param seed the seed for this generator
+     */
+    public SplitRandom(long seed){
+        this.state = seed;
+    }
+
+    /**
+     * Resets this generator to the start of the sequence for the specified seed.
+     */
+    public void setSeed(long seed){
+        this.state = seed;
+    }
+
+    /**
+     * Gets the next 64-bit value in the sequence.
+     */
+    public long nextLong()
+    {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Gets the next 32-bit value in the sequence.
+     */
+    public int nextInt(){
+        return (int)(nextLong() >>> 32);
+    }
+
+    /**
+     * Gets the next value in the sequence, uniformly distributed in the range [0, bound).
+     * @param bound the exclusive upper bound. Must be greater than 0.
+     */
+    public int nextInt(int bound)
+    {
+        if(bound <= 0) throw new IllegalArgumentException("Bound must be greater than 0!");
+        // Multiply-shift maps the full 32-bit range onto the bound without a division
+        return (int)(((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Gets the next value in the sequence, uniformly distributed in the range [0, 1).
+     */
+    public double nextDouble(){
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Gets the next value in the sequence, uniformly distributed in the range [0, 1).
+     */
+    public float nextFloat(){
+        return (nextLong() >>> 40) * FLOAT_UNIT;
+    }
+
+    /**
+     * Creates a new generator with a seed derived from the next value in this generator's sequence.
+     * The new generator's sequence is statistically independent of this one.
+     */
+    public SplitRandom split(){
+        return new SplitRandom(nextLong());
+    }
+}
@@ -1,5 +1,6 @@
 package com.michaelRunzler.TPG5.Util;
 
+import com.michaelRunzler.TPG5.Engine.Render.AppletBackend;
 import processing.core.PApplet;
 
 /**
@@ -39,6 +40,6 @@ public class StaticUtils
      * Gets the currently set text size in the provided {@link PApplet} object.
      */
     public static int getTextSize(PApplet parent){
-        return (int)(parent.recorder == null ? parent.g.textSize : parent.recorder.textSize);
+        return (int)AppletBackend.of(parent).getTextSize();
     }
 }
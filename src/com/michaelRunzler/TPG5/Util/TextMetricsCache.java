@@ -0,0 +1,101 @@
+package com.michaelRunzler.TPG5.Util;
+
+import processing.core.PApplet;
+import processing.core.PFont;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/**
+ * Caches font metrics, so that text which is rebuilt on every frame does not have to change and query the text state
+ * of the parent applet each time it is measured.
+ * Font metrics (including drop shadow offsets) are keyed by font instance and text size, and the most recent lookup is
+ * checked first, so repeated lookups of the same font and size do not allocate. The parent applet's text size is only
+ * changed (and then restored) when a measurement is not already cached.
+ * Must only be used from the animation thread.
+ */
+public class TextMetricsCache
+{
+    public static final int DEFAULT_TEXT_SIZE = 24; // Text size used for HUD and menu text that does not set its own size
+    public static final float SHADOW_OFFSET_X = 0.025f; // Drop shadow offsets as a fraction of line height
+    public static final float SHADOW_OFFSET_Y = 0.06f;
+
+    /**
+     * Vertical metrics of a font at a specific text size, and the offsets of drop shadows drawn at that size.
+     */
+    public static class Metrics
+    {
+        public final float ascent;
+        public final float descent;
+        public final float shadowX; // Offset of a drop shadow relative to its text. Both offsets are negative (up and left).
+        public final float shadowY;
+
+        Metrics(float ascent, float descent)
+        {
+            this.ascent = ascent;
+            this.descent = descent;
+            this.shadowX = -((ascent + descent) * SHADOW_OFFSET_X);
+            this.shadowY = -((ascent + descent) * SHADOW_OFFSET_Y);
+        }
+
+        /**
+         * Gets the height of a single line of text, not including any leading.
+         */
+        public float getLineHeight(){
+            return ascent + descent;
+        }
+    }
+
+    private PApplet parent;
+    private IdentityHashMap<PFont, HashMap<Float, Metrics>> metrics; // Cached metrics for each font instance, by text size
+    private PFont lastFont; // Font, size, and result of the most recent lookup, lastMetrics is null if there has been none
+    private float lastSize;
+    private Metrics lastMetrics;
+
+    /**
+     * Standard constructor.
+     * @param parent the {@link PApplet} to take measurements from
+     */
+    public TextMetricsCache(PApplet parent)
+    {
+        this.parent = parent;
+        metrics = new IdentityHashMap<>();
+        lastMetrics = null;
+    }
+
+    /**
+     * Gets the vertical metrics of the current font at the specified text size.
+     * @param size the text size to measure at. Values of 0 or less use {@link #DEFAULT_TEXT_SIZE}.
+     */
+    public Metrics getMetrics(float size)
+    {
+        if(size <= 0) size = DEFAULT_TEXT_SIZE;
+        PFont font = parent.g.textFont;
+        if(lastMetrics != null && font == lastFont && size == lastSize) return lastMetrics;
+
+        HashMap<Float, Metrics> sizes = metrics.computeIfAbsent(font, f -> new HashMap<>());
+        Metrics m = sizes.get(size);
+        if(m == null) {
+            float prev = StaticUtils.getTextSize(parent);
+            parent.textSize(size);
+            m = new Metrics(parent.textAscent(), parent.textDescent());
+            parent.textSize(prev);
+            sizes.put(size, m);
+        }
+
+        lastFont = font;
+        lastSize = size;
+        lastMetrics = m;
+        return m;
+    }
+
+    /**
+     * Discards all cached measurements. Must be called if the parent applet's current font instance is modified in place.
+     * Switching to a different font instance does not require a call, since it is cached separately.
+     */
+    public void clear()
+    {
+        metrics.clear();
+        lastMetrics = null;
+    }
+}
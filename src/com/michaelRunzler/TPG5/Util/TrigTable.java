@@ -0,0 +1,55 @@
+package com.michaelRunzler.TPG5.Util;
+
+/**
+ * Precomputed sine and cosine lookup tables for angles where a small loss of precision is acceptable, such as
+ * particle emission vectors. Angles are quantized to {@link #RESOLUTION} steps per full turn (under 0.1 degrees per step).
+ */
+public class TrigTable
+{
+    public static final int RESOLUTION = 4096; // Number of table entries per full turn. Must be a power of two.
+    private static final int MASK = RESOLUTION - 1;
+    private static final double RAD_TO_INDEX = RESOLUTION / (Math.PI * 2.0);
+    private static final double DEG_TO_INDEX = RESOLUTION / 360.0;
+
+    // Sine table, with an extra quarter turn at the end so that cosine lookups can index it directly
+    private static final float[] SIN = new float[RESOLUTION + (RESOLUTION / 4)];
+
+    static {
+        for(int i = 0; i < SIN.length; i++) SIN[i] = (float)Math.sin((i * Math.PI * 2.0) / RESOLUTION);
+    }
+
+    private TrigTable(){}
+
+    /**
+     * Gets the approximate sine of an angle in radians.
+     */
+    public static float sin(double rad){
+        return SIN[index(rad * RAD_TO_INDEX)];
+    }
+
+    /**
+     * Gets the approximate cosine of an angle in radians.
+     */
+    public static float cos(double rad){
+        return SIN[index(rad * RAD_TO_INDEX) + (RESOLUTION / 4)];
+    }
+
+    /**
+     * Gets the approximate sine of an angle in degrees.
+     */
+    public static float sinDeg(double deg){
+        return SIN[index(deg * DEG_TO_INDEX)];
+    }
+
+    /**
+     * Gets the approximate cosine of an angle in degrees.
+     */
+    public static float cosDeg(double deg){
+        return SIN[index(deg * DEG_TO_INDEX) + (RESOLUTION / 4)];
+    }
+
+    // Round a fractional table position to the nearest entry, wrapping negative and out-of-range angles
+    private static int index(double pos){
+        return (int)Math.round(pos) & MASK;
+    }
+}